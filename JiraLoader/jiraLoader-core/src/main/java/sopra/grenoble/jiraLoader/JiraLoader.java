@@ -1,525 +1,758 @@
-package sopra.grenoble.jiraLoader;
-
-import com.atlassian.jira.rest.client.NullProgressMonitor;
-import com.atlassian.jira.rest.client.domain.BasicIssue;
-import com.atlassian.jira.rest.client.domain.Issue;
-import com.atlassian.jira.rest.client.domain.SearchResult;
-import com.atlassian.jira.rest.client.domain.Worklog;
-import org.apache.poi.hssf.usermodel.HSSFCellStyle;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.hssf.util.HSSFColor;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.joda.time.DateTime;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-import sopra.grenoble.jiraLoader.configurationbeans.ExcelDatas;
-import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
-import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
-import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
-import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
-import sopra.grenoble.jiraLoader.exceptions.UnexpectedTypeLineException;
-import sopra.grenoble.jiraLoader.jira.connection.IJiraRestClientV2;
-import sopra.grenoble.jiraLoader.jira.dao.metadatas.JiraIssuesTypeLoader;
-import sopra.grenoble.jiraLoader.jira.dao.metadatas.MetadataGeneralLoader;
-import sopra.grenoble.jiraLoader.wrappers.AbstractWrapper;
-import sopra.grenoble.jiraLoader.wrappers.WrapperFactory;
-
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.net.URISyntaxException;
-import java.util.*;
-
-/**
- * @author cmouilleron Main class to import excel document in JIRA application
- */
-@Component
-public class JiraLoader {
-
-	private static final Logger LOG = LoggerFactory.getLogger(JiraLoader.class);
-
-	@Autowired
-	private MetadataGeneralLoader metadataLoader;
-
-	@Autowired
-	private JiraUserDatas jiraUserDatasBean;
-
-	@Autowired
-	private ExcelDatas excelFileDatasBean;
-
-	@Autowired
-	private IJiraRestClientV2 jiraConnection;
-	
-	/**
-	 * The wrapper factory
-	 */
-	private WrapperFactory wrapperFact = new WrapperFactory();
-
-	/**
-	 * Function to load metadatas.
-	 */
-	private void loadMetadata() {
-		// load all metadata
-		metadataLoader.initLoaderSynchronously();
-	}
-
-	/**
-	 * Main function to export data from jira worklog to an excel file.
-	 * @throws IOException
-	 */
-	public void exportDataFromWorkLog() throws IOException, URISyntaxException {
-
-		LOG.info("###################################################");
-		LOG.info("STEP 1 - Loading metadatas");
-		loadMetadata();
-
-		LOG.info("###################################################");
-		LOG.info("STEP 3 - Loading data");
-		List<Issue> issueList = loadWorkLogData();
-
-
-		if (issueList.isEmpty()) {
-			LOG.warn("Issue list is EMPTY, please check Jira");
-			LOG.warn("export status : SUCCESS but nothing was done");
-		} else {
-			LOG.info("###################################################");
-			LOG.info("STEP 4 - Writing data");
-			writeDataTwo(issueList);
-
-			LOG.info("###################################################");
-			LOG.info("Well done,export status : SUCCESS");
-		}
-	}
-
-	public List<Issue> loadWorkLogData() throws IOException, URISyntaxException {
-		//Set params
-		LOG.info("Opening connection");
-		jiraConnection.openConnection();
-		String projectName = jiraUserDatasBean.getProjectName();
-		NullProgressMonitor pm = new NullProgressMonitor();
-
-		//Load data
-		List<Issue> issueList = new ArrayList<>();
-		String jqlSearch = "project=\"" + projectName + "\" ORDER BY updated DESC";
-		SearchResult searchResult = jiraConnection.getSearchClient().searchJql(jqlSearch, 1, 0, pm);
-
-		LOG.info("Search request : " + jqlSearch);
-		LOG.info("Total issues : " + searchResult.getTotal());
-
-		searchResult = jiraConnection.getSearchClient().searchJql(jqlSearch, 100, 0, pm);
-
-		//Set date for export
-		DateTime today = new DateTime().withTimeAtStartOfDay().plusDays(1);
-
-		long dayInMs = 1000 * 60 * 60 * 24 * 3;
-		Date twoDaysAgo = new Date(today.getMillis() - dayInMs);
-
-
-		for (BasicIssue basicIssue : searchResult.getIssues()) {
-			Issue issue = jiraConnection.getIssueClient().getIssue(basicIssue.getKey(), pm);
-			Iterable<Worklog> worklogList = issue.getWorklogs();
-			worklogList.forEach(worklog -> {
-				if (worklog.getUpdateDate().isAfter(twoDaysAgo.getTime())) {
-					if (!issueList.contains(issue)) {
-						LOG.info(issue.getKey() + " : " + issue.getSummary() + " added in list");
-						issueList.add(issue);
-					}
-				}
-			});
-		}
-		return issueList;
-	}
-
-	public void writeDataTwo(List<Issue> issueList) throws IOException {
-		// Init date
-		DateTime today = new DateTime().withTimeAtStartOfDay().plusDays(1);
-		long dayInMs = 1000 * 60 * 60 * 24 * 3;
-		Date twoDaysAgo = new Date(today.getMillis() - dayInMs);
-
-		// Create excel file
-		LOG.info("Creating excel file ....");
-		FileOutputStream fileOut = new FileOutputStream("export-worklog-jira-" + new DateTime().withTimeAtStartOfDay().toString().substring(0, 10) + ".xls");
-		HSSFWorkbook workbook = new HSSFWorkbook();
-		HSSFSheet sheet = workbook.createSheet("Export work log Jira");
-		HSSFRow row = sheet.createRow((short) 0);
-		LOG.info("Excel file created");
-
-		// Set style for cells
-		HSSFCellStyle style = workbook.createCellStyle();
-		style.setWrapText(true);
-		row.setRowStyle(style);
-
-		HSSFCellStyle tabStyle = workbook.createCellStyle();
-		tabStyle.setWrapText(true);
-		tabStyle.setBorderBottom(HSSFCellStyle.BORDER_THIN);
-		tabStyle.setBottomBorderColor(HSSFColor.BLACK.index);
-		tabStyle.setBorderLeft(HSSFCellStyle.BORDER_THIN);
-		tabStyle.setLeftBorderColor(HSSFColor.BLACK.index);
-		tabStyle.setBorderRight(HSSFCellStyle.BORDER_THIN);
-		tabStyle.setRightBorderColor(HSSFColor.BLACK.index);
-		tabStyle.setBorderTop(HSSFCellStyle.BORDER_THIN);
-		tabStyle.setTopBorderColor(HSSFColor.BLACK.index);
-
-
-		HSSFCellStyle headerStyle = workbook.createCellStyle();
-		headerStyle.setBorderBottom(HSSFCellStyle.BORDER_THIN);
-		headerStyle.setBottomBorderColor(HSSFColor.BLACK.index);
-		headerStyle.setBorderLeft(HSSFCellStyle.BORDER_THIN);
-		headerStyle.setLeftBorderColor(HSSFColor.BLACK.index);
-		headerStyle.setBorderRight(HSSFCellStyle.BORDER_THIN);
-		headerStyle.setRightBorderColor(HSSFColor.BLACK.index);
-		headerStyle.setBorderTop(HSSFCellStyle.BORDER_THIN);
-		headerStyle.setTopBorderColor(HSSFColor.BLACK.index);
-
-		// Create header
-		LOG.info("Header creation");
-		row.createCell(0).setCellValue("Issue");
-		row.getCell(0).setCellStyle(headerStyle);
-		row.createCell(1).setCellValue("Summary");
-		row.getCell(1).setCellStyle(headerStyle);
-		row.createCell(2).setCellValue("Author");
-		row.getCell(2).setCellStyle(headerStyle);
-		row.createCell(3).setCellValue("Comment");
-		row.getCell(3).setCellStyle(headerStyle);
-		row.createCell(4).setCellValue("Time spent");
-		row.getCell(4).setCellStyle(headerStyle);
-		row.createCell(5).setCellValue("RAE");
-		row.getCell(5).setCellStyle(headerStyle);
-		row.createCell(6).setCellValue("Update date");
-		row.getCell(6).setCellStyle(headerStyle);
-
-
-
-		// Create others rows
-		LOG.info("Insert data");
-		if (issueList != null) {
-			for (int i = 0; i < issueList.size(); i++) {
-				Issue issue = issueList.get(i);
-				//		List<Worklog> worklogList = (List<Worklog>) issue.getWorklogs();
-				for (Iterator<Worklog> worklogs = issue.getWorklogs().iterator(); worklogs.hasNext(); ) {
-					Worklog worklog = worklogs.next();
-					// Initialize variable
-					int lastRowNum = sheet.getLastRowNum();
-					lastRowNum++;
-
-					//Checking update date
-					if (worklog.getUpdateDate().isAfter(twoDaysAgo.getTime())) {
-
-						// Create new row
-						row = sheet.createRow(lastRowNum);
-
-						// Create first cell : the Issue's KEY
-						row.createCell(0).setCellValue(issue.getKey());
-						row.getCell(0).setCellStyle(tabStyle);
-
-						// Create second cell : the Issue's summary
-						row.createCell(1).setCellValue(issue.getSummary());
-						row.getCell(1).setCellStyle(tabStyle);
-
-						//Create third cell : the Worklog's update author
-						row.createCell(2).setCellValue(worklog.getUpdateAuthor().getDisplayName());
-						row.getCell(2).setCellStyle(tabStyle);
-
-						// Create fourth cell : the Worklog's comment
-						row.createCell(3).setCellValue(worklog.getComment());
-						row.getCell(3).setCellStyle(tabStyle);
-
-						// Create 5th cell : Worklog's minutes spent
-						if (worklog.getMinutesSpent() != null) {
-							if (worklog.getMinutesSpent() % 60 == 0) {
-								row.createCell(4).setCellValue(worklog.getMinutesSpent() / 60 + "h");
-								row.getCell(4).setCellStyle(tabStyle);
-							} else if (worklog.getMinutesSpent() <= 59) {
-								row.createCell(4).setCellValue(worklog.getMinutesSpent() + "m");
-								row.getCell(4).setCellStyle(tabStyle);
-							} else if (worklog.getMinutesSpent() % 60 != 0 && worklog.getMinutesSpent() > 60) {
-								row.createCell(4).setCellValue(worklog.getMinutesSpent() / 60 + "h" + worklog.getMinutesSpent() % 60 + "m");
-								row.getCell(4).setCellStyle(tabStyle);
-							}
-						} else {
-							row.createCell(4).setCellValue("No time spent set");
-							row.getCell(4).setCellStyle(tabStyle);
-						}
-
-						// Create 6th cell : RAE
-						if (issue.getTimeTracking().getRemainingEstimateMinutes() != null) {
-							if (issue.getTimeTracking().getRemainingEstimateMinutes() % 60 == 0) {
-								row.createCell(5).setCellValue(issue.getTimeTracking().getRemainingEstimateMinutes() / 60 + "h");
-								row.getCell(5).setCellStyle(tabStyle);
-							} else if (issue.getTimeTracking().getRemainingEstimateMinutes() <= 59) {
-								row.createCell(5).setCellValue(issue.getTimeTracking().getRemainingEstimateMinutes() + "m");
-								row.getCell(5).setCellStyle(tabStyle);
-							} else if (issue.getTimeTracking().getRemainingEstimateMinutes() > 60 && issue.getTimeTracking().getRemainingEstimateMinutes() % 60 != 0) {
-								row.createCell(5).setCellValue(issue.getTimeTracking().getRemainingEstimateMinutes() / 60 + "h" + issue.getTimeTracking().getRemainingEstimateMinutes() % 60 + "m");
-								row.getCell(5).setCellStyle(tabStyle);
-							}
-
-						} else {
-							row.createCell(5).setCellValue("No RAE set");
-							row.getCell(5).setCellStyle(tabStyle);
-						}
-
-						// Create the last cell : Worklog's update date
-						row.createCell(6).setCellValue(worklog.getUpdateDate().toString().substring(0, 10));
-						row.getCell(6).setCellStyle(tabStyle);
-					}
-				}
-			}
-		} else {
-			LOG.warn("Careful, empty issue list");
-		}
-
-		// Autosize Columns
-		for (int i = 0; i <= 6; i++) {
-			sheet.autoSizeColumn(i);
-		}
-
-		// Save & close file
-		try {
-			LOG.info("Save data in file : ...");
-			workbook.write(fileOut);
-			fileOut.flush();
-			fileOut.close();
-			LOG.info("Save data in file : OK");
-			LOG.info("File : export-worklog-jira-" + new DateTime().withTimeAtStartOfDay().toString().substring(0, 10) + ".xls");
-		} catch (IOException e) {
-			LOG.warn(e.getStackTrace().toString());
-			LOG.warn("Error during data saving");
-		}
-	}
-
-	public int incrementeI(int i) {
-		return i++;
-	}
-
-	/**
-	 * Function to load excel file in JIRA.
-	 * 
-	 * @param excelFilePath
-	 * @throws IOException
-	 */
-	public void loadingFile(String excelFilePath) throws IOException {
-
-		// create a runnable task in a separate thread
-
-		LOG.info("###################################################");
-		LOG.info("STEP 1 - Loading metadatas ");
-		loadMetadata();
-
-		LOG.info("###################################################");
-		LOG.info("STEP 2 - Starting the excel file import : " + excelFilePath);
-
-		//Select file and create the workbook
-		FileInputStream fis;
-		XSSFWorkbook workbook;
-		try {
-			fis = new FileInputStream(excelFilePath);
-			workbook = new XSSFWorkbook(fis);
-		} catch (Exception e) {
-			LOG.error("Error while opening Excel file. ", e);
-			return;
-		}
-
-		Integer importSheetPageNumber = null;
-		Integer configurationSheetPageNumber = null;
-
-		//For each sheet in the workbook find page number for Import & Configuration.
-		for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-			if (workbook.getSheetName(i).equals("Import")) {
-				importSheetPageNumber = i;
-			}
-			if (workbook.getSheetName(i).equals("Configuration")) {
-				configurationSheetPageNumber = i;
-			}
-		}
-
-		XslsFileReaderAndWriter excelLoader = null;
-		try {
-			File excelFile = new File(excelFilePath);
-			excelLoader = new XslsFileReaderAndWriter(excelFile);
-		} catch (Exception e) {
-			LOG.error("Error while opening Excel file. ", e);
-			return;
-		}
-		// Valide excel format file and load specific configuration with the page number of the configuration sheet.
-		LOG.info("###################################################");
-		LOG.info("STEP 3 - Validate excel format file and load specific configuration");
-		if (!loadConfigurationAndValidateExcelFormat(excelLoader, configurationSheetPageNumber)) {
-			LOG.error("The first sheet 'Configuration' is not valid. Please read logs and fix excel file");
-			return;
-		}
-		
-		try {
-			/*
-			 * File is opened. Now validate all rows for the import sheet
-			 */
-			LOG.info("###################################################");
-			LOG.info("STEP 4 - Validating all excel file rows");
-			if (!validateAllRows(excelLoader, importSheetPageNumber)) {
-				LOG.error("At least one row is not valid. Please read logs and fix excel file");
-				return;
-			}
-
-			/*
-			 * ALl row are valid. Now inject row one by one in JIRA for the import sheet.
-			 */
-			LOG.info("###################################################");
-			LOG.info("STEP 5 - Starting the injection");
-			injectAllRows(excelLoader, importSheetPageNumber);
-
-		} finally {
-			// always close the excel file
-			excelLoader.closeFile();
-			fis.close();
-		}
-	}
-	
-	/**
-	 * This function validate the excel file version and loads the configuration specified in the first sheet.
-	 * @param excelLoader
-	 */
-	protected boolean loadConfigurationAndValidateExcelFormat(XslsFileReaderAndWriter excelLoader, Integer pageNumber) {
-		excelLoader.openSheet(pageNumber);
-		// The excel file version must be valid
-		Optional<Integer> result = excelLoader.readIntegerCellContent(1, 5);
-		if (!result.isPresent() || result.get().intValue() < ExcelDatas.JIRA_LOADER_REQUIRED_VERSION) 
-		{
-			LOG.error("The excel file version is not correct. You have to use at least the version " + ExcelDatas.JIRA_LOADER_REQUIRED_VERSION);
-			return false;
-		}
-		
-		LOG.info("Your excel file version is : " + result.get());
-		
-		//load the other configuration value
-		excelFileDatasBean.setSearchStoryByNameBeforeCreate(excelLoader.readBooleanCellContent(2, 5).orElseGet(() -> {
-			LOG.warn("No configuration at line 2,5. Set default value to false");
-			return false;
-		}));
-
-		// load the configuration value for allowing update
-
-		excelFileDatasBean.setAllowUpdate(excelLoader.readBooleanCellContent(3, 5).orElseGet(() -> {
-			LOG.warn("No configuration at line 3,5. Set default value to false");
-			return false;
-		}));
-
-		// load the configuration value : reverberate update from Story to subtask
-		excelFileDatasBean.setUpdateStoryAndSubTasks(excelLoader.readBooleanCellContent(4, 5).orElseGet(() -> {
-			LOG.warn("No configuration at line 4,5. Set default value to false");
-			return false;
-		}));
-
-		excelFileDatasBean.setUpdateSubTasksOutOfFile(excelLoader.readBooleanCellContent(5, 5).orElseGet(() -> {
-			LOG.warn("No configuration at line 5,5. Set default value to false");
-			return false;
-		}));
-
-		return true;
-	}
-
-	/**
-	 * Call wrapper for each row to inject datas in JIRA
-	 * 
-	 * @param excelLoader
-	 */
-	private void injectAllRows(XslsFileReaderAndWriter excelLoader, Integer pageNumber) {
-		// skip header
-		excelLoader.openSheet(pageNumber);
-		int i = 1;
-		boolean lastRow = false;
-		do {
-			excelLoader.setRowPosition(i);
-			final Row row = excelLoader.readNextRow();
-			lastRow = !excelLoader.isLastRow();
-
-			String typeDemande = row.getCell(XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Type de demande")).getStringCellValue();
-			AbstractWrapper<? extends GenericModel> wrapper = wrapperFact.getWrapper(typeDemande);
-			// load the row
-			GenericModel genModel = wrapper.loadRow(row, excelLoader);
-
-			try {
-				// call create or update line
-				if (wrapper.isCreateAction()) {
-					// inject
-					wrapper.createRowInJira();
-				} else {
-					wrapper.updateRowInJira();
-				}
-			} catch (Exception e) {
-				LOG.error("Error while processing row in JIRA", e);
-				return;
-			}
-
-			// save the lastStory key if it's a story
-			if (genModel.typeDemande.compareTo(JiraIssuesTypeLoader.JIRA_STORY_ISSUE_TYPE_NAME) == 0) {
-				LOG.debug("Save last story key : " + genModel.key);
-				jiraUserDatasBean.setLastStoryKey(genModel.key);
-			}
-			i++;
-		} while (lastRow);
-
-		LOG.info("Injection is done !!! Good game !!!");
-	}
-
-	/**
-	 * Validate all excel file rows. Validation is done by the wrapper.
-	 * 
-	 * @param excelLoader
-	 * @return {@link Boolean}
-	 */
-	private boolean validateAllRows(XslsFileReaderAndWriter excelLoader, Integer pageNumber) {
-		// skip header
-		int i = 1;
-		excelLoader.openSheet(pageNumber);
-		boolean allLineOK = true;
-		boolean atLeastOneDataFound = false;
-		boolean lastRow = false;
-		do {
-			excelLoader.setRowPosition(i);
-			Row row = excelLoader.readNextRow();
-			atLeastOneDataFound = true;
-			lastRow = !excelLoader.isLastRow();
-			try {
-				String typeDemande = row.getCell(XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Type de demande")).getStringCellValue();
-				if (typeDemande == null) {
-					throw new UnexpectedTypeLineException();
-				}
-
-				AbstractWrapper<? extends GenericModel> wrapper = wrapperFact.getWrapper(typeDemande);
-				if (wrapper == null) {
-					throw new UnexpectedTypeLineException();
-				}
-				// load the row
-				wrapper.loadRow(row, excelLoader);
-
-				// validate the row
-				if (!wrapper.validateRow()) {
-					allLineOK = false;
-				}
-			} catch (JiraGeneralException e) {
-				LOG.error("Row <" + row.getRowNum() + "> JIRA has raised an exception. I can't do anything for you...", e);
-					allLineOK = false;
-			} catch (UnexpectedTypeLineException e) {
-				LOG.error("Row <" + row.getRowNum() + "> The typeDemande value is not support by the application", e);
-				allLineOK = false;
-				}
-			i++;
-		}
-		while (lastRow);
-		
-		if (atLeastOneDataFound == false) {
-			//no line in the excel file
-			LOG.error("No line has been found in the excel file. Please check your second excel sheet");
-			allLineOK = false;
-		}
-		return allLineOK;
-	}
-
-
-}
+package sopra.grenoble.jiraLoader;
+
+import com.atlassian.jira.rest.client.NullProgressMonitor;
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.domain.Issue;
+import com.atlassian.jira.rest.client.domain.Worklog;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.configurationbeans.ExcelDatas;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+import sopra.grenoble.jiraLoader.excel.loaders.CsvWorklogWriter;
+import sopra.grenoble.jiraLoader.excel.loaders.ExcelWorkbookSession;
+import sopra.grenoble.jiraLoader.excel.loaders.IExcelCellReader;
+import sopra.grenoble.jiraLoader.excel.loaders.IImportRowReader;
+import sopra.grenoble.jiraLoader.excel.loaders.IWorklogWriter;
+import sopra.grenoble.jiraLoader.excel.loaders.InjectionCheckpoint;
+import sopra.grenoble.jiraLoader.excel.loaders.WorklogWorkbookWriter;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
+import sopra.grenoble.jiraLoader.export.WorklogExportPipeline;
+import sopra.grenoble.jiraLoader.export.WorklogWatermarkStore;
+import sopra.grenoble.jiraLoader.exceptions.UnexpectedTypeLineException;
+import sopra.grenoble.jiraLoader.injection.BatchInjectionException;
+import sopra.grenoble.jiraLoader.injection.InjectionBatch;
+import sopra.grenoble.jiraLoader.injection.InjectionEngine;
+import sopra.grenoble.jiraLoader.injection.InjectionGraph;
+import sopra.grenoble.jiraLoader.injection.InjectionNode;
+import sopra.grenoble.jiraLoader.injection.InjectionReport;
+import sopra.grenoble.jiraLoader.jira.connection.HttpPoolStatistics;
+import sopra.grenoble.jiraLoader.jira.connection.IJiraRestClientV2;
+import sopra.grenoble.jiraLoader.jira.dao.metadatas.MetadataGeneralLoader;
+import sopra.grenoble.jiraLoader.jira.dao.project.impl.EpicRegistry;
+import sopra.grenoble.jiraLoader.jira.dao.project.impl.IssueSummaryIndex;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSearchIterator;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummary;
+import sopra.grenoble.jiraLoader.wrappers.AbstractWrapper;
+import sopra.grenoble.jiraLoader.wrappers.RowContext;
+import sopra.grenoble.jiraLoader.wrappers.WrapperFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author cmouilleron Main class to import excel document in JIRA application
+ */
+@Component
+public class JiraLoader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JiraLoader.class);
+
+	/**
+	 * Max number of issues asked by search call for the export
+	 */
+	private static final int SEARCH_PAGE_SIZE = 100;
+
+
+	@Autowired
+	private MetadataGeneralLoader metadataLoader;
+
+	@Autowired
+	private JiraUserDatas jiraUserDatasBean;
+
+	@Autowired
+	private ExcelDatas excelFileDatasBean;
+
+	@Autowired
+	private IJiraRestClientV2 jiraConnection;
+
+	@Autowired
+	private IssueSummaryIndex summaryIndex;
+
+	@Autowired
+	private EpicRegistry epicRegistry;
+	
+	/**
+	 * The wrapper factory
+	 */
+	private WrapperFactory wrapperFact = new WrapperFactory();
+
+	/**
+	 * Function to load metadatas. The metadatas are loaded concurrently in background.
+	 * @return future completed when all the metadatas are loaded
+	 */
+	private CompletableFuture<Void> loadMetadata() {
+		// load all metadata
+		return metadataLoader.initLoaderAsynchronously();
+	}
+
+	/**
+	 * Wait for the end of the metadata loading
+	 * @param metadata : future returned by {@link #loadMetadata()}
+	 * @return true if the metadatas are loaded
+	 */
+	private boolean awaitMetadata(CompletableFuture<Void> metadata) {
+		try {
+			metadata.join();
+			return true;
+		} catch (CompletionException | CancellationException e) {
+			LOG.error("Unable to load the metadatas from JIRA", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Main function to export data from jira worklog to an excel file.
+	 * @throws IOException
+	 */
+	public void exportDataFromWorkLog() throws IOException, URISyntaxException {
+
+		LOG.info("###################################################");
+		LOG.info("STEP 1 - Loading metadatas");
+		if (!awaitMetadata(loadMetadata())) {
+			return;
+		}
+
+		LOG.info("###################################################");
+		LOG.info("STEP 3 - Loading and writing data");
+		int rows;
+		try {
+			rows = exportWorkLogData();
+		} finally {
+			logConnectionPool();
+		}
+
+		if (rows == 0) {
+			LOG.warn("Issue list is EMPTY, please check Jira");
+			LOG.warn("export status : SUCCESS but nothing was done");
+		} else {
+			LOG.info("###################################################");
+			LOG.info("Well done,export status : SUCCESS");
+		}
+	}
+
+	/**
+	 * Write in the export file the worklogs updated in the window, while the issues are loaded from JIRA.
+	 * The projects are exported at the same time, each one in its sheet, and their issues are loaded by the same threads
+	 * and the same JIRA connection. The export file is removed if there is no worklog to write or if the export fails.
+	 * In incremental mode, each project is added at the end of its csv file, see {@link #exportProjectWorkLogs}.
+	 * @return the number of rows written
+	 * @throws IOException
+	 * @throws URISyntaxException
+	 */
+	private int exportWorkLogData() throws IOException, URISyntaxException {
+		LOG.info("Opening connection");
+		jiraConnection.openConnection();
+		List<String> projects = jiraUserDatasBean.getExportProjectList();
+		boolean incremental = jiraUserDatasBean.isExportIncremental();
+		LOG.info("Export of the projects " + projects);
+
+		WorklogWatermarkStore watermarks = incremental ? new WorklogWatermarkStore(new File(jiraUserDatasBean.getExportStateFile())) : null;
+		// a single project is written in the sheet of the previous versions
+		List<String> sheetNames = (projects.size() > 1) ? projects : Collections.singletonList(WorklogWorkbookWriter.SHEET_NAME);
+
+		ExecutorService loadingExecutor = newExportExecutor(jiraUserDatasBean.getExportThreads(), "worklog-export-");
+		ExecutorService projectExecutor = newExportExecutor(projects.size(), "worklog-export-project-");
+		File exportFile = new File(getExportFileName());
+		int rows = 0;
+		boolean success = false;
+		try {
+			// the stream is closed by the workbook, and closed again if the workbook can't be created
+			try (OutputStream out = incremental ? null : new FileOutputStream(exportFile);
+					WorklogWorkbookWriter workbook = incremental ? null : createWorklogWriter(out, sheetNames)) {
+				List<CompletableFuture<Integer>> results = new ArrayList<>();
+				for (int i = 0; i < projects.size(); i++) {
+					String projectName = projects.get(i);
+					IWorklogWriter writer = incremental ? new CsvWorklogWriter(new File(getIncrementalExportFileName(projectName)))
+							: workbook.getSheet(sheetNames.get(i));
+					results.add(CompletableFuture.supplyAsync(() -> {
+						try {
+							return exportProjectWorkLogs(projectName, writer, watermarks, loadingExecutor);
+						} catch (IOException | URISyntaxException e) {
+							throw new CompletionException(e);
+						}
+					}, projectExecutor));
+				}
+				for (CompletableFuture<Integer> result : results) {
+					rows += joinExport(result);
+				}
+			}
+			success = true;
+		} finally {
+			projectExecutor.shutdownNow();
+			loadingExecutor.shutdownNow();
+			// the workbook of a failed export is not kept
+			if (!incremental && (!success || rows == 0)) {
+				Files.deleteIfExists(exportFile.toPath());
+			}
+		}
+		if (!incremental && rows > 0) {
+			LOG.info("File : " + exportFile.getName() + " (" + rows + " row(s))");
+		}
+		return rows;
+	}
+
+	/**
+	 * Export the worklogs of a project updated in the window.
+	 * In incremental mode, the window starts at the end of the window of the previous export and the worklogs are added
+	 * at the end of the csv file of the project. The window ends when the search starts, minus a margin : a worklog updated
+	 * during the export is exported again by the next one, and the worklogs of the overlap already exported are skipped by their revision.
+	 * The state is saved only if the export succeeds, so a failed export is done again.
+	 * @param projectName
+	 * @param writer : writer of the project, closed at the end or aborted if the export fails
+	 * @param watermarks : state of the incremental export, null to export the default window
+	 * @param loadingExecutor : threads loading the issues, shared by the projects
+	 * @return the number of rows written
+	 * @throws IOException
+	 * @throws URISyntaxException
+	 */
+	private int exportProjectWorkLogs(String projectName, IWorklogWriter writer, WorklogWatermarkStore watermarks,
+			ExecutorService loadingExecutor) throws IOException, URISyntaxException {
+		NullProgressMonitor pm = new NullProgressMonitor();
+		boolean incremental = watermarks != null;
+
+		Date windowStart = getWorkLogWindowStart();
+		// revisions of the worklogs of the window exported by the previous export
+		Set<String> previouslyExported = Collections.emptySet();
+		// end of the window, saved as the start of the next one
+		DateTime windowEnd = null;
+		if (incremental) {
+			DateTime watermark = watermarks.get(projectName);
+			if (watermark != null) {
+				windowStart = watermark.toDate();
+				previouslyExported = watermarks.getExported(projectName);
+			}
+			windowEnd = new DateTime().minusMinutes(jiraUserDatasBean.getExportIncrementalMargin());
+			if (windowEnd.isBefore(windowStart.getTime())) {
+				windowEnd = new DateTime(windowStart);
+			}
+			LOG.info("Incremental export of " + projectName + " : worklogs updated after " + new DateTime(windowStart));
+		}
+		final Date since = windowStart;
+		final Set<String> skipped = previouslyExported;
+		final long nextWindowStart = incremental ? windowEnd.getMillis() : Long.MAX_VALUE;
+
+		String jqlSearch = buildWorkLogJql(projectName, since);
+		IssueSearchIterator searchResult = jiraConnection.getSearchClientV2().searchAllIssueSummaries(jqlSearch, SEARCH_PAGE_SIZE, null, pm);
+		LOG.info("Search request : " + jqlSearch);
+		LOG.info("Total issues of " + projectName + " : " + searchResult.getTotal());
+		Iterator<String> keys = StreamSupport.stream(Spliterators.spliteratorUnknownSize(searchResult, 0), false)
+				.map(IssueSummary::getKey).iterator();
+
+		// revisions of the worklogs exported in the window of the next export
+		Set<String> exported = ConcurrentHashMap.newKeySet();
+		boolean success = false;
+		try {
+			new WorklogExportPipeline(loadingExecutor, jiraUserDatasBean.getExportThreads(), jiraUserDatasBean.getExportQueueSize())
+					.run(keys, (key) -> {
+						List<WorklogRecord> records = new ArrayList<>();
+						for (WorklogRecord record : loadWorklogRecords(key, since, pm)) {
+							String revision = record.getRevision();
+							if (revision != null && record.getUpdateDate().getMillis() > nextWindowStart) {
+								exported.add(revision);
+							}
+							if (revision == null || !skipped.contains(revision)) {
+								records.add(record);
+							}
+						}
+						return records;
+					}, writer);
+			success = true;
+		} finally {
+			// the rows of a failed export are not kept in the csv file : they are exported again by the next export
+			if (success) {
+				writer.close();
+			} else {
+				writer.abort();
+			}
+		}
+		if (incremental) {
+			watermarks.put(projectName, windowEnd, exported);
+		}
+		LOG.info(projectName + " : " + writer.getRowCount() + " row(s) written");
+		return writer.getRowCount();
+	}
+
+	/**
+	 * @param future : export of a project
+	 * @return the number of rows written
+	 * @throws IOException
+	 * @throws URISyntaxException
+	 */
+	private static int joinExport(CompletableFuture<Integer> future) throws IOException, URISyntaxException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof URISyntaxException) {
+				throw (URISyntaxException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static ExecutorService newExportExecutor(int threads, String namePrefix) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		return Executors.newFixedThreadPool(Math.max(1, threads), (runnable) -> {
+			Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Load an issue and keep only its worklogs updated since the date
+	 * @param issueKey
+	 * @param date
+	 * @param pm
+	 * @return the records of the worklogs
+	 */
+	private List<WorklogRecord> loadWorklogRecords(String issueKey, Date date, ProgressMonitor pm) {
+		Issue issue = jiraConnection.getIssueClient().getIssue(issueKey, pm);
+		List<WorklogRecord> records = new ArrayList<>();
+		for (Worklog worklog : issue.getWorklogs()) {
+			if (worklog.getUpdateDate().isAfter(date.getTime())) {
+				records.add(WorklogRecord.of(issue, worklog));
+			}
+		}
+		if (!records.isEmpty()) {
+			LOG.info(issue.getKey() + " : " + issue.getSummary() + " added in list");
+		}
+		return records;
+	}
+
+	/**
+	 * @return the start of the export window : only the worklogs updated after this date are exported
+	 */
+	private static Date getWorkLogWindowStart() {
+		DateTime today = new DateTime().withTimeAtStartOfDay().plusDays(1);
+		long dayInMs = 1000 * 60 * 60 * 24 * 3;
+		return new Date(today.getMillis() - dayInMs);
+	}
+
+	/**
+	 * Build the JQL query of the issues which can have a worklog updated since the start of the window.
+	 * Adding or updating a worklog updates the issue, so the issues not updated since this date are filtered by JIRA.
+	 * The query is a day wider than the window because JIRA uses the timezone of the user : the worklogs are filtered
+	 * exactly once the issues are loaded.
+	 * The issues are sorted by key : an issue updated during the export keeps its place, so the pages read by offset
+	 * do not skip or repeat an issue.
+	 * @param projectName
+	 * @param windowStart
+	 * @return the JQL query
+	 */
+	private static String buildWorkLogJql(String projectName, Date windowStart) {
+		String since = new DateTime(windowStart).minusDays(1).toString("yyyy-MM-dd");
+		return "project=\"" + projectName + "\" AND updated >= \"" + since + "\" AND timespent > 0 ORDER BY key ASC";
+	}
+
+	/**
+	 * @return the name of the export file of the day
+	 */
+	private String getExportFileName() {
+		return "export-worklog-jira-" + new DateTime().withTimeAtStartOfDay().toString().substring(0, 10) + "." + getExportExtension();
+	}
+
+	/**
+	 * @param projectName
+	 * @return the name of the csv file of the incremental export of the project
+	 */
+	private static String getIncrementalExportFileName(String projectName) {
+		return "export-worklog-jira-" + projectName.replaceAll("[^A-Za-z0-9_-]", "_") + ".csv";
+	}
+
+	/**
+	 * @return the extension of the export file : xlsx if configured, xls by default
+	 */
+	private String getExportExtension() {
+		return "xlsx".equalsIgnoreCase(jiraUserDatasBean.getExportFormat()) ? "xlsx" : "xls";
+	}
+
+	/**
+	 * @param out : stream of the export file
+	 * @param sheetNames
+	 * @return the writer of the configured format, with a sheet per name
+	 */
+	private WorklogWorkbookWriter createWorklogWriter(OutputStream out, List<String> sheetNames) {
+		if ("xlsx".equals(getExportExtension())) {
+			return WorklogWorkbookWriter.createXlsx(out, jiraUserDatasBean.getExportRowWindow(), sheetNames);
+		}
+		return WorklogWorkbookWriter.createXls(out, sheetNames);
+	}
+
+	public int incrementeI(int i) {
+		return i++;
+	}
+
+	/**
+	 * Function to load excel file in JIRA.
+	 * 
+	 * @param excelFilePath
+	 * @throws IOException
+	 */
+	public void loadingFile(String excelFilePath) throws IOException {
+		loadingFile(excelFilePath, false);
+	}
+
+	/**
+	 * Function to load excel file in JIRA.
+	 * 
+	 * @param excelFilePath
+	 * @param resume : true to skip the rows already injected by a previous interrupted injection
+	 * @throws IOException
+	 */
+	public void loadingFile(String excelFilePath, boolean resume) throws IOException {
+
+		// create a runnable task in a separate thread
+
+		LOG.info("###################################################");
+		LOG.info("STEP 1 - Loading metadatas ");
+		// the metadatas are loaded while the excel file is opened
+		CompletableFuture<Void> metadata = loadMetadata();
+		// the issues may have been modified in JIRA since the last import
+		summaryIndex.clear();
+		epicRegistry.clear();
+
+		LOG.info("###################################################");
+		LOG.info("STEP 2 - Starting the excel file import : " + excelFilePath);
+
+		// open and parse the excel file once for the whole import
+		ExcelWorkbookSession session;
+		try {
+			session = ExcelWorkbookSession.open(new File(excelFilePath), excelFileDatasBean.getStreamingThreshold(),
+					excelFileDatasBean.getJournalSyncBatchSize());
+		} catch (Exception e) {
+			LOG.error("Error while opening Excel file. ", e);
+			return;
+		}
+
+		try {
+			// Valide excel format file and load specific configuration from the configuration sheet.
+			LOG.info("###################################################");
+			LOG.info("STEP 3 - Validate excel format file and load specific configuration");
+			if (!loadConfigurationAndValidateExcelFormat(session.openConfigurationSheet())) {
+				LOG.error("The first sheet 'Configuration' is not valid. Please read logs and fix excel file");
+				return;
+			}
+
+			/*
+			 * File is opened. Now validate all rows for the import sheet
+			 */
+			if (!awaitMetadata(metadata)) {
+				return;
+			}
+
+			LOG.info("###################################################");
+			LOG.info("STEP 4 - Validating all excel file rows");
+			Optional<List<GenericModel>> validatedRows = validateAllRows(session);
+			if (!validatedRows.isPresent()) {
+				LOG.error("At least one row is not valid. Please read logs and fix excel file");
+				return;
+			}
+
+			/*
+			 * ALl row are valid. Now inject row one by one in JIRA for the import sheet.
+			 */
+			LOG.info("###################################################");
+			LOG.info("STEP 5 - Starting the injection" + (resume ? " (resume)" : ""));
+			injectAllRows(session, validatedRows.get(), resume);
+
+		} finally {
+			// always close the excel file
+			session.close();
+			logConnectionPool();
+		}
+	}
+
+	/**
+	 * Log the state of the HTTP connection pool : a long wait for a connection means the pool is too small for the threads
+	 */
+	private void logConnectionPool() {
+		HttpPoolStatistics statistics = jiraConnection.getConnectionPoolStatistics();
+		if (statistics != null) {
+			LOG.info("HTTP connection pool : " + statistics);
+		}
+	}
+
+	/**
+	 * This function validate the excel file version and loads the configuration specified in the first sheet.
+	 * @param excelLoader
+	 */
+	protected boolean loadConfigurationAndValidateExcelFormat(XslsFileReaderAndWriter excelLoader, Integer pageNumber) {
+		excelLoader.openSheet(pageNumber);
+		return loadConfigurationAndValidateExcelFormat(excelLoader);
+	}
+
+	/**
+	 * This function validate the excel file version and loads the configuration specified in the configuration sheet.
+	 * @param excelLoader : reader on the configuration sheet
+	 */
+	protected boolean loadConfigurationAndValidateExcelFormat(IExcelCellReader excelLoader) {
+		// The excel file version must be valid
+		Optional<Integer> result = excelLoader.readIntegerCellContent(1, 5);
+		if (!result.isPresent() || result.get().intValue() < ExcelDatas.JIRA_LOADER_REQUIRED_VERSION) 
+		{
+			LOG.error("The excel file version is not correct. You have to use at least the version " + ExcelDatas.JIRA_LOADER_REQUIRED_VERSION);
+			return false;
+		}
+		
+		LOG.info("Your excel file version is : " + result.get());
+		
+		//load the other configuration value
+		excelFileDatasBean.setSearchStoryByNameBeforeCreate(excelLoader.readBooleanCellContent(2, 5).orElseGet(() -> {
+			LOG.warn("No configuration at line 2,5. Set default value to false");
+			return false;
+		}));
+
+		// load the configuration value for allowing update
+
+		excelFileDatasBean.setAllowUpdate(excelLoader.readBooleanCellContent(3, 5).orElseGet(() -> {
+			LOG.warn("No configuration at line 3,5. Set default value to false");
+			return false;
+		}));
+
+		// load the configuration value : reverberate update from Story to subtask
+		excelFileDatasBean.setUpdateStoryAndSubTasks(excelLoader.readBooleanCellContent(4, 5).orElseGet(() -> {
+			LOG.warn("No configuration at line 4,5. Set default value to false");
+			return false;
+		}));
+
+		excelFileDatasBean.setUpdateSubTasksOutOfFile(excelLoader.readBooleanCellContent(5, 5).orElseGet(() -> {
+			LOG.warn("No configuration at line 5,5. Set default value to false");
+			return false;
+		}));
+
+		return true;
+	}
+
+	/**
+	 * Call wrapper for each validated row to inject datas in JIRA.
+	 * The rows are injected by the {@link InjectionEngine} following the {@link InjectionGraph} : the independent rows are injected concurrently,
+	 * and the consecutive stories of the same epic or sub-tasks of the same story are created together with the bulk API of JIRA.
+	 * The outcome of each row is recorded in the {@link InjectionCheckpoint}. The checkpoint is deleted when all the rows are injected.
+	 * 
+	 * @param session : the keys created or retrieved are saved in the excel file
+	 * @param rows : the rows returned by the validation
+	 * @param resume : true to skip the rows already injected and not modified since the last injection
+	 */
+	private void injectAllRows(ExcelWorkbookSession session, List<GenericModel> rows, boolean resume) {
+		final File excelFile = session.getExcelFile();
+		Map<Integer, InjectionCheckpoint.Entry> previousRows = Collections.emptyMap();
+		if (resume) {
+			try {
+				previousRows = InjectionCheckpoint.readEntries(excelFile);
+			} catch (IOException e) {
+				LOG.error("Unable to read the checkpoint " + InjectionCheckpoint.getCheckpointFile(excelFile), e);
+				return;
+			}
+			if (previousRows.isEmpty()) {
+				LOG.warn("No checkpoint has been found : all the rows are injected");
+			}
+		}
+
+		final Map<Integer, InjectionCheckpoint.Entry> rowsToSkip = previousRows;
+		final AtomicInteger skippedRows = new AtomicInteger();
+		InjectionGraph graph = InjectionGraph.build(rows, excelFileDatasBean.getBulkSize(),
+				excelFileDatasBean.isSearchStoryByNameBeforeCreate());
+		InjectionReport report;
+		try (InjectionCheckpoint checkpoint = new InjectionCheckpoint(excelFile, resume, excelFileDatasBean.getJournalSyncBatchSize())) {
+			LOG.info("Injecting " + graph.size() + " row(s) in " + graph.getBatches().size() + " batch(es) with " + excelFileDatasBean.getInjectionThreads() + " thread(s)");
+			report = new InjectionEngine(excelFileDatasBean.getInjectionThreads()).run(graph,
+					(batch) -> skippedRows.addAndGet(injectBatch(session, checkpoint, rowsToSkip, batch)));
+		} catch (IOException e) {
+			LOG.error("Unable to write the checkpoint " + InjectionCheckpoint.getCheckpointFile(excelFile), e);
+			return;
+		}
+
+		if (skippedRows.get() > 0) {
+			LOG.info(skippedRows.get() + " row(s) already injected have been skipped");
+		}
+		if (!report.isComplete()) {
+			LOG.error("The injection is not complete : " + report + ". It can be resumed.");
+			return;
+		}
+		try {
+			InjectionCheckpoint.delete(excelFile);
+		} catch (IOException e) {
+			LOG.warn("Unable to delete the checkpoint " + InjectionCheckpoint.getCheckpointFile(excelFile), e);
+		}
+		LOG.info("Injection is done !!! Good game !!!");
+	}
+
+	/**
+	 * Inject a batch of rows in JIRA. Called concurrently by the {@link InjectionEngine} : the dependencies of the batch are already injected.
+	 * The rows to update are updated one by one, the rows to create are created together by their wrapper.
+	 * 
+	 * @param session
+	 * @param checkpoint
+	 * @param previousRows : outcome of the rows in the previous injection
+	 * @param batch
+	 * @return the number of rows skipped because they have already been injected
+	 * @throws BatchInjectionException if at least one row has not been injected, with the number of these rows
+	 */
+	private int injectBatch(ExcelWorkbookSession session, InjectionCheckpoint checkpoint, Map<Integer, InjectionCheckpoint.Entry> previousRows,
+			InjectionBatch batch) throws BatchInjectionException, IOException {
+		int skippedRows = 0;
+		int failedRows = 0;
+		Exception error = null;
+		Map<AbstractWrapper<? extends GenericModel>, List<RowContext>> rowsToCreate = new LinkedHashMap<>();
+		for (InjectionNode node : batch.getNodes()) {
+			GenericModel genModel = node.getModel();
+
+			// the story of a sub-task is injected before the sub-task
+			if (genModel instanceof SubTasks && node.getParent() != null) {
+				((SubTasks) genModel).parentKey = node.getParent().getModel().key;
+			}
+
+			// skip the row injected by the previous injection
+			InjectionCheckpoint.Entry previousRow = previousRows.get(genModel.rowNumber);
+			if (previousRow != null && previousRow.isDone(genModel.fingerprint())) {
+				if (previousRow.getKey() != null && !previousRow.getKey().equals(genModel.key)) {
+					genModel.key = previousRow.getKey();
+					session.saveKey(genModel.rowNumber, genModel.key);
+				}
+				skippedRows++;
+				continue;
+			}
+
+			AbstractWrapper<? extends GenericModel> wrapper = wrapperFact.getWrapper(genModel.typeDemande);
+			RowContext context = wrapper.loadModel(genModel);
+			if (wrapper.isCreateAction(context)) {
+				rowsToCreate.computeIfAbsent(wrapper, (w) -> new ArrayList<>()).add(context);
+				continue;
+			}
+
+			String keyInFile = genModel.key;
+			try {
+				wrapper.updateRowInJira(context);
+			} catch (Exception e) {
+				LOG.error(context.getLogPrefixe() + "error while updating row in JIRA", e);
+				checkpoint.record(genModel.rowNumber, genModel.fingerprint(), InjectionCheckpoint.Outcome.FAILED, genModel.key);
+				error = (error != null) ? error : e;
+				failedRows++;
+				continue;
+			}
+			recordInjectedRow(session, checkpoint, genModel, keyInFile);
+		}
+
+		// inject
+		for (Map.Entry<AbstractWrapper<? extends GenericModel>, List<RowContext>> rows : rowsToCreate.entrySet()) {
+			List<RowContext> notCreated = rows.getKey().createRowsInJira(rows.getValue());
+			for (RowContext context : rows.getValue()) {
+				GenericModel genModel = context.getModel();
+				if (notCreated.contains(context)) {
+					checkpoint.record(genModel.rowNumber, genModel.fingerprint(), InjectionCheckpoint.Outcome.FAILED, genModel.key);
+					failedRows++;
+				} else {
+					recordInjectedRow(session, checkpoint, genModel, null);
+				}
+			}
+			if (!notCreated.isEmpty() && error == null) {
+				error = new JiraGeneralException();
+			}
+		}
+
+		if (error != null) {
+			throw new BatchInjectionException(failedRows, error);
+		}
+		return skippedRows;
+	}
+
+	/**
+	 * Save the key generated or retrieved in the excel file and record the row as injected
+	 * @param session
+	 * @param checkpoint
+	 * @param genModel
+	 * @param keyInFile : key of the row in the excel file before the injection
+	 * @throws IOException
+	 */
+	private void recordInjectedRow(ExcelWorkbookSession session, InjectionCheckpoint checkpoint, GenericModel genModel, String keyInFile) throws IOException {
+		// update the excel file with the key generated or retrieved
+		if (genModel.key != null && !genModel.key.equals(keyInFile)) {
+			session.saveKey(genModel.rowNumber, genModel.key);
+		}
+		checkpoint.record(genModel.rowNumber, genModel.fingerprint(), InjectionCheckpoint.Outcome.DONE, genModel.key);
+	}
+
+	/**
+	 * Validate all excel file rows. Validation is done by the wrapper.
+	 * Each row is read once : the DTO validated are returned to be injected.
+	 * 
+	 * @param session
+	 * @return the validated rows in the excel file order, or empty if at least one row is not valid
+	 */
+	private Optional<List<GenericModel>> validateAllRows(ExcelWorkbookSession session) {
+		List<GenericModel> rows = new ArrayList<>();
+		boolean allLineOK = true;
+		try (IImportRowReader reader = session.readImportSheet(this::createModel)) {
+			while (reader.hasNext()) {
+				GenericModel genModel = reader.next();
+				try {
+					if (genModel == null) {
+						throw new UnexpectedTypeLineException();
+					}
+					AbstractWrapper<? extends GenericModel> wrapper = wrapperFact.getWrapper(genModel.typeDemande);
+					RowContext context = wrapper.loadModel(genModel);
+					rows.add(genModel);
+
+					// validate the row
+					if (!wrapper.validateRow(context)) {
+						allLineOK = false;
+					}
+				} catch (JiraGeneralException e) {
+					LOG.error("Row <" + reader.getRowNumber() + "> JIRA has raised an exception. I can't do anything for you...", e);
+					allLineOK = false;
+				} catch (UnexpectedTypeLineException e) {
+					LOG.error("Row <" + reader.getRowNumber() + "> The typeDemande value is not support by the application", e);
+					allLineOK = false;
+				}
+			}
+		} catch (IOException | IllegalStateException e) {
+			LOG.error("Error while reading Excel file. ", e);
+			return Optional.empty();
+		}
+
+		if (rows.isEmpty() && allLineOK) {
+			//no line in the excel file
+			LOG.error("No line has been found in the excel file. Please check your second excel sheet");
+			allLineOK = false;
+		}
+		return allLineOK ? Optional.of(Collections.unmodifiableList(rows)) : Optional.empty();
+	}
+
+	/**
+	 * Create the empty DTO associated to the typeDemande.
+	 * @param typeDemande
+	 * @return {@link GenericModel} or null if the typeDemande is not supported
+	 */
+	private GenericModel createModel(String typeDemande) {
+		AbstractWrapper<? extends GenericModel> wrapper = wrapperFact.getWrapper(typeDemande);
+		return (wrapper != null) ? wrapper.newModel() : null;
+	}
+
+
+}
@@ -1,57 +1,114 @@
-package sopra.grenoble.jiraLoader.configurationbeans;
-
-import org.springframework.stereotype.Component;
-
-@Component
-public class ExcelDatas {
-	
-	/**
-	 * The excel file version required for this version
-	 */
-	public static int JIRA_LOADER_REQUIRED_VERSION = 1; 
-	
-	/**
-	 * boolean to indicate if the program must check while a story creation, if a story with the same name already exists.
-	 * The ckeck is only based on the name before a | character.
-	 * For instance, if a story with name "XXX | YYY" have to be created, the program will check if a story with a name which start with "XXX" already exist.
-	 */
-	private boolean searchStoryByNameBeforeCreate = false;
-
-	private boolean allowUpdate = false;
-
-	private boolean updateStoryAndSubTasks = false;
-
-	private boolean updateSubTasksOutOfFile = false;
-	
-	public boolean isSearchStoryByNameBeforeCreate() {
-		return searchStoryByNameBeforeCreate;
-	}
-
-	public boolean isAllowingUpdate() {
-		return allowUpdate;
-	}
-
-	public boolean isUpdatingStoryAndSubTasks() {
-		return updateStoryAndSubTasks;
-	}
-
-	public void setSearchStoryByNameBeforeCreate(boolean searchStoryByNameBeforeCreate) {
-		this.searchStoryByNameBeforeCreate = searchStoryByNameBeforeCreate;
-	}
-
-	public void setAllowUpdate(boolean allowUpdate) {
-		this.allowUpdate = allowUpdate;
-	}
-
-	public void setUpdateStoryAndSubTasks(boolean updateStoryAndSubTasks) {
-		this.updateStoryAndSubTasks = updateStoryAndSubTasks;
-	}
-
-	public boolean isUpdateSubTasksOutOfFile() {
-		return updateSubTasksOutOfFile;
-	}
-
-	public void setUpdateSubTasksOutOfFile(boolean updateSubTasksOutOfFile) {
-		this.updateSubTasksOutOfFile = updateSubTasksOutOfFile;
-	}
-}
+package sopra.grenoble.jiraLoader.configurationbeans;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExcelDatas {
+	
+	/**
+	 * The excel file version required for this version
+	 */
+	public static int JIRA_LOADER_REQUIRED_VERSION = 1; 
+	
+	/**
+	 * boolean to indicate if the program must check while a story creation, if a story with the same name already exists.
+	 * The ckeck is only based on the name before a | character.
+	 * For instance, if a story with name "XXX | YYY" have to be created, the program will check if a story with a name which start with "XXX" already exist.
+	 */
+	private boolean searchStoryByNameBeforeCreate = false;
+
+	private boolean allowUpdate = false;
+
+	private boolean updateStoryAndSubTasks = false;
+
+	private boolean updateSubTasksOutOfFile = false;
+
+	/**
+	 * Excel files bigger than this size (in bytes) are read in streaming mode instead of being loaded in memory.
+	 */
+	@Value("${excel.streaming.threshold:10485760}")
+	private long streamingThreshold;
+
+	/**
+	 * Number of JIRA keys written in the journal between two disk synchronizations.
+	 */
+	@Value("${excel.journal.syncBatchSize:20}")
+	private int journalSyncBatchSize;
+
+	/**
+	 * Max number of rows injected at the same time in JIRA.
+	 */
+	@Value("${injection.threads:4}")
+	private int injectionThreads;
+
+	/**
+	 * Max number of stories or sub-tasks created with one bulk call. 1 to create the issues one by one.
+	 */
+	@Value("${injection.bulkSize:50}")
+	private int bulkSize;
+	
+	public boolean isSearchStoryByNameBeforeCreate() {
+		return searchStoryByNameBeforeCreate;
+	}
+
+	public boolean isAllowingUpdate() {
+		return allowUpdate;
+	}
+
+	public boolean isUpdatingStoryAndSubTasks() {
+		return updateStoryAndSubTasks;
+	}
+
+	public void setSearchStoryByNameBeforeCreate(boolean searchStoryByNameBeforeCreate) {
+		this.searchStoryByNameBeforeCreate = searchStoryByNameBeforeCreate;
+	}
+
+	public void setAllowUpdate(boolean allowUpdate) {
+		this.allowUpdate = allowUpdate;
+	}
+
+	public void setUpdateStoryAndSubTasks(boolean updateStoryAndSubTasks) {
+		this.updateStoryAndSubTasks = updateStoryAndSubTasks;
+	}
+
+	public boolean isUpdateSubTasksOutOfFile() {
+		return updateSubTasksOutOfFile;
+	}
+
+	public void setUpdateSubTasksOutOfFile(boolean updateSubTasksOutOfFile) {
+		this.updateSubTasksOutOfFile = updateSubTasksOutOfFile;
+	}
+
+	public long getStreamingThreshold() {
+		return streamingThreshold;
+	}
+
+	public void setStreamingThreshold(long streamingThreshold) {
+		this.streamingThreshold = streamingThreshold;
+	}
+
+	public int getJournalSyncBatchSize() {
+		return journalSyncBatchSize;
+	}
+
+	public void setJournalSyncBatchSize(int journalSyncBatchSize) {
+		this.journalSyncBatchSize = journalSyncBatchSize;
+	}
+
+	public int getInjectionThreads() {
+		return injectionThreads;
+	}
+
+	public void setInjectionThreads(int injectionThreads) {
+		this.injectionThreads = injectionThreads;
+	}
+
+	public int getBulkSize() {
+		return bulkSize;
+	}
+
+	public void setBulkSize(int bulkSize) {
+		this.bulkSize = bulkSize;
+	}
+}
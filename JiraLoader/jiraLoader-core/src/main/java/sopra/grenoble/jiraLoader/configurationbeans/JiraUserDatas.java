@@ -1,107 +1,438 @@
-package sopra.grenoble.jiraLoader.configurationbeans;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-
-@Component
-public class JiraUserDatas {
-
-	/**
-	 * Username used for the Jira connection
-	 */
-	@Value("${jira.username}")
-	private String username;
-
-	/**
-	 * Password used for the Jira connection
-	 */
-	@Value("${jira.password}")
-	private String password;
-
-	/**
-	 * The Jira URL endpoint
-	 */
-	@Value("${jira.uri}")
-	private String uri;
-
-	/**
-	 * The Jira project name to update 
-	 */
-	@Value("${project.name}")
-	private String projectName;
-	
-	
-	/**
-	 * The excel file path
-	 */
-	@Value("${excelFilePath}")
-	private String excelJiraFilePath;
-
-	@Value("${export}")
-	private boolean export;
-	
-	
-	/**
-	 * To create task and sub tasks, the program needs to rely these both elements
-	 * to a story. This parameter is used to keep in memory the last story used while the injection.
-	 */
-	private String lastStoryKey;
-
-	
-	
-	public String getUsername() {
-		return username;
-	}
-
-	public void setUsername(String username) {
-		this.username = username;
-	}
-
-	public String getPassword() {
-		return password;
-	}
-
-	public void setPassword(String password) {
-		this.password = password;
-	}
-
-	public String getUri() {
-		return uri;
-	}
-
-	public void setUri(String uri) {
-		this.uri = uri;
-	}
-
-	public String getProjectName() {
-		return projectName;
-	}
-
-	public void setProjectName(String projectName) {
-		this.projectName = projectName;
-	}
-
-	public String getLastStoryKey() {
-		return lastStoryKey;
-	}
-
-	public void setLastStoryKey(String lastStoryKey) {
-		this.lastStoryKey = lastStoryKey;
-	}
-
-	public String getExcelJiraFilePath() {
-		return excelJiraFilePath;
-	}
-
-	public void setExcelJiraFilePath(String excelJiraFilePath) {
-		this.excelJiraFilePath = excelJiraFilePath;
-	}
-
-	public boolean getExport() {
-		return export;
-	}
-
-	public void setExport(boolean export) {
-		this.export = export;
-	}
-}
+package sopra.grenoble.jiraLoader.configurationbeans;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class JiraUserDatas {
+
+	/**
+	 * Username used for the Jira connection
+	 */
+	@Value("${jira.username}")
+	private String username;
+
+	/**
+	 * Password used for the Jira connection
+	 */
+	@Value("${jira.password}")
+	private String password;
+
+	/**
+	 * The Jira URL endpoint
+	 */
+	@Value("${jira.uri}")
+	private String uri;
+
+	/**
+	 * The Jira project name to update 
+	 */
+	@Value("${project.name}")
+	private String projectName;
+	
+	
+	/**
+	 * The excel file path
+	 */
+	@Value("${excelFilePath}")
+	private String excelJiraFilePath;
+
+	@Value("${export}")
+	private boolean export;
+
+	/**
+	 * Projects of the worklog export, separated by commas. Empty to export only the project {@link #projectName}.
+	 */
+	@Value("${export.projects:}")
+	private String exportProjects;
+
+	/**
+	 * Max number of issues loaded at the same time from JIRA by the worklog export
+	 */
+	@Value("${export.threads:4}")
+	private int exportThreads;
+
+	/**
+	 * Format of the worklog export : xls (in memory, 65535 rows max) or xlsx (streamed)
+	 */
+	@Value("${export.format:xls}")
+	private String exportFormat;
+
+	/**
+	 * xlsx format : number of rows kept in memory, the other ones are flushed on disk
+	 */
+	@Value("${export.rowWindow:100}")
+	private int exportRowWindow;
+
+	/**
+	 * Max number of worklogs loaded from JIRA and waiting to be written in the export file
+	 */
+	@Value("${export.queueSize:1000}")
+	private int exportQueueSize;
+
+	/**
+	 * Only export the worklogs updated since the previous export, at the end of a csv file per project
+	 */
+	@Value("${export.incremental:false}")
+	private boolean exportIncremental;
+
+	/**
+	 * Incremental export : file of the update date of the last worklog exported, by project
+	 */
+	@Value("${export.stateFile:export-worklog-state.properties}")
+	private String exportStateFile;
+
+	/**
+	 * Incremental export : minutes between the end of the window of an export and its start.
+	 * The windows of two exports overlap by this margin, for the clock difference with the JIRA server
+	 */
+	@Value("${export.incrementalMargin:10}")
+	private int exportIncrementalMargin;
+
+	/**
+	 * Resume the interrupted injection of the excel file
+	 */
+	@Value("${resume:false}")
+	private boolean resume;
+
+	/**
+	 * Number of seconds a project (components, versions) is kept in cache. 0 to load the project on each call.
+	 */
+	@Value("${jira.project.cacheTtl:600}")
+	private int projectCacheTtl;
+
+	/**
+	 * Directory of the metadata snapshots, to start without waiting for JIRA. Empty to always load the metadata from JIRA.
+	 */
+	@Value("${jira.metadata.snapshotDir:}")
+	private String metadataSnapshotDir;
+
+	/**
+	 * Number of seconds a metadata snapshot is used before loading the metadata from JIRA again
+	 */
+	@Value("${jira.metadata.snapshotTtl:86400}")
+	private int metadataSnapshotTtl;
+
+	/**
+	 * Number of seconds between two refreshes of the metadata from JIRA, 0 to load them only once
+	 */
+	@Value("${jira.metadata.refreshPeriod:0}")
+	private int metadataRefreshPeriod;
+
+	/**
+	 * Max number of HTTP connections opened to JIRA
+	 */
+	@Value("${jira.http.maxConnections:20}")
+	private int httpMaxConnections;
+
+	/**
+	 * Max number of HTTP connections opened to the JIRA server, requests above wait for a free connection
+	 */
+	@Value("${jira.http.maxConnectionsPerHost:20}")
+	private int httpMaxConnectionsPerHost;
+
+	/**
+	 * Timeout of the opening of a HTTP connection, in ms. 0 for no timeout
+	 */
+	@Value("${jira.http.connectTimeout:10000}")
+	private int httpConnectTimeout;
+
+	/**
+	 * Timeout of the reading of a JIRA response, in ms. 0 for no timeout
+	 */
+	@Value("${jira.http.readTimeout:0}")
+	private int httpReadTimeout;
+
+	/**
+	 * Max time a request waits for a free HTTP connection, in ms. 0 for no timeout
+	 */
+	@Value("${jira.http.poolTimeout:0}")
+	private long httpPoolTimeout;
+
+	/**
+	 * Time an idle HTTP connection is kept alive for the next requests, in ms. 0 to keep it until JIRA closes it
+	 */
+	@Value("${jira.http.idleTimeout:60000}")
+	private int httpIdleTimeout;
+
+	/**
+	 * Check that a kept alive HTTP connection has not been closed by JIRA before using it
+	 */
+	@Value("${jira.http.staleCheck:true}")
+	private boolean httpStaleCheck;
+
+	/**
+	 * Number of threads executing the asynchronous JIRA calls, 0 for one thread per connection to the JIRA server
+	 */
+	@Value("${jira.http.ioThreads:0}")
+	private int httpIoThreads;
+
+	/**
+	 * Number of threads executing the asynchronous methods of the services, 0 for one thread per connection to the JIRA server
+	 */
+	@Value("${jira.async.threads:0}")
+	private int asyncThreads;
+
+	/**
+	 * Number of seconds between two logs of the state of the HTTP connection pool, 0 for no log
+	 */
+	@Value("${jira.http.statsPeriod:0}")
+	private int httpStatsPeriod;
+
+	
+	
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public void setUri(String uri) {
+		this.uri = uri;
+	}
+
+	public String getProjectName() {
+		return projectName;
+	}
+
+	public void setProjectName(String projectName) {
+		this.projectName = projectName;
+	}
+
+	public String getExcelJiraFilePath() {
+		return excelJiraFilePath;
+	}
+
+	public void setExcelJiraFilePath(String excelJiraFilePath) {
+		this.excelJiraFilePath = excelJiraFilePath;
+	}
+
+	public boolean getExport() {
+		return export;
+	}
+
+	public void setExport(boolean export) {
+		this.export = export;
+	}
+
+	public boolean getResume() {
+		return resume;
+	}
+
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	public int getProjectCacheTtl() {
+		return projectCacheTtl;
+	}
+
+	public void setProjectCacheTtl(int projectCacheTtl) {
+		this.projectCacheTtl = projectCacheTtl;
+	}
+
+	public String getMetadataSnapshotDir() {
+		return metadataSnapshotDir;
+	}
+
+	public void setMetadataSnapshotDir(String metadataSnapshotDir) {
+		this.metadataSnapshotDir = metadataSnapshotDir;
+	}
+
+	public int getMetadataSnapshotTtl() {
+		return metadataSnapshotTtl;
+	}
+
+	public void setMetadataSnapshotTtl(int metadataSnapshotTtl) {
+		this.metadataSnapshotTtl = metadataSnapshotTtl;
+	}
+
+	public int getMetadataRefreshPeriod() {
+		return metadataRefreshPeriod;
+	}
+
+	public void setMetadataRefreshPeriod(int metadataRefreshPeriod) {
+		this.metadataRefreshPeriod = metadataRefreshPeriod;
+	}
+
+	/**
+	 * @return the projects of the worklog export, without duplicates
+	 */
+	public List<String> getExportProjectList() {
+		Set<String> projects = new LinkedHashSet<>();
+		if (exportProjects != null) {
+			for (String project : exportProjects.split(",")) {
+				if (!project.trim().isEmpty()) {
+					projects.add(project.trim());
+				}
+			}
+		}
+		if (projects.isEmpty()) {
+			projects.add(projectName);
+		}
+		return new ArrayList<>(projects);
+	}
+
+	public String getExportProjects() {
+		return exportProjects;
+	}
+
+	public void setExportProjects(String exportProjects) {
+		this.exportProjects = exportProjects;
+	}
+
+	public int getExportThreads() {
+		return exportThreads;
+	}
+
+	public void setExportThreads(int exportThreads) {
+		this.exportThreads = exportThreads;
+	}
+
+	public String getExportFormat() {
+		return exportFormat;
+	}
+
+	public void setExportFormat(String exportFormat) {
+		this.exportFormat = exportFormat;
+	}
+
+	public int getExportRowWindow() {
+		return exportRowWindow;
+	}
+
+	public void setExportRowWindow(int exportRowWindow) {
+		this.exportRowWindow = exportRowWindow;
+	}
+
+	public int getExportQueueSize() {
+		return exportQueueSize;
+	}
+
+	public void setExportQueueSize(int exportQueueSize) {
+		this.exportQueueSize = exportQueueSize;
+	}
+
+	public boolean isExportIncremental() {
+		return exportIncremental;
+	}
+
+	public void setExportIncremental(boolean exportIncremental) {
+		this.exportIncremental = exportIncremental;
+	}
+
+	public String getExportStateFile() {
+		return exportStateFile;
+	}
+
+	public void setExportStateFile(String exportStateFile) {
+		this.exportStateFile = exportStateFile;
+	}
+
+	public int getExportIncrementalMargin() {
+		return exportIncrementalMargin;
+	}
+
+	public void setExportIncrementalMargin(int exportIncrementalMargin) {
+		this.exportIncrementalMargin = exportIncrementalMargin;
+	}
+
+	public int getHttpMaxConnections() {
+		return httpMaxConnections;
+	}
+
+	public void setHttpMaxConnections(int httpMaxConnections) {
+		this.httpMaxConnections = httpMaxConnections;
+	}
+
+	public int getHttpMaxConnectionsPerHost() {
+		return httpMaxConnectionsPerHost;
+	}
+
+	public void setHttpMaxConnectionsPerHost(int httpMaxConnectionsPerHost) {
+		this.httpMaxConnectionsPerHost = httpMaxConnectionsPerHost;
+	}
+
+	public int getHttpConnectTimeout() {
+		return httpConnectTimeout;
+	}
+
+	public void setHttpConnectTimeout(int httpConnectTimeout) {
+		this.httpConnectTimeout = httpConnectTimeout;
+	}
+
+	public int getHttpReadTimeout() {
+		return httpReadTimeout;
+	}
+
+	public void setHttpReadTimeout(int httpReadTimeout) {
+		this.httpReadTimeout = httpReadTimeout;
+	}
+
+	public long getHttpPoolTimeout() {
+		return httpPoolTimeout;
+	}
+
+	public void setHttpPoolTimeout(long httpPoolTimeout) {
+		this.httpPoolTimeout = httpPoolTimeout;
+	}
+
+	public int getHttpIdleTimeout() {
+		return httpIdleTimeout;
+	}
+
+	public void setHttpIdleTimeout(int httpIdleTimeout) {
+		this.httpIdleTimeout = httpIdleTimeout;
+	}
+
+	public boolean isHttpStaleCheck() {
+		return httpStaleCheck;
+	}
+
+	public void setHttpStaleCheck(boolean httpStaleCheck) {
+		this.httpStaleCheck = httpStaleCheck;
+	}
+
+	public int getHttpIoThreads() {
+		return httpIoThreads;
+	}
+
+	public void setHttpIoThreads(int httpIoThreads) {
+		this.httpIoThreads = httpIoThreads;
+	}
+
+	public int getAsyncThreads() {
+		return asyncThreads;
+	}
+
+	public void setAsyncThreads(int asyncThreads) {
+		this.asyncThreads = asyncThreads;
+	}
+
+	public int getHttpStatsPeriod() {
+		return httpStatsPeriod;
+	}
+
+	public void setHttpStatsPeriod(int httpStatsPeriod) {
+		this.httpStatsPeriod = httpStatsPeriod;
+	}
+}
@@ -1,124 +1,213 @@
-package sopra.grenoble.jiraLoader.excel.dto;
-
-import org.apache.poi.ss.usermodel.Row;
-import org.codehaus.jackson.map.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import sopra.grenoble.jiraLoader.excel.loaders.ExcelRowUtils;
-import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * @author cmouilleron
- */
-public abstract class GenericModel {
-
-    /**
-     * Default logger
-     */
-    private static final Logger LOG = LoggerFactory.getLogger(GenericModel.class);
-
-    public String key;
-    public String typeDemande;
-    public String epicName;
-    public String versionName;
-    public String resume;
-    public String clientReference;
-    public String descriptif;
-    public String priority;
-    public String composantName;
-    public String estimation;
-    public String versionCorrected;
-    public String linkTargetName;
-
-    /**
-     * @param key
-     * @param typeDemande
-     * @param epicName
-     * @param versionName
-     * @param resume
-     * @param clientReference
-     * @param descriptif
-     * @param priority
-     * @param composantName
-     * @param estimation
-     */
-    public GenericModel(String key, String typeDemande, String epicName, String versionName, String clientReference, String resume,
-                        String descriptif, String priority, String composantName, String estimation, String versionCorrected, String linkTargetName) {
-        super();
-        this.key = key;
-        this.typeDemande = typeDemande;
-        this.epicName = epicName;
-        this.versionName = versionName;
-        this.clientReference = clientReference;
-        this.resume = resume;
-        this.descriptif = descriptif;
-        this.priority = priority;
-        this.composantName = composantName;
-        this.estimation = estimation;
-        this.versionCorrected = versionCorrected;
-    }
-
-    /**
-     * Default construtor
-     */
-    public GenericModel() {
-        super();
-    }
-
-    /***
-     * Constructor based on {@link Row}
-     * @param row
-     */
-    public void loadRow(Row row, XslsFileReaderAndWriter excelLoader) {
-        this.key = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "ID")).orElse(null);
-        this.typeDemande = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Type de demande")).orElse(null);
-        this.epicName = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Epics")).orElse(null);
-        this.versionName = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Version affectée")).orElse(null);
-
-        if (XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Version corrigée") != -1) {
-            this.versionCorrected = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Version corrigée")).orElse(null);
-        }
-        // when findColumnNumber return -1, that means there is not column with "ColumnName" (Référence Client here).
-        if (XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Référence Client") != -1) {
-            this.clientReference = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Référence Client")).orElse(null);
-        }
-        this.resume = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Résumé")).orElse(null);
-        this.descriptif = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Descriptif")).orElse(null);
-        this.priority = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Priorité")).orElse(null);
-        this.composantName = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Composant")).orElse(null);
-        this.estimation = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Estimation Originale")).orElse(null);
-
-        if (XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Lien") != -1) {
-            this.linkTargetName = ExcelRowUtils.getStringValueFromRow(row, XslsFileReaderAndWriter.findColumnNumber(excelLoader, "Lien")).orElse(null);
-        }
-
-        if ("Story".equals(this.typeDemande) && this.clientReference != null) {
-            StringBuilder stringBuilder = new StringBuilder();
-            stringBuilder.append(this.clientReference + " | " + this.resume);
-            this.resume = stringBuilder.toString();
-        }
-    }
-
-    @Override
-    public String toString() {
-        ObjectMapper objMap = new ObjectMapper();
-        try {
-            return objMap.writeValueAsString(this);
-        } catch (IOException e) {
-            LOG.warn("Unable to parse dto object in JSON", e);
-        }
-        return "";
-    }
-
-    /**
-     * Validate the file
-     *
-     * @return
-     */
-    public abstract boolean validate();
-
-}
+package sopra.grenoble.jiraLoader.excel.dto;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sopra.grenoble.jiraLoader.excel.loaders.ColumnIndex;
+import sopra.grenoble.jiraLoader.excel.loaders.ExcelRowUtils;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author cmouilleron
+ */
+public abstract class GenericModel {
+
+    /**
+     * Default logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(GenericModel.class);
+
+    public String key;
+    public String typeDemande;
+    public String epicName;
+    public String versionName;
+    public String resume;
+    public String clientReference;
+    public String descriptif;
+    public String priority;
+    public String composantName;
+    public String estimation;
+    public String versionCorrected;
+    public String linkTargetName;
+
+    /**
+     * Position of the row in the Import sheet, -1 if the DTO has not been read from a sheet
+     */
+    public int rowNumber = -1;
+
+    /**
+     * @param key
+     * @param typeDemande
+     * @param epicName
+     * @param versionName
+     * @param resume
+     * @param clientReference
+     * @param descriptif
+     * @param priority
+     * @param composantName
+     * @param estimation
+     */
+    public GenericModel(String key, String typeDemande, String epicName, String versionName, String clientReference, String resume,
+                        String descriptif, String priority, String composantName, String estimation, String versionCorrected, String linkTargetName) {
+        super();
+        this.key = key;
+        this.typeDemande = typeDemande;
+        this.epicName = epicName;
+        this.versionName = versionName;
+        this.clientReference = clientReference;
+        this.resume = resume;
+        this.descriptif = descriptif;
+        this.priority = priority;
+        this.composantName = composantName;
+        this.estimation = estimation;
+        this.versionCorrected = versionCorrected;
+    }
+
+    /**
+     * Default construtor
+     */
+    public GenericModel() {
+        super();
+    }
+
+    /***
+     * Constructor based on {@link Row}
+     * @param row
+     */
+    public void loadRow(Row row, XslsFileReaderAndWriter excelLoader) {
+        loadRow(row, excelLoader.getColumnIndex());
+    }
+
+    /***
+     * Constructor based on {@link Row}. Column positions are read from the {@link ColumnIndex} of the sheet.
+     * @param row
+     * @param columnIndex
+     */
+    public void loadRow(Row row, ColumnIndex columnIndex) {
+        this.rowNumber = row.getRowNum();
+        loadColumns(columnName -> getStringValue(row, columnIndex, columnName));
+    }
+
+    /***
+     * Constructor based on the values of a row read in streaming mode.
+     * @param rowNumber : position of the row in the sheet
+     * @param values : row values, indexed by column position
+     * @param columnIndex
+     */
+    public void loadValues(int rowNumber, String[] values, ColumnIndex columnIndex) {
+        this.rowNumber = rowNumber;
+        loadColumns(columnName -> getStringValue(values, columnIndex, columnName));
+    }
+
+    /**
+     * Load all the DTO fields
+     * @param columnValue : function returning the value of a column, or null
+     */
+    private void loadColumns(Function<String, String> columnValue) {
+        this.key = columnValue.apply("ID");
+        this.typeDemande = columnValue.apply("Type de demande");
+        this.epicName = columnValue.apply("Epics");
+        this.versionName = columnValue.apply("Version affectée");
+        this.versionCorrected = columnValue.apply("Version corrigée");
+        this.clientReference = columnValue.apply("Référence Client");
+        this.resume = columnValue.apply("Résumé");
+        this.descriptif = columnValue.apply("Descriptif");
+        this.priority = columnValue.apply("Priorité");
+        this.composantName = columnValue.apply("Composant");
+        this.estimation = columnValue.apply("Estimation Originale");
+        this.linkTargetName = columnValue.apply("Lien");
+
+        if ("Story".equals(this.typeDemande) && this.clientReference != null) {
+            StringBuilder stringBuilder = new StringBuilder();
+            stringBuilder.append(this.clientReference + " | " + this.resume);
+            this.resume = stringBuilder.toString();
+        }
+    }
+
+    /**
+     * Return the cell value of the column, or null when the cell is empty or when the column doesn't exist in the sheet.
+     * @param row
+     * @param columnIndex
+     * @param columnName
+     * @return {@link String} or null
+     */
+    private static String getStringValue(Row row, ColumnIndex columnIndex, String columnName) {
+        int columnPosition = columnIndex.getPosition(columnName);
+        if (columnPosition == ColumnIndex.NOT_FOUND) {
+            return null;
+        }
+        return ExcelRowUtils.getStringValueFromRow(row, columnPosition).orElse(null);
+    }
+
+    /**
+     * Return the value of the column, or null when the value is empty or when the column doesn't exist in the sheet.
+     * @param values
+     * @param columnIndex
+     * @param columnName
+     * @return {@link String} or null
+     */
+    private static String getStringValue(String[] values, ColumnIndex columnIndex, String columnName) {
+        int columnPosition = columnIndex.getPosition(columnName);
+        if (columnPosition == ColumnIndex.NOT_FOUND || columnPosition >= values.length) {
+            return null;
+        }
+        String value = values[columnPosition];
+        return (value != null && value.length() != 0) ? value : null;
+    }
+
+    /**
+     * Fingerprint of the row content, used to detect the rows modified between two injections.
+     * The key is not part of the fingerprint : it is written in the file by the injection.
+     * @return SHA-1 of the column values, in hexadecimal
+     */
+    public String fingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String[] values = {typeDemande, epicName, versionName, versionCorrected, clientReference, resume, descriptif, priority,
+                composantName, estimation, linkTargetName};
+        for (String value : values) {
+            if (value != null) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+            // separator, so that ("ab", null) and ("a", "b") are different
+            digest.update((byte) 0);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public String toString() {
+        ObjectMapper objMap = new ObjectMapper();
+        try {
+            return objMap.writeValueAsString(this);
+        } catch (IOException e) {
+            LOG.warn("Unable to parse dto object in JSON", e);
+        }
+        return "";
+    }
+
+    /**
+     * Validate the file
+     *
+     * @return
+     */
+    public abstract boolean validate();
+
+}
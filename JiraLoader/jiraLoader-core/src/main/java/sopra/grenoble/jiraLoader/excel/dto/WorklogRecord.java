@@ -0,0 +1,138 @@
+package sopra.grenoble.jiraLoader.excel.dto;
+
+import com.atlassian.jira.rest.client.domain.Issue;
+import com.atlassian.jira.rest.client.domain.Worklog;
+import org.joda.time.DateTime;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A row of the worklog export : a worklog with the attributes of its issue used in the export.
+ * Only this data is kept, not the whole issue.
+ */
+public final class WorklogRecord {
+
+	/**
+	 * Titles of the columns of the export
+	 */
+	public static final List<String> COLUMNS = Collections.unmodifiableList(
+			Arrays.asList("Issue", "Summary", "Author", "Comment", "Time spent", "RAE", "Update date"));
+
+	private final String worklogId;
+	private final String issueKey;
+	private final String issueSummary;
+	private final String author;
+	private final String comment;
+	private final Integer minutesSpent;
+	private final Integer remainingEstimateMinutes;
+	private final DateTime updateDate;
+
+	public WorklogRecord(String issueKey, String issueSummary, String author, String comment, Integer minutesSpent,
+			Integer remainingEstimateMinutes, DateTime updateDate) {
+		this(null, issueKey, issueSummary, author, comment, minutesSpent, remainingEstimateMinutes, updateDate);
+	}
+
+	public WorklogRecord(String worklogId, String issueKey, String issueSummary, String author, String comment, Integer minutesSpent,
+			Integer remainingEstimateMinutes, DateTime updateDate) {
+		super();
+		this.worklogId = worklogId;
+		this.issueKey = issueKey;
+		this.issueSummary = issueSummary;
+		this.author = author;
+		this.comment = comment;
+		this.minutesSpent = minutesSpent;
+		this.remainingEstimateMinutes = remainingEstimateMinutes;
+		this.updateDate = updateDate;
+	}
+
+	/**
+	 * @param issue
+	 * @param worklog : a worklog of the issue
+	 * @return the record of the worklog
+	 */
+	public static WorklogRecord of(Issue issue, Worklog worklog) {
+		String worklogId = (worklog.getSelf() != null) ? worklog.getSelf().getPath().replaceFirst(".*/", "") : null;
+		return new WorklogRecord(worklogId, issue.getKey(), issue.getSummary(), worklog.getUpdateAuthor().getDisplayName(), worklog.getComment(),
+				worklog.getMinutesSpent(), (issue.getTimeTracking() != null) ? issue.getTimeTracking().getRemainingEstimateMinutes() : null,
+				worklog.getUpdateDate());
+	}
+
+	/**
+	 * @return id of the worklog in JIRA, null if unknown
+	 */
+	public String getWorklogId() {
+		return worklogId;
+	}
+
+	/**
+	 * @return the id of the worklog with its update date : a worklog updated again has another revision, null if the id is unknown
+	 */
+	public String getRevision() {
+		return (worklogId != null && updateDate != null) ? worklogId + "@" + updateDate.getMillis() : null;
+	}
+
+	public String getIssueKey() {
+		return issueKey;
+	}
+
+	public String getIssueSummary() {
+		return issueSummary;
+	}
+
+	/**
+	 * @return display name of the last author of the worklog
+	 */
+	public String getAuthor() {
+		return author;
+	}
+
+	public String getComment() {
+		return comment;
+	}
+
+	/**
+	 * @return time spent of the worklog, null if not set
+	 */
+	public Integer getMinutesSpent() {
+		return minutesSpent;
+	}
+
+	/**
+	 * @return remaining estimate of the issue, null if not set
+	 */
+	public Integer getRemainingEstimateMinutes() {
+		return remainingEstimateMinutes;
+	}
+
+	public DateTime getUpdateDate() {
+		return updateDate;
+	}
+
+	/**
+	 * @return the values of the columns {@link #COLUMNS}, as written in the export
+	 */
+	public List<String> toCells() {
+		return Arrays.asList(issueKey, issueSummary, author, comment, formatDuration(minutesSpent, "No time spent set"),
+				formatDuration(remainingEstimateMinutes, "No RAE set"), (updateDate != null) ? updateDate.toString().substring(0, 10) : null);
+	}
+
+	/**
+	 * @param minutes
+	 * @param notSet : value if minutes is null
+	 * @return the duration as 2h, 45m or 2h45m
+	 */
+	public static String formatDuration(Integer minutes, String notSet) {
+		if (minutes == null) {
+			return notSet;
+		}
+		if (minutes % 60 == 0) {
+			return minutes / 60 + "h";
+		}
+		if (minutes < 60) {
+			return minutes + "m";
+		}
+		return minutes / 60 + "h" + minutes % 60 + "m";
+	}
+}
@@ -0,0 +1,105 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the header row of a sheet : column name => column position.
+ * The index is built once when a sheet is opened, so looking up a cell by its column name
+ * does not read and scan the header row again for each cell.
+ */
+public class ColumnIndex {
+
+	/**
+	 * Position returned when a column does not exist in the sheet
+	 */
+	public static final int NOT_FOUND = -1;
+
+	/**
+	 * Index used when the sheet has no header row
+	 */
+	public static final ColumnIndex EMPTY = new ColumnIndex(Collections.emptyMap());
+
+	private final Map<String, Integer> positionByName;
+
+	/**
+	 * Default constructor
+	 * @param positionByName : column name => column position
+	 */
+	public ColumnIndex(Map<String, Integer> positionByName) {
+		super();
+		this.positionByName = Collections.unmodifiableMap(new HashMap<>(positionByName));
+	}
+
+	/**
+	 * Build the index from the header row. Empty or non text cells are ignored.
+	 * If the same name is used twice, the last column wins.
+	 * @param headerRow
+	 * @return {@link ColumnIndex}
+	 */
+	public static ColumnIndex fromRow(Row headerRow) {
+		if (headerRow == null) {
+			return EMPTY;
+		}
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < headerRow.getLastCellNum(); i++) {
+			Cell cell = headerRow.getCell(i);
+			if (cell == null || cell.getCellType() != Cell.CELL_TYPE_STRING) {
+				continue;
+			}
+			String columnName = cell.getStringCellValue();
+			if (columnName.length() != 0) {
+				positions.put(columnName, i);
+			}
+		}
+		return new ColumnIndex(positions);
+	}
+
+	/**
+	 * Build the index from the header values read in streaming mode. Null or empty values are ignored.
+	 * If the same name is used twice, the last column wins.
+	 * @param headerValues : header row values, indexed by column position
+	 * @return {@link ColumnIndex}
+	 */
+	public static ColumnIndex fromValues(String[] headerValues) {
+		if (headerValues == null) {
+			return EMPTY;
+		}
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < headerValues.length; i++) {
+			String columnName = headerValues[i];
+			if (columnName != null && columnName.length() != 0) {
+				positions.put(columnName, i);
+			}
+		}
+		return new ColumnIndex(positions);
+	}
+
+	/**
+	 * @param columnName
+	 * @return the column position or {@link #NOT_FOUND} if the column doesn't exist.
+	 */
+	public int getPosition(String columnName) {
+		Integer position = positionByName.get(columnName);
+		return (position != null) ? position : NOT_FOUND;
+	}
+
+	/**
+	 * @param columnName
+	 * @return true if the column exists in the sheet
+	 */
+	public boolean contains(String columnName) {
+		return positionByName.containsKey(columnName);
+	}
+
+	/**
+	 * @return the number of named columns
+	 */
+	public int size() {
+		return positionByName.size();
+	}
+}
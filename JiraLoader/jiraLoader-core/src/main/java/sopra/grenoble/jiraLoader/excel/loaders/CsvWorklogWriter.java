@@ -0,0 +1,130 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Write the worklog export at the end of a csv file, to keep a rolling export across the runs.
+ * The rows are written in a temporary file next to the csv file, added at the end of the csv file when the writer is closed :
+ * the rows of an aborted export ({@link #abort()}) are not added, so the export can be done again without duplicated rows.
+ * The header is written only when the file is created, and the file is not created if there is no row to write.
+ * The values are separated by ';' and the file is encoded in UTF-8 with a BOM, as expected by Excel.
+ */
+public class CsvWorklogWriter implements IWorklogWriter {
+
+	private static final char SEPARATOR = ';';
+	private static final char BOM = '\uFEFF';
+
+	private final File file;
+	private Path tmpFile;
+	private Writer out;
+	private int rowCount = 0;
+
+	/**
+	 * Default constructor
+	 * @param file : csv file, created if it doesn't exist
+	 */
+	public CsvWorklogWriter(File file) {
+		super();
+		this.file = file;
+	}
+
+	@Override
+	public void write(WorklogRecord record) throws IOException {
+		if (out == null) {
+			tmpFile = ExcelFileUtils.createTempFileNextTo(file);
+			out = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8);
+		}
+		writeLine(out, record.toCells());
+		rowCount++;
+	}
+
+	private static void writeLine(Writer out, List<String> values) throws IOException {
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				out.write(SEPARATOR);
+			}
+			out.write(escape(values.get(i)));
+		}
+		out.write("\r\n");
+	}
+
+	/**
+	 * @param value
+	 * @return the value quoted if it contains a separator, a quote or a line break
+	 */
+	static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(SEPARATOR) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * @return the file written
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Add the rows written at the end of the csv file
+	 */
+	@Override
+	public void close() throws IOException {
+		if (out == null) {
+			return;
+		}
+		try {
+			out.close();
+			boolean newFile = file.length() == 0;
+			try (OutputStream target = new FileOutputStream(file, true)) {
+				if (newFile) {
+					Writer header = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+					header.write(BOM);
+					writeLine(header, WorklogRecord.COLUMNS);
+					header.flush();
+				}
+				Files.copy(tmpFile, target);
+			}
+		} finally {
+			out = null;
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	/**
+	 * Drop the rows written : the csv file is not modified
+	 */
+	@Override
+	public void abort() throws IOException {
+		if (out == null) {
+			return;
+		}
+		try {
+			out.close();
+		} finally {
+			out = null;
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+}
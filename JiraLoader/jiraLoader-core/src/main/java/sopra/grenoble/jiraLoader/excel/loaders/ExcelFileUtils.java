@@ -0,0 +1,46 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Helpers to replace an excel file without leaving a truncated file if the program dies while writing.
+ */
+public class ExcelFileUtils {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ExcelFileUtils.class);
+
+	/**
+	 * Create a temporary file in the directory of the excel file, so it can be renamed over it.
+	 * @param excelFile
+	 * @return {@link Path}
+	 * @throws IOException
+	 */
+	public static Path createTempFileNextTo(File excelFile) throws IOException {
+		Path target = excelFile.toPath().toAbsolutePath();
+		return Files.createTempFile(target.getParent(), excelFile.getName(), ".tmp");
+	}
+
+	/**
+	 * Rename the temporary file over the excel file. The rename is atomic when the file system supports it.
+	 * @param tmpFile
+	 * @param excelFile
+	 * @throws IOException
+	 */
+	public static void replaceFile(Path tmpFile, File excelFile) throws IOException {
+		Path target = excelFile.toPath().toAbsolutePath();
+		try {
+			Files.move(tmpFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			LOG.warn("Atomic move is not supported for " + target + ", the file is replaced");
+			Files.move(tmpFile, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,290 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The excel file opened for an import. The file is opened and parsed once, and the session serves
+ * the Configuration sheet, the validation and the injection of the Import sheet.
+ *
+ * Two modes are available :
+ * <li> DOM mode : the workbook is loaded in memory with {@link XslsFileReaderAndWriter}
+ * <li> streaming mode : for big files, the sheets are parsed with {@link XslsStreamingReader} and the keys are written with {@link XslsKeyWriter}
+ *
+ * The keys saved during the injection are appended in a {@link KeyJournal} and merged in the workbook by a background thread.
+ * The excel file is written when the session is closed, then the journal is deleted. If the program dies before,
+ * the journal is replayed when the file is opened again.
+ */
+public class ExcelWorkbookSession implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ExcelWorkbookSession.class);
+
+	public static final String IMPORT_SHEET_NAME = "Import";
+
+	public static final String CONFIGURATION_SHEET_NAME = "Configuration";
+
+	/**
+	 * Default number of keys written in the journal between two disk synchronizations
+	 */
+	public static final int DEFAULT_JOURNAL_SYNC_BATCH_SIZE = 20;
+
+	private static final long MERGE_TIMEOUT_MINUTES = 5;
+
+	private final File excelFile;
+
+	/**
+	 * DOM mode reader, null in streaming mode
+	 */
+	private final XslsFileReaderAndWriter excelLoader;
+
+	/**
+	 * Streaming mode workbook, null in DOM mode
+	 */
+	private final XslsStreamingWorkbook streamingWorkbook;
+
+	/**
+	 * Streaming mode : keys to write when the session is closed. Only used by the merge thread.
+	 */
+	private final Map<Integer, String> keysByRow = new TreeMap<>();
+
+	/**
+	 * Thread which merges the saved keys in the workbook
+	 */
+	private final ExecutorService mergeExecutor = Executors.newSingleThreadExecutor((runnable) -> {
+		Thread thread = new Thread(runnable, "excel-key-merger");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private KeyJournal journal;
+
+	private int importSheetIndex = -1;
+	private int configurationSheetIndex = -1;
+
+	private ExcelWorkbookSession(File excelFile, XslsFileReaderAndWriter excelLoader, XslsStreamingWorkbook streamingWorkbook) {
+		super();
+		this.excelFile = excelFile;
+		this.excelLoader = excelLoader;
+		this.streamingWorkbook = streamingWorkbook;
+	}
+
+	/**
+	 * Open the excel file and check that the Import and Configuration sheets exist.
+	 * @param excelFile
+	 * @param streamingThreshold : files bigger than this size (in bytes) are opened in streaming mode
+	 * @return {@link ExcelWorkbookSession}
+	 * @throws IOException if the file is not an excel file or if a sheet is missing
+	 */
+	public static ExcelWorkbookSession open(File excelFile, long streamingThreshold) throws IOException {
+		return open(excelFile, streamingThreshold, DEFAULT_JOURNAL_SYNC_BATCH_SIZE);
+	}
+
+	/**
+	 * Open the excel file and check that the Import and Configuration sheets exist.
+	 * The keys of an interrupted injection are first written in the file.
+	 * @param excelFile
+	 * @param streamingThreshold : files bigger than this size (in bytes) are opened in streaming mode
+	 * @param journalSyncBatchSize : number of keys written in the journal between two disk synchronizations
+	 * @return {@link ExcelWorkbookSession}
+	 * @throws IOException if the file is not an excel file or if a sheet is missing
+	 */
+	public static ExcelWorkbookSession open(File excelFile, long streamingThreshold, int journalSyncBatchSize) throws IOException {
+		recoverJournal(excelFile);
+
+		ExcelWorkbookSession session;
+		if (excelFile != null && excelFile.length() >= streamingThreshold) {
+			LOG.info("The excel file size is " + excelFile.length() + " bytes : the file is read in streaming mode");
+			XslsStreamingWorkbook workbook = XslsStreamingWorkbook.open(excelFile);
+			session = new ExcelWorkbookSession(excelFile, null, workbook);
+			try {
+				session.checkSheetExists(workbook.getSheetNames().contains(IMPORT_SHEET_NAME), IMPORT_SHEET_NAME);
+				session.checkSheetExists(workbook.getSheetNames().contains(CONFIGURATION_SHEET_NAME), CONFIGURATION_SHEET_NAME);
+			} catch (IOException e) {
+				workbook.close();
+				throw e;
+			}
+		} else {
+			XslsFileReaderAndWriter loader = new XslsFileReaderAndWriter(excelFile);
+			session = new ExcelWorkbookSession(excelFile, loader, null);
+			session.importSheetIndex = loader.getSheetIndex(IMPORT_SHEET_NAME);
+			session.configurationSheetIndex = loader.getSheetIndex(CONFIGURATION_SHEET_NAME);
+			session.checkSheetExists(session.importSheetIndex != -1, IMPORT_SHEET_NAME);
+			session.checkSheetExists(session.configurationSheetIndex != -1, CONFIGURATION_SHEET_NAME);
+		}
+		session.journal = new KeyJournal(excelFile, journalSyncBatchSize);
+		return session;
+	}
+
+	/**
+	 * Write in the excel file the keys of the journal left by an interrupted injection
+	 * @param excelFile
+	 * @throws IOException
+	 */
+	private static void recoverJournal(File excelFile) throws IOException {
+		if (excelFile == null || !KeyJournal.getJournalFile(excelFile).isFile()) {
+			return;
+		}
+		Map<Integer, String> recoveredKeys = KeyJournal.readEntries(excelFile);
+		if (!recoveredKeys.isEmpty()) {
+			LOG.warn("The previous injection has been interrupted : " + recoveredKeys.size() + " key(s) are recovered from "
+					+ KeyJournal.getJournalFile(excelFile));
+			XslsKeyWriter.writeKeys(excelFile, IMPORT_SHEET_NAME, recoveredKeys);
+		}
+		KeyJournal.delete(excelFile);
+	}
+
+	private void checkSheetExists(boolean exists, String sheetName) throws FileNotFoundException {
+		if (!exists) {
+			LOG.error("The sheet <" + sheetName + "> does not exist in the excel file");
+			throw new FileNotFoundException("The sheet <" + sheetName + "> does not exist in the excel file");
+		}
+	}
+
+	/**
+	 * @return the excel file
+	 */
+	public File getExcelFile() {
+		return excelFile;
+	}
+
+	/**
+	 * @return true if the file is read in streaming mode
+	 */
+	public boolean isStreaming() {
+		return streamingWorkbook != null;
+	}
+
+	/**
+	 * @return a reader on the Configuration sheet
+	 * @throws IOException
+	 */
+	public IExcelCellReader openConfigurationSheet() throws IOException {
+		if (isStreaming()) {
+			return XslsStreamingReader.readSheet(streamingWorkbook, CONFIGURATION_SHEET_NAME);
+		}
+		excelLoader.openSheet(configurationSheetIndex);
+		return excelLoader;
+	}
+
+	/**
+	 * DOM mode only
+	 * @return the reader of the workbook
+	 */
+	public XslsFileReaderAndWriter getExcelLoader() {
+		if (isStreaming()) {
+			throw new IllegalStateException("The excel file is read in streaming mode");
+		}
+		return excelLoader;
+	}
+
+	/**
+	 * DOM mode only
+	 * @return the position of the Import sheet
+	 */
+	public int getImportSheetIndex() {
+		return importSheetIndex;
+	}
+
+	/**
+	 * Start the reading of the Import sheet. The reader has to be closed.
+	 * @param dtoFactory : return an empty DTO for a "Type de demande", or null if the type is not supported
+	 * @return {@link IImportRowReader}
+	 * @throws IOException
+	 */
+	public IImportRowReader readImportSheet(Function<String, ? extends GenericModel> dtoFactory) throws IOException {
+		if (isStreaming()) {
+			return new XslsStreamingReader(streamingWorkbook, IMPORT_SHEET_NAME, dtoFactory);
+		}
+		return excelLoader.readModels(importSheetIndex, dtoFactory);
+	}
+
+	/**
+	 * Save the JIRA key of a row in the first column of the Import sheet.
+	 * The key is appended in the journal, then merged in the workbook by the merge thread.
+	 * The excel file is written when the session is closed.
+	 * @param rowNumber
+	 * @param key
+	 */
+	public void saveKey(int rowNumber, String key) {
+		try {
+			journal.append(rowNumber, key);
+		} catch (IOException e) {
+			LOG.error("Unable to write the key " + key + " of the row <" + rowNumber + "> in the journal " + journal.getFile(), e);
+		}
+		mergeExecutor.execute(() -> {
+			if (isStreaming()) {
+				keysByRow.put(rowNumber, key);
+			} else {
+				excelLoader.writeStringCellContent(importSheetIndex, rowNumber, 0, key);
+			}
+		});
+	}
+
+	/**
+	 * Close the excel file and write the updates. The journal is deleted once the excel file is written.
+	 * The workbook is only written once the merge thread has terminated : if the keys are not all merged in time,
+	 * the workbook is not written and the keys are merged from the journal on the next opening.
+	 */
+	@Override
+	public void close() {
+		boolean allKeysMerged = false;
+		mergeExecutor.shutdown();
+		try {
+			allKeysMerged = mergeExecutor.awaitTermination(MERGE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!allKeysMerged) {
+			// the merge thread may still be writing in the workbook, which is not thread-safe
+			mergeExecutor.shutdownNow();
+		}
+
+		try {
+			journal.close();
+		} catch (IOException e) {
+			LOG.warn("Unable to synchronize the journal " + journal.getFile(), e);
+		}
+
+		if (!allKeysMerged) {
+			if (isStreaming()) {
+				streamingWorkbook.close();
+			}
+			LOG.error("All the JIRA keys have not been merged in time, the excel file is not written. They are kept in " + journal.getFile()
+					+ " and will be written in the excel file when it is opened again");
+			return;
+		}
+
+		boolean saved = false;
+		try {
+			if (isStreaming()) {
+				streamingWorkbook.close();
+				XslsKeyWriter.writeKeys(excelFile, IMPORT_SHEET_NAME, keysByRow);
+			} else {
+				excelLoader.saveFile();
+			}
+			saved = true;
+		} catch (IOException e) {
+			LOG.error("Unable to write the JIRA keys in the excel file. They are kept in " + journal.getFile(), e);
+		}
+
+		if (saved) {
+			try {
+				KeyJournal.delete(excelFile);
+			} catch (IOException e) {
+				LOG.warn("Unable to delete the journal " + journal.getFile(), e);
+			}
+		}
+	}
+}
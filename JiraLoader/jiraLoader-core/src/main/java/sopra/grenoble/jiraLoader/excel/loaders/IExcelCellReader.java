@@ -0,0 +1,26 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import java.util.Optional;
+
+/**
+ * Read access to the cells of a sheet, used to load the Configuration sheet.
+ * Implemented by the DOM reader ({@link XslsFileReaderAndWriter}) and by the sheets read in streaming mode ({@link SheetContent}).
+ */
+public interface IExcelCellReader {
+
+	/**
+	 * Read the content of a specific cell. Result can be empty.
+	 * @param linePosition
+	 * @param columPosition
+	 * @return {@link Optional}
+	 */
+	Optional<Integer> readIntegerCellContent(int linePosition, int columPosition);
+
+	/**
+	 * Read the content of a specific cell. Result can be empty.
+	 * @param linePosition
+	 * @param columPosition
+	 * @return {@link Optional}
+	 */
+	Optional<Boolean> readBooleanCellContent(int linePosition, int columPosition);
+}
@@ -0,0 +1,24 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Reader of the data rows of the Import sheet. Each row is returned as a new {@link GenericModel}.
+ * The reading stops at the first row without "Type de demande".
+ */
+public interface IImportRowReader extends Iterator<GenericModel>, Closeable {
+
+	/**
+	 * @return the position (as {@link org.apache.poi.ss.usermodel.Row#getRowNum()}) of the last row returned by {@link #next()}
+	 */
+	int getRowNumber();
+
+	/**
+	 * Release the resources used by the reader
+	 */
+	@Override
+	void close();
+}
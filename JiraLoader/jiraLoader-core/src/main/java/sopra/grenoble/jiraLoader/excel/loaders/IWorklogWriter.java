@@ -0,0 +1,40 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writer of the worklog export. The rows are written in the order of the calls, the output is complete when the writer is closed.
+ */
+public interface IWorklogWriter extends Closeable {
+
+	/**
+	 * Write a row
+	 * @param record
+	 * @throws IOException
+	 */
+	void write(WorklogRecord record) throws IOException;
+
+	/**
+	 * @return the number of rows written, header excluded
+	 */
+	int getRowCount();
+
+	/**
+	 * Save the output and release the resources used by the writer
+	 * @throws IOException
+	 */
+	@Override
+	void close() throws IOException;
+
+	/**
+	 * Release the resources used by the writer after a failed export. By default the output is saved as by {@link #close()} :
+	 * the writers able to drop the rows written override this method.
+	 * @throws IOException
+	 */
+	default void abort() throws IOException {
+		close();
+	}
+}
@@ -0,0 +1,199 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checkpoint of an injection, written next to the excel file. For each row injected, the checkpoint records
+ * the fingerprint of the row content, the outcome of the injection and the JIRA key.
+ * An interrupted injection can be resumed : the rows already injected and not modified since are skipped.
+ *
+ * Format : one line per row, "rowNumber TAB fingerprint TAB outcome TAB key".
+ */
+public class InjectionCheckpoint implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(InjectionCheckpoint.class);
+
+	private static final String CHECKPOINT_EXTENSION = ".checkpoint";
+
+	/**
+	 * Outcome of the injection of a row
+	 */
+	public enum Outcome {
+		DONE, FAILED
+	}
+
+	/**
+	 * Row recorded in the checkpoint
+	 */
+	public static final class Entry {
+		private final int rowNumber;
+		private final String fingerprint;
+		private final Outcome outcome;
+		private final String key;
+
+		public Entry(int rowNumber, String fingerprint, Outcome outcome, String key) {
+			super();
+			this.rowNumber = rowNumber;
+			this.fingerprint = fingerprint;
+			this.outcome = outcome;
+			this.key = key;
+		}
+
+		public int getRowNumber() {
+			return rowNumber;
+		}
+
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		public Outcome getOutcome() {
+			return outcome;
+		}
+
+		/**
+		 * @return the JIRA key, or null if the row has not been injected
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * @param rowFingerprint : fingerprint of the current row content
+		 * @return true if the row has been injected and not modified since
+		 */
+		public boolean isDone(String rowFingerprint) {
+			return outcome == Outcome.DONE && fingerprint.equals(rowFingerprint);
+		}
+	}
+
+	private final File checkpointFile;
+	private final FileOutputStream checkpointStream;
+	private final Writer writer;
+	private final int syncBatchSize;
+	private int entriesNotSynced = 0;
+
+	/**
+	 * Default constructor
+	 * @param excelFile : the excel file injected
+	 * @param append : true to keep the rows of the previous injection (resume), false to start a new checkpoint
+	 * @param syncBatchSize : number of rows recorded between two disk synchronizations
+	 * @throws IOException
+	 */
+	public InjectionCheckpoint(File excelFile, boolean append, int syncBatchSize) throws IOException {
+		super();
+		this.checkpointFile = getCheckpointFile(excelFile);
+		this.syncBatchSize = Math.max(1, syncBatchSize);
+		this.checkpointStream = new FileOutputStream(checkpointFile, append);
+		this.writer = new OutputStreamWriter(checkpointStream, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param excelFile
+	 * @return the checkpoint file associated to the excel file
+	 */
+	public static File getCheckpointFile(File excelFile) {
+		return new File(excelFile.getPath() + CHECKPOINT_EXTENSION);
+	}
+
+	/**
+	 * Read the checkpoint associated to the excel file. When a row has been recorded several times, the last record is kept.
+	 * A truncated last line is ignored.
+	 * @param excelFile
+	 * @return the entries by row position, empty if there is no checkpoint
+	 * @throws IOException
+	 */
+	public static Map<Integer, Entry> readEntries(File excelFile) throws IOException {
+		Map<Integer, Entry> entries = new HashMap<>();
+		File checkpointFile = getCheckpointFile(excelFile);
+		if (!checkpointFile.isFile()) {
+			return entries;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", -1);
+				if (fields.length != 4) {
+					LOG.warn("Invalid line ignored in the checkpoint " + checkpointFile + " : " + line);
+					continue;
+				}
+				try {
+					int rowNumber = Integer.parseInt(fields[0]);
+					String key = fields[3].isEmpty() ? null : fields[3];
+					entries.put(rowNumber, new Entry(rowNumber, fields[1], Outcome.valueOf(fields[2]), key));
+				} catch (IllegalArgumentException e) {
+					LOG.warn("Invalid line ignored in the checkpoint " + checkpointFile + " : " + line);
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Delete the checkpoint associated to the excel file
+	 * @param excelFile
+	 * @throws IOException
+	 */
+	public static void delete(File excelFile) throws IOException {
+		Files.deleteIfExists(getCheckpointFile(excelFile).toPath());
+	}
+
+	/**
+	 * Record the outcome of a row. The checkpoint is forced on disk every {@link #syncBatchSize} rows,
+	 * and after each failure.
+	 * @param rowNumber
+	 * @param fingerprint
+	 * @param outcome
+	 * @param key : JIRA key, can be null
+	 * @throws IOException
+	 */
+	public synchronized void record(int rowNumber, String fingerprint, Outcome outcome, String key) throws IOException {
+		writer.write(rowNumber + "\t" + fingerprint + "\t" + outcome.name() + "\t" + (key != null ? key : "") + "\n");
+		entriesNotSynced++;
+		if (entriesNotSynced >= syncBatchSize || outcome == Outcome.FAILED) {
+			sync();
+		}
+	}
+
+	/**
+	 * Force the rows recorded on disk
+	 * @throws IOException
+	 */
+	public synchronized void sync() throws IOException {
+		writer.flush();
+		checkpointStream.getFD().sync();
+		entriesNotSynced = 0;
+	}
+
+	/**
+	 * Synchronize and close the checkpoint. The checkpoint file is kept.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			sync();
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * @return the checkpoint file
+	 */
+	public File getFile() {
+		return checkpointFile;
+	}
+}
@@ -0,0 +1,140 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Append only journal of the JIRA keys saved during the injection (row position => key).
+ * The journal is written next to the excel file and forced on disk every {@link #syncBatchSize} entries.
+ * If the program dies before the keys are written in the excel file, the journal is replayed by the next run.
+ *
+ * Format : one line per key, "rowNumber TAB key".
+ */
+public class KeyJournal implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(KeyJournal.class);
+
+	private static final String JOURNAL_EXTENSION = ".keys.journal";
+
+	private final File journalFile;
+	private final FileOutputStream journalStream;
+	private final Writer writer;
+	private final int syncBatchSize;
+	private int entriesNotSynced = 0;
+
+	/**
+	 * Default constructor. The journal is created or opened in append mode.
+	 * @param excelFile : the excel file updated
+	 * @param syncBatchSize : number of entries written between two disk synchronizations
+	 * @throws IOException
+	 */
+	public KeyJournal(File excelFile, int syncBatchSize) throws IOException {
+		super();
+		this.journalFile = getJournalFile(excelFile);
+		this.syncBatchSize = Math.max(1, syncBatchSize);
+		this.journalStream = new FileOutputStream(journalFile, true);
+		this.writer = new OutputStreamWriter(journalStream, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param excelFile
+	 * @return the journal file associated to the excel file
+	 */
+	public static File getJournalFile(File excelFile) {
+		return new File(excelFile.getPath() + JOURNAL_EXTENSION);
+	}
+
+	/**
+	 * Read the keys of the journal associated to the excel file. A truncated last line is ignored.
+	 * @param excelFile
+	 * @return the keys by row position, empty if there is no journal
+	 * @throws IOException
+	 */
+	public static Map<Integer, String> readEntries(File excelFile) throws IOException {
+		Map<Integer, String> keysByRow = new LinkedHashMap<>();
+		File journalFile = getJournalFile(excelFile);
+		if (!journalFile.isFile()) {
+			return keysByRow;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int separator = line.indexOf('\t');
+				if (separator <= 0 || separator == line.length() - 1) {
+					LOG.warn("Invalid line ignored in the journal " + journalFile + " : " + line);
+					continue;
+				}
+				try {
+					keysByRow.put(Integer.valueOf(line.substring(0, separator)), line.substring(separator + 1));
+				} catch (NumberFormatException e) {
+					LOG.warn("Invalid line ignored in the journal " + journalFile + " : " + line);
+				}
+			}
+		}
+		return keysByRow;
+	}
+
+	/**
+	 * Delete the journal associated to the excel file
+	 * @param excelFile
+	 * @throws IOException
+	 */
+	public static void delete(File excelFile) throws IOException {
+		Files.deleteIfExists(getJournalFile(excelFile).toPath());
+	}
+
+	/**
+	 * Append a key in the journal. The journal is forced on disk every {@link #syncBatchSize} entries.
+	 * @param rowNumber
+	 * @param key
+	 * @throws IOException
+	 */
+	public synchronized void append(int rowNumber, String key) throws IOException {
+		writer.write(rowNumber + "\t" + key + "\n");
+		entriesNotSynced++;
+		if (entriesNotSynced >= syncBatchSize) {
+			sync();
+		}
+	}
+
+	/**
+	 * Force the entries written on disk
+	 * @throws IOException
+	 */
+	public synchronized void sync() throws IOException {
+		writer.flush();
+		journalStream.getFD().sync();
+		entriesNotSynced = 0;
+	}
+
+	/**
+	 * Synchronize and close the journal. The journal file is kept.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			sync();
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * @return the journal file
+	 */
+	public File getFile() {
+		return journalFile;
+	}
+}
@@ -0,0 +1,61 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Values of a small sheet read in streaming mode (the Configuration sheet for instance).
+ * Cell values are kept as formatted strings, indexed by row and column position.
+ */
+public class SheetContent implements IExcelCellReader {
+
+	private final List<String[]> rows;
+
+	/**
+	 * Default constructor
+	 * @param rows : row values, indexed by row position. A missing row is null.
+	 */
+	public SheetContent(List<String[]> rows) {
+		super();
+		this.rows = Collections.unmodifiableList(rows);
+	}
+
+	/**
+	 * Read the content of a specific cell. Result can be empty.
+	 * @param linePosition
+	 * @param columPosition
+	 * @return {@link Optional}
+	 */
+	public Optional<String> readStringCellContent(int linePosition, int columPosition) {
+		if (linePosition >= rows.size()) {
+			return Optional.empty();
+		}
+		String[] row = rows.get(linePosition);
+		if (row == null || columPosition >= row.length || row[columPosition] == null || row[columPosition].length() == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(row[columPosition]);
+	}
+
+	@Override
+	public Optional<Integer> readIntegerCellContent(int linePosition, int columPosition) {
+		try {
+			return readStringCellContent(linePosition, columPosition).map((value) -> Double.valueOf(value).intValue());
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public Optional<Boolean> readBooleanCellContent(int linePosition, int columPosition) {
+		return readStringCellContent(linePosition, columPosition).map((value) -> Boolean.parseBoolean(value));
+	}
+
+	/**
+	 * @return the number of rows read
+	 */
+	public int getRowCount() {
+		return rows.size();
+	}
+}
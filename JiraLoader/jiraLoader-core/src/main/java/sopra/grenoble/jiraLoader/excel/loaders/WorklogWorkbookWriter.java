@@ -0,0 +1,238 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write the worklog export in a workbook :
+ * <li> xls : {@link HSSFWorkbook}, built in memory and limited to 65535 rows
+ * <li> xlsx : {@link SXSSFWorkbook}, only the last rows are kept in memory, the other ones are flushed in a temporary file
+ *
+ * The width of the columns is computed from the length of the values written, instead of autoSizeColumn which reads the whole sheet.
+ * A workbook can have several sheets, see {@link #getSheet(String)}.
+ */
+public class WorklogWorkbookWriter implements IWorklogWriter {
+
+	public static final String SHEET_NAME = "Export work log Jira";
+
+	/**
+	 * Max number of data rows of a xls sheet
+	 */
+	private static final int XLS_MAX_ROWS = 65535;
+
+	/**
+	 * Max width of a column, in characters
+	 */
+	private static final int MAX_COLUMN_WIDTH = 255;
+
+	private final Workbook workbook;
+	private final OutputStream out;
+	private final CellStyle tabStyle;
+
+	/**
+	 * Writers of the sheets, by name given at the creation
+	 */
+	private final Map<String, SheetWriter> sheets = new LinkedHashMap<>();
+
+	private WorklogWorkbookWriter(Workbook workbook, OutputStream out, int maxRows, Collection<String> sheetNames) {
+		super();
+		this.workbook = workbook;
+		this.out = out;
+		CellStyle style = workbook.createCellStyle();
+		style.setWrapText(true);
+		this.tabStyle = createBorderStyle(workbook);
+		this.tabStyle.setWrapText(true);
+		CellStyle headerStyle = createBorderStyle(workbook);
+		for (String sheetName : sheetNames) {
+			if (!sheets.containsKey(sheetName)) {
+				sheets.put(sheetName, new SheetWriter(workbook.createSheet(WorkbookUtil.createSafeSheetName(sheetName)), maxRows, style, headerStyle));
+			}
+		}
+	}
+
+	/**
+	 * Writer of a xls file
+	 * @param out : stream of the file, closed with the writer
+	 * @return {@link WorklogWorkbookWriter}
+	 */
+	public static WorklogWorkbookWriter createXls(OutputStream out) {
+		return createXls(out, Collections.singletonList(SHEET_NAME));
+	}
+
+	/**
+	 * Writer of a xls file with several sheets
+	 * @param out : stream of the file, closed with the writer
+	 * @param sheetNames : names of the sheets, in order
+	 * @return {@link WorklogWorkbookWriter}
+	 */
+	public static WorklogWorkbookWriter createXls(OutputStream out, Collection<String> sheetNames) {
+		return new WorklogWorkbookWriter(new HSSFWorkbook(), out, XLS_MAX_ROWS, sheetNames);
+	}
+
+	/**
+	 * Writer of a xlsx file
+	 * @param out : stream of the file, closed with the writer
+	 * @param rowWindow : number of rows kept in memory
+	 * @return {@link WorklogWorkbookWriter}
+	 */
+	public static WorklogWorkbookWriter createXlsx(OutputStream out, int rowWindow) {
+		return createXlsx(out, rowWindow, Collections.singletonList(SHEET_NAME));
+	}
+
+	/**
+	 * Writer of a xlsx file with several sheets
+	 * @param out : stream of the file, closed with the writer
+	 * @param rowWindow : number of rows kept in memory, for each sheet
+	 * @param sheetNames : names of the sheets, in order
+	 * @return {@link WorklogWorkbookWriter}
+	 */
+	public static WorklogWorkbookWriter createXlsx(OutputStream out, int rowWindow, Collection<String> sheetNames) {
+		return new WorklogWorkbookWriter(new SXSSFWorkbook(Math.max(1, rowWindow)), out, Integer.MAX_VALUE, sheetNames);
+	}
+
+	/**
+	 * Writer of a sheet. The sheets can be written by several threads at the same time.
+	 * Closing it does nothing : the workbook is saved when this writer is closed.
+	 * @param sheetName : name given at the creation
+	 * @return the writer of the sheet
+	 * @throws IllegalArgumentException if there is no sheet with this name
+	 */
+	public IWorklogWriter getSheet(String sheetName) {
+		SheetWriter sheet = sheets.get(sheetName);
+		if (sheet == null) {
+			throw new IllegalArgumentException("No sheet " + sheetName);
+		}
+		return sheet;
+	}
+
+	private static CellStyle createBorderStyle(Workbook workbook) {
+		CellStyle style = workbook.createCellStyle();
+		style.setBorderBottom(CellStyle.BORDER_THIN);
+		style.setBottomBorderColor(IndexedColors.BLACK.getIndex());
+		style.setBorderLeft(CellStyle.BORDER_THIN);
+		style.setLeftBorderColor(IndexedColors.BLACK.getIndex());
+		style.setBorderRight(CellStyle.BORDER_THIN);
+		style.setRightBorderColor(IndexedColors.BLACK.getIndex());
+		style.setBorderTop(CellStyle.BORDER_THIN);
+		style.setTopBorderColor(IndexedColors.BLACK.getIndex());
+		return style;
+	}
+
+	/**
+	 * Write a row in the first sheet
+	 */
+	@Override
+	public void write(WorklogRecord record) throws IOException {
+		sheets.values().iterator().next().write(record);
+	}
+
+	/**
+	 * @return the number of rows written in all the sheets, headers excluded
+	 */
+	@Override
+	public int getRowCount() {
+		int rowCount = 0;
+		for (SheetWriter sheet : sheets.values()) {
+			rowCount += sheet.getRowCount();
+		}
+		return rowCount;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			synchronized (workbook) {
+				for (SheetWriter sheet : sheets.values()) {
+					sheet.setColumnWidths();
+				}
+				workbook.write(out);
+			}
+			out.flush();
+		} finally {
+			out.close();
+			if (workbook instanceof SXSSFWorkbook) {
+				((SXSSFWorkbook) workbook).dispose();
+			}
+		}
+	}
+
+	/**
+	 * Writer of a sheet of the workbook. The workbook is locked during a write, POI is not thread safe.
+	 */
+	private class SheetWriter implements IWorklogWriter {
+
+		private final Sheet sheet;
+		private final int maxRows;
+
+		/**
+		 * Max length of the values of each column, in characters
+		 */
+		private final int[] columnWidths = new int[WorklogRecord.COLUMNS.size()];
+		private volatile int rowCount = 0;
+
+		SheetWriter(Sheet sheet, int maxRows, CellStyle headerRowStyle, CellStyle headerStyle) {
+			this.sheet = sheet;
+			this.maxRows = maxRows;
+			Row header = sheet.createRow(0);
+			header.setRowStyle(headerRowStyle);
+			for (int i = 0; i < WorklogRecord.COLUMNS.size(); i++) {
+				setCell(header, i, WorklogRecord.COLUMNS.get(i), headerStyle);
+			}
+		}
+
+		@Override
+		public void write(WorklogRecord record) throws IOException {
+			synchronized (workbook) {
+				if (rowCount >= maxRows) {
+					throw new IOException("The xls format is limited to " + maxRows + " rows, use the xlsx format");
+				}
+				Row row = sheet.createRow(rowCount + 1);
+				List<String> cells = record.toCells();
+				for (int i = 0; i < cells.size(); i++) {
+					setCell(row, i, cells.get(i), tabStyle);
+				}
+				rowCount++;
+			}
+		}
+
+		private void setCell(Row row, int column, String value, CellStyle style) {
+			row.createCell(column).setCellValue(value);
+			row.getCell(column).setCellStyle(style);
+			if (value != null) {
+				for (String line : value.split("\n")) {
+					columnWidths[column] = Math.max(columnWidths[column], line.length());
+				}
+			}
+		}
+
+		private void setColumnWidths() {
+			for (int i = 0; i < columnWidths.length; i++) {
+				sheet.setColumnWidth(i, Math.min(MAX_COLUMN_WIDTH, columnWidths[i] + 2) * 256);
+			}
+		}
+
+		@Override
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
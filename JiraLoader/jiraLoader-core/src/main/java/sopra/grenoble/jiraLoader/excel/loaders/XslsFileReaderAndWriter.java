@@ -1,224 +1,324 @@
-package sopra.grenoble.jiraLoader.excel.loaders;
-
-import org.apache.poi.POIXMLException;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
-import sopra.grenoble.jiraLoader.exceptions.UnexpectedTypeLineException;
-
-import java.io.*;
-import java.util.Optional;
-
-/**
- * @author cmouilleron
- *
- */
-public class XslsFileReaderAndWriter {
-
-	private static final Logger LOG = LoggerFactory.getLogger(XslsFileReaderAndWriter.class);
-
-	private final File excelFile;
-	private FileInputStream excelFileInputStream;
-	private XSSFWorkbook workbook = null;
-	private int linePosition = 0;
-	private Sheet sheetOpened = null;
-
-	/**
-	 * Default constructor
-	 * 
-	 * @param file
-	 *            : excel file
-	 * @throws IOException
-	 */
-	public XslsFileReaderAndWriter(File file) throws IOException {
-		super();
-		this.sheetOpened = null;
-		this.excelFile = file;
-
-		// test if the file can be read and write*
-		if (file == null) {
-			LOG.error("Null value has been passed for filename");
-			throw new FileNotFoundException("Unable to load a file with empty value");
-		}
-
-		if (!file.isFile()) {
-			LOG.error("The file passed in parameter is not a file or cannot be accessed");
-			throw new FileNotFoundException("The file passed in parameter is not a file or cannot be accessed");
-		}
-
-		if (!file.canWrite()) {
-			LOG.error("The file cannot be opened in write mode");
-			throw new FileNotFoundException("The file cannot be opened in write mode");
-		}
-
-		// load excel file
-		this.loadExcelFile();
-	}
-
-	/**
-	 * Function to load excel file in memory
-	 * 
-	 * @throws IOException
-	 */
-	protected void loadExcelFile() throws IOException {
-		try {
-			excelFileInputStream = new FileInputStream(this.excelFile);
-			workbook = new XSSFWorkbook(excelFileInputStream);
-		} catch (IOException | POIXMLException e) {
-			LOG.error("The input file is not an excel file", e);
-			throw new IOException(e);
-		}
-	}
-
-	/**
-	 * Open the sheet
-	 * 
-	 * @param sheetPosition
-	 */
-	public void openSheet(int sheetPosition) {
-		sheetOpened = workbook.getSheetAt(sheetPosition);
-	}
-
-	
-	/**
-	 * return the {@link Row} at the position {@link #linePosition}
-	 * @param linePosition
-	 * @return {@link Row}
-	 */
-	public Row readLine(int linePosition) {
-		setRowPosition(linePosition);
-		return readNextRow();
-	}
-	
-	/**
-	 * Read the content of a specific cell. Result can be null. 
-	 * @param linePosition
-	 * @param columPosition
-	 * @return {@link Optional}
-	 */
-	public Optional<String> readStringCellContent(int linePosition, int columPosition) {
-		setRowPosition(linePosition);
-		Row row = readNextRow();
-		return ExcelRowUtils.getStringValueFromRow(row, columPosition);
-	}
-	
-	/**
-	 * Read the content of a specific cell. Result can be null. 
-	 * @param linePosition
-	 * @param columPosition
-	 * @return {@link Optional}
-	 */
-	public Optional<Integer> readIntegerCellContent(int linePosition, int columPosition) {
-		setRowPosition(linePosition);
-		Row row = readNextRow();
-		return ExcelRowUtils.getIntegerValueFromRow(row, columPosition);
-	}
-	
-	/**
-	 * Read the content of a specific cell. Result can be null. 
-	 * @param linePosition
-	 * @param columPosition
-	 * @return {@link Optional}
-	 */
-	public Optional<Boolean> readBooleanCellContent(int linePosition, int columPosition) {
-		setRowPosition(linePosition);
-		Row row = readNextRow();
-		return ExcelRowUtils.getBooleanValueFromRow(row, columPosition);
-	}
-
-	/**
-	 * Set the row position in the current sheet
-	 * @param rowPosition
-	 */
-	public void setRowPosition(int rowPosition) {
-		this.linePosition = rowPosition;
-	}
-
-	/**
-	 * @return {@link GenericModel} row
-	 * @throws UnexpectedTypeLineException
-	 */
-	public Row readNextRow() {
-		return sheetOpened.getRow(linePosition++);
-	}
-	
-	/**
-	 * Return true if the last row has been reached.
-	 * The last raw is defined like this
-	 * 	- the raw with no value in TypeDemande
-	 * @return
-	 */
-	public boolean isLastRow() {
-		final Row nextRow = sheetOpened.getRow(linePosition);
-		//if nextrow is null, return lastLine = true
-		if (nextRow == null) {
-			return true;
-		}
-		
-		//if cell is null, return lastLine = true
-		Row firstRow = sheetOpened.getRow(0);
-		final Cell cell = nextRow.getCell(findCellByName(firstRow, "Type de demande"));
-		if (cell == null) {
-			return true;
-		}
-		
-		//if cell content is null or empty, return lastLine = true
-		final String typeDemande = cell.getStringCellValue();
-		if (typeDemande == null || typeDemande.compareTo("") == 0) {
-			return true;
-		}
-		return false;
-	}
-	
-	public void closeFile() {
-		try {
-			this.excelFileInputStream.close();
-			FileOutputStream outFile =new FileOutputStream(excelFile);
-			this.workbook.write(outFile);
-			outFile.close();
-		} catch (IOException e) {
-			LOG.error("Unable to close the excel document");
-		}
-	}
-
-	/**
-	 * @param excelLoader
-	 * @param cellName
-	 * @return columnNumber or -1 if column doesn't exist.
-	 */
-	public static int findColumnNumber(XslsFileReaderAndWriter excelLoader, String cellName) {
-		String valueFromCell;
-		int columnNumber = -1;
-		excelLoader.setRowPosition(0);
-		Row row = excelLoader.readNextRow();
-		for (int i = 0; i < row.getLastCellNum(); i++) {
-			valueFromCell = ExcelRowUtils.getStringValueFromRow(row, i).get();
-			if (valueFromCell.equals(cellName)) {
-				columnNumber = i;
-			}
-		}
-		return columnNumber;
-	}
-
-	/**
-	 *
-	 * @param row
-	 * @param cellName
-	 * @return columnNumber or -1 if cellName doesn't exist
-	 */
-	public static int findCellByName(Row row, String cellName) {
-		String valueFromCell;
-		int columnNumber = -1;
-		for (int i = 0; i < row.getLastCellNum(); i++) {
-			Cell cell = row.getCell(i);
-			if (cell.getStringCellValue().equals(cellName)) {
-				columnNumber = i;
-			}
-		}
-		return columnNumber;
-	}
-}
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.apache.poi.POIXMLException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.exceptions.UnexpectedTypeLineException;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * @author cmouilleron
+ *
+ */
+public class XslsFileReaderAndWriter implements IExcelCellReader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XslsFileReaderAndWriter.class);
+
+	private final File excelFile;
+	private FileInputStream excelFileInputStream;
+	private XSSFWorkbook workbook = null;
+	private int linePosition = 0;
+	private Sheet sheetOpened = null;
+	private ColumnIndex columnIndex = ColumnIndex.EMPTY;
+
+	/**
+	 * Default constructor
+	 * 
+	 * @param file
+	 *            : excel file
+	 * @throws IOException
+	 */
+	public XslsFileReaderAndWriter(File file) throws IOException {
+		super();
+		this.sheetOpened = null;
+		this.excelFile = file;
+
+		// test if the file can be read and write*
+		if (file == null) {
+			LOG.error("Null value has been passed for filename");
+			throw new FileNotFoundException("Unable to load a file with empty value");
+		}
+
+		if (!file.isFile()) {
+			LOG.error("The file passed in parameter is not a file or cannot be accessed");
+			throw new FileNotFoundException("The file passed in parameter is not a file or cannot be accessed");
+		}
+
+		if (!file.canWrite()) {
+			LOG.error("The file cannot be opened in write mode");
+			throw new FileNotFoundException("The file cannot be opened in write mode");
+		}
+
+		// load excel file
+		this.loadExcelFile();
+	}
+
+	/**
+	 * Function to load excel file in memory
+	 * 
+	 * @throws IOException
+	 */
+	protected void loadExcelFile() throws IOException {
+		try {
+			excelFileInputStream = new FileInputStream(this.excelFile);
+			workbook = new XSSFWorkbook(excelFileInputStream);
+		} catch (IOException | POIXMLException e) {
+			LOG.error("The input file is not an excel file", e);
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Open the sheet and index its header row
+	 * 
+	 * @param sheetPosition
+	 */
+	public void openSheet(int sheetPosition) {
+		sheetOpened = workbook.getSheetAt(sheetPosition);
+		columnIndex = ColumnIndex.fromRow(sheetOpened.getRow(0));
+	}
+
+	/**
+	 * @param sheetName
+	 * @return the position of the sheet, or -1 if the sheet doesn't exist
+	 */
+	public int getSheetIndex(String sheetName) {
+		return workbook.getSheetIndex(sheetName);
+	}
+
+	/**
+	 * @return the {@link ColumnIndex} of the opened sheet
+	 */
+	public ColumnIndex getColumnIndex() {
+		return columnIndex;
+	}
+
+	
+	/**
+	 * return the {@link Row} at the position {@link #linePosition}
+	 * @param linePosition
+	 * @return {@link Row}
+	 */
+	public Row readLine(int linePosition) {
+		setRowPosition(linePosition);
+		return readNextRow();
+	}
+	
+	/**
+	 * Read the content of a specific cell. Result can be null. 
+	 * @param linePosition
+	 * @param columPosition
+	 * @return {@link Optional}
+	 */
+	public Optional<String> readStringCellContent(int linePosition, int columPosition) {
+		setRowPosition(linePosition);
+		Row row = readNextRow();
+		return ExcelRowUtils.getStringValueFromRow(row, columPosition);
+	}
+	
+	/**
+	 * Read the content of a specific cell. Result can be null. 
+	 * @param linePosition
+	 * @param columPosition
+	 * @return {@link Optional}
+	 */
+	@Override
+	public Optional<Integer> readIntegerCellContent(int linePosition, int columPosition) {
+		setRowPosition(linePosition);
+		Row row = readNextRow();
+		return ExcelRowUtils.getIntegerValueFromRow(row, columPosition);
+	}
+	
+	/**
+	 * Read the content of a specific cell. Result can be null. 
+	 * @param linePosition
+	 * @param columPosition
+	 * @return {@link Optional}
+	 */
+	@Override
+	public Optional<Boolean> readBooleanCellContent(int linePosition, int columPosition) {
+		setRowPosition(linePosition);
+		Row row = readNextRow();
+		return ExcelRowUtils.getBooleanValueFromRow(row, columPosition);
+	}
+
+	/**
+	 * Set the row position in the current sheet
+	 * @param rowPosition
+	 */
+	public void setRowPosition(int rowPosition) {
+		this.linePosition = rowPosition;
+	}
+
+	/**
+	 * @return {@link GenericModel} row
+	 * @throws UnexpectedTypeLineException
+	 */
+	public Row readNextRow() {
+		return sheetOpened.getRow(linePosition++);
+	}
+	
+	/**
+	 * Return true if the last row has been reached.
+	 * The last raw is defined like this
+	 * 	- the raw with no value in TypeDemande
+	 * @return
+	 */
+	public boolean isLastRow() {
+		final Row nextRow = sheetOpened.getRow(linePosition);
+		//if nextrow is null, return lastLine = true
+		if (nextRow == null) {
+			return true;
+		}
+		
+		//if the column or the cell is null, return lastLine = true
+		final int typeDemandePosition = columnIndex.getPosition("Type de demande");
+		if (typeDemandePosition == ColumnIndex.NOT_FOUND) {
+			return true;
+		}
+		final Cell cell = nextRow.getCell(typeDemandePosition);
+		if (cell == null) {
+			return true;
+		}
+		
+		//if cell content is null or empty, return lastLine = true
+		final String typeDemande = cell.getStringCellValue();
+		if (typeDemande == null || typeDemande.compareTo("") == 0) {
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Write a string in a cell. The row and the cell are created if needed.
+	 * @param sheetPosition
+	 * @param linePosition
+	 * @param columPosition
+	 * @param value
+	 */
+	public void writeStringCellContent(int sheetPosition, int linePosition, int columPosition, String value) {
+		Sheet sheet = workbook.getSheetAt(sheetPosition);
+		Row row = sheet.getRow(linePosition);
+		if (row == null) {
+			row = sheet.createRow(linePosition);
+		}
+		Cell c = row.getCell(columPosition);
+		if (c == null) {
+			//create an empty cell
+			c = row.createCell(columPosition);
+		}
+		c.setCellValue(value);
+	}
+
+	/**
+	 * Open the sheet and return a reader on its data rows (from the second row to the last row).
+	 * The reader uses the row position of this object : the sheet must not be changed while reading.
+	 * @param sheetPosition
+	 * @param dtoFactory : return an empty DTO for a "Type de demande", or null if the type is not supported
+	 * @return {@link IImportRowReader}
+	 */
+	public IImportRowReader readModels(int sheetPosition, Function<String, ? extends GenericModel> dtoFactory) {
+		openSheet(sheetPosition);
+		final int typeDemandePosition = columnIndex.getPosition("Type de demande");
+		// skip header
+		setRowPosition(1);
+		return new IImportRowReader() {
+
+			private int rowNumber = -1;
+
+			@Override
+			public boolean hasNext() {
+				return !isLastRow();
+			}
+
+			@Override
+			public GenericModel next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Row row = readNextRow();
+				rowNumber = row.getRowNum();
+				GenericModel model = dtoFactory.apply(row.getCell(typeDemandePosition).getStringCellValue());
+				if (model != null) {
+					model.loadRow(row, columnIndex);
+				}
+				return model;
+			}
+
+			@Override
+			public int getRowNumber() {
+				return rowNumber;
+			}
+
+			@Override
+			public void close() {
+				// the workbook is closed by closeFile
+			}
+		};
+	}
+
+	/**
+	 * Write the workbook in the excel file. The workbook is written in a temporary file
+	 * which is renamed over the excel file, so the file is never left truncated.
+	 * @throws IOException
+	 */
+	public void saveFile() throws IOException {
+		this.excelFileInputStream.close();
+		Path tmpFile = ExcelFileUtils.createTempFileNextTo(excelFile);
+		try {
+			try (OutputStream outFile = Files.newOutputStream(tmpFile)) {
+				this.workbook.write(outFile);
+			}
+			ExcelFileUtils.replaceFile(tmpFile, excelFile);
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	public void closeFile() {
+		try {
+			saveFile();
+		} catch (IOException e) {
+			LOG.error("Unable to close the excel document", e);
+		}
+	}
+
+	/**
+	 * Lookup is done in the {@link ColumnIndex} built when the sheet has been opened.
+	 * @param excelLoader
+	 * @param cellName
+	 * @return columnNumber or -1 if column doesn't exist.
+	 */
+	public static int findColumnNumber(XslsFileReaderAndWriter excelLoader, String cellName) {
+		return excelLoader.getColumnIndex().getPosition(cellName);
+	}
+
+	/**
+	 *
+	 * @param row
+	 * @param cellName
+	 * @return columnNumber or -1 if cellName doesn't exist
+	 */
+	public static int findCellByName(Row row, String cellName) {
+		String valueFromCell;
+		int columnNumber = -1;
+		for (int i = 0; i < row.getLastCellNum(); i++) {
+			Cell cell = row.getCell(i);
+			if (cell.getStringCellValue().equals(cellName)) {
+				columnNumber = i;
+			}
+		}
+		return columnNumber;
+	}
+}
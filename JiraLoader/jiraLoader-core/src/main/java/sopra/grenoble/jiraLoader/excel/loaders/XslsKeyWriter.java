@@ -0,0 +1,179 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.apache.poi.ss.util.CellReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Write the JIRA keys in the first column of a sheet without loading the workbook.
+ * The excel file is copied entry by entry, and only the XML of the sheet is rewritten (StAX),
+ * so the heap used does not depend on the number of rows.
+ */
+public final class XslsKeyWriter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XslsKeyWriter.class);
+
+	private static final QName ROW_REF = new QName("r");
+	private static final QName CELL_STYLE = new QName("s");
+
+	private XslsKeyWriter() {
+		super();
+	}
+
+	/**
+	 * Write the keys in the first column of the sheet. Existing values in this column are replaced.
+	 * @param excelFile
+	 * @param sheetName
+	 * @param keysByRow : key to write, by row position (as {@link org.apache.poi.ss.usermodel.Row#getRowNum()})
+	 * @throws IOException
+	 */
+	public static void writeKeys(File excelFile, String sheetName, Map<Integer, String> keysByRow) throws IOException {
+		if (keysByRow.isEmpty()) {
+			LOG.debug("No key to write in the excel file");
+			return;
+		}
+		final String sheetEntryName;
+		try (XslsStreamingWorkbook workbook = XslsStreamingWorkbook.open(excelFile)) {
+			sheetEntryName = workbook.getSheetEntryName(sheetName);
+		}
+		final Path tmpFile = ExcelFileUtils.createTempFileNextTo(excelFile);
+		try {
+			try (ZipFile source = new ZipFile(excelFile); ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(tmpFile))) {
+				for (ZipEntry entry : entries(source)) {
+					out.putNextEntry(new ZipEntry(entry.getName()));
+					try (InputStream in = source.getInputStream(entry)) {
+						if (entry.getName().equals(sheetEntryName)) {
+							rewriteSheet(in, out, keysByRow);
+						} else {
+							copy(in, out);
+						}
+					}
+					out.closeEntry();
+				}
+			}
+			ExcelFileUtils.replaceFile(tmpFile, excelFile);
+			LOG.info(keysByRow.size() + " key(s) written in the sheet " + sheetName);
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	/**
+	 * Copy the sheet XML, and replace or insert the first cell of each row having a key
+	 */
+	private static void rewriteSheet(InputStream in, OutputStream out, Map<Integer, String> keysByRow) throws IOException {
+		try {
+			XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+			inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			XMLEventReader reader = inputFactory.createXMLEventReader(in);
+			XMLEventWriter writer = XMLOutputFactory.newInstance().createXMLEventWriter(out, "UTF-8");
+			XMLEventFactory events = XMLEventFactory.newInstance();
+
+			int rowNum = -1;
+			String pendingKey = null;
+			int skippedDepth = 0;
+			while (reader.hasNext()) {
+				XMLEvent event = reader.nextEvent();
+				// skip the replaced cell
+				if (skippedDepth > 0) {
+					if (event.isStartElement()) {
+						skippedDepth++;
+					} else if (event.isEndElement()) {
+						skippedDepth--;
+					}
+					continue;
+				}
+
+				if (event.isStartElement()) {
+					StartElement start = event.asStartElement();
+					String name = start.getName().getLocalPart();
+					if ("row".equals(name)) {
+						Attribute ref = start.getAttributeByName(ROW_REF);
+						rowNum = (ref != null) ? Integer.parseInt(ref.getValue()) - 1 : rowNum + 1;
+						pendingKey = keysByRow.get(rowNum);
+					} else if ("c".equals(name) && pendingKey != null) {
+						Attribute ref = start.getAttributeByName(ROW_REF);
+						boolean firstColumn = ref != null && new CellReference(ref.getValue()).getCol() == 0;
+						writeKeyCell(writer, events, start.getName(), rowNum, pendingKey, firstColumn ? start.getAttributeByName(CELL_STYLE) : null);
+						pendingKey = null;
+						if (firstColumn) {
+							skippedDepth = 1;
+							continue;
+						}
+					}
+				} else if (event.isEndElement() && pendingKey != null && "row".equals(event.asEndElement().getName().getLocalPart())) {
+					// empty row : the key cell is the only one
+					QName rowName = event.asEndElement().getName();
+					writeKeyCell(writer, events, new QName(rowName.getNamespaceURI(), "c", rowName.getPrefix()), rowNum, pendingKey, null);
+					pendingKey = null;
+				}
+				writer.add(event);
+			}
+			writer.flush();
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new IOException("Unable to rewrite the sheet", e);
+		}
+	}
+
+	/**
+	 * Write an inline string cell : &lt;c r="A1" t="inlineStr"&gt;&lt;is&gt;&lt;t&gt;KEY&lt;/t&gt;&lt;/is&gt;&lt;/c&gt;
+	 */
+	private static void writeKeyCell(XMLEventWriter writer, XMLEventFactory events, QName cellName, int rowNum, String key, Attribute style)
+			throws XMLStreamException {
+		String ns = cellName.getNamespaceURI();
+		String prefix = cellName.getPrefix();
+		List<Attribute> attributes = new ArrayList<>();
+		attributes.add(events.createAttribute("r", new CellReference(rowNum, 0).formatAsString()));
+		if (style != null) {
+			attributes.add(style);
+		}
+		attributes.add(events.createAttribute("t", "inlineStr"));
+
+		writer.add(events.createStartElement(cellName, attributes.iterator(), null));
+		writer.add(events.createStartElement(prefix, ns, "is"));
+		writer.add(events.createStartElement(prefix, ns, "t"));
+		writer.add(events.createCharacters(key));
+		writer.add(events.createEndElement(prefix, ns, "t"));
+		writer.add(events.createEndElement(prefix, ns, "is"));
+		writer.add(events.createEndElement(cellName, null));
+	}
+
+	private static List<? extends ZipEntry> entries(ZipFile zip) {
+		Enumeration<? extends ZipEntry> entries = zip.entries();
+		return Collections.list(entries);
+	}
+
+	private static void copy(InputStream in, OutputStream out) throws IOException {
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+	}
+}
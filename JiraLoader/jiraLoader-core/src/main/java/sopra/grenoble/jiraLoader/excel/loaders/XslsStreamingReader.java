@@ -0,0 +1,342 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Streaming reader of the Import sheet, based on the XSSF event model (SAX).
+ * The sheet is parsed by a background thread which pushes the {@link GenericModel} in a bounded queue,
+ * so the heap used does not depend on the number of rows.
+ * As for {@link XslsFileReaderAndWriter#isLastRow()}, the reading stops at the first row without "Type de demande".
+ *
+ * The reader must be closed to release the excel file.
+ */
+public class XslsStreamingReader implements IImportRowReader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XslsStreamingReader.class);
+
+	/**
+	 * Max number of rows parsed in advance
+	 */
+	private static final int QUEUE_CAPACITY = 500;
+
+	private static final long CLOSE_TIMEOUT_MS = 5000;
+
+	private final XslsStreamingWorkbook workbook;
+	private final boolean ownWorkbook;
+	private final BlockingQueue<StreamedRow> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final Thread producer;
+	private volatile boolean closed = false;
+
+	private StreamedRow nextRow = null;
+	private int rowNumber = -1;
+
+	/**
+	 * Default constructor. Start the parsing of the sheet.
+	 *
+	 * @param file
+	 *            : excel file
+	 * @param sheetName
+	 *            : name of the sheet to read
+	 * @param dtoFactory
+	 *            : return an empty DTO for a "Type de demande", or null if the type is not supported
+	 * @throws IOException
+	 *             if the file is not an excel file or if the sheet does not exist
+	 */
+	public XslsStreamingReader(File file, String sheetName, Function<String, ? extends GenericModel> dtoFactory) throws IOException {
+		this(XslsStreamingWorkbook.open(file), true, sheetName, dtoFactory);
+	}
+
+	/**
+	 * Constructor on a workbook already opened. The workbook is not closed by the reader.
+	 *
+	 * @param workbook
+	 * @param sheetName
+	 * @param dtoFactory
+	 * @throws IOException
+	 */
+	XslsStreamingReader(XslsStreamingWorkbook workbook, String sheetName, Function<String, ? extends GenericModel> dtoFactory) throws IOException {
+		this(workbook, false, sheetName, dtoFactory);
+	}
+
+	private XslsStreamingReader(XslsStreamingWorkbook workbook, boolean ownWorkbook, String sheetName, Function<String, ? extends GenericModel> dtoFactory)
+			throws IOException {
+		super();
+		this.workbook = workbook;
+		this.ownWorkbook = ownWorkbook;
+		try {
+			if (!workbook.getSheetNames().contains(sheetName)) {
+				throw new FileNotFoundException("The sheet <" + sheetName + "> does not exist in the excel file");
+			}
+		} catch (IOException e) {
+			if (ownWorkbook) {
+				workbook.close();
+			}
+			throw e;
+		}
+
+		this.producer = new Thread(() -> produce(sheetName, dtoFactory), "excel-streaming-reader");
+		this.producer.setDaemon(true);
+		this.producer.start();
+	}
+
+	/**
+	 * Read all the values of a small sheet (the Configuration sheet for instance) without loading the workbook.
+	 * @param file
+	 * @param sheetName
+	 * @return {@link SheetContent}
+	 * @throws IOException
+	 */
+	public static SheetContent readSheet(File file, String sheetName) throws IOException {
+		try (XslsStreamingWorkbook workbook = XslsStreamingWorkbook.open(file)) {
+			return readSheet(workbook, sheetName);
+		}
+	}
+
+	/**
+	 * Read all the values of a small sheet of a workbook already opened.
+	 * @param workbook
+	 * @param sheetName
+	 * @return {@link SheetContent}
+	 * @throws IOException
+	 */
+	static SheetContent readSheet(XslsStreamingWorkbook workbook, String sheetName) throws IOException {
+		final List<String[]> rows = new ArrayList<>();
+		workbook.parseSheet(sheetName, new RowValuesHandler() {
+			@Override
+			protected void row(int rowNum, String[] values) {
+				while (rows.size() < rowNum) {
+					rows.add(null);
+				}
+				rows.add(values);
+			}
+		});
+		return new SheetContent(rows);
+	}
+
+	/**
+	 * Return the sheet names of the excel file, in the workbook order
+	 * @param file
+	 * @return {@link List}
+	 * @throws IOException
+	 */
+	public static List<String> getSheetNames(File file) throws IOException {
+		try (XslsStreamingWorkbook workbook = XslsStreamingWorkbook.open(file)) {
+			return workbook.getSheetNames();
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextRow == null) {
+			nextRow = takeRow();
+		}
+		if (nextRow.end) {
+			if (nextRow.error != null) {
+				throw new IllegalStateException("Unable to read the excel sheet", nextRow.error);
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the next {@link GenericModel}, or null if its "Type de demande" is not supported by the dtoFactory
+	 */
+	@Override
+	public GenericModel next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		StreamedRow row = nextRow;
+		nextRow = null;
+		rowNumber = row.rowNumber;
+		return row.model;
+	}
+
+	@Override
+	public int getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * Stop the parsing and release the excel file if it has been opened by this reader. The file is never modified.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		producer.interrupt();
+		queue.clear();
+		try {
+			producer.join(CLOSE_TIMEOUT_MS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (ownWorkbook) {
+			workbook.close();
+		}
+	}
+
+	private StreamedRow takeRow() {
+		try {
+			return queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while reading the excel sheet", e);
+		}
+	}
+
+	/**
+	 * Body of the producer thread
+	 */
+	private void produce(String sheetName, Function<String, ? extends GenericModel> dtoFactory) {
+		Exception error = null;
+		try {
+			workbook.parseSheet(sheetName, new ModelHandler(dtoFactory));
+		} catch (EndOfDataException e) {
+			LOG.debug("Last row of the sheet " + sheetName + " has been reached");
+		} catch (IOException | RuntimeException e) {
+			error = e;
+		}
+		if (!closed) {
+			try {
+				queue.put(StreamedRow.end(error));
+			} catch (InterruptedException e) {
+				LOG.debug("Streaming reader closed before the end of the sheet");
+			}
+		}
+	}
+
+	/**
+	 * SAX handler which gathers the cell values of each row
+	 */
+	private abstract static class RowValuesHandler implements SheetContentsHandler {
+
+		private final List<String> values = new ArrayList<>();
+
+		/**
+		 * Called at the end of each row
+		 * @param rowNum
+		 * @param values : row values, indexed by column position
+		 */
+		protected abstract void row(int rowNum, String[] values);
+
+		@Override
+		public void startRow(int rowNum) {
+			values.clear();
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			row(rowNum, values.toArray(new String[values.size()]));
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int column = (cellReference != null) ? new CellReference(cellReference).getCol() : values.size();
+			while (values.size() <= column) {
+				values.add(null);
+			}
+			values.set(column, formattedValue);
+		}
+
+		@Override
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+			// no header and footer in the import sheet
+		}
+	}
+
+	/**
+	 * SAX handler which converts each row of the Import sheet in {@link GenericModel}
+	 */
+	private class ModelHandler extends RowValuesHandler {
+
+		private final Function<String, ? extends GenericModel> dtoFactory;
+		private ColumnIndex columnIndex = ColumnIndex.EMPTY;
+		private int expectedRowNum = 0;
+
+		ModelHandler(Function<String, ? extends GenericModel> dtoFactory) {
+			this.dtoFactory = dtoFactory;
+		}
+
+		@Override
+		protected void row(int rowNum, String[] values) {
+			if (rowNum == 0) {
+				columnIndex = ColumnIndex.fromValues(values);
+				expectedRowNum = 1;
+				return;
+			}
+			// a missing row or a row without type is the last row
+			final int typeDemandePosition = columnIndex.getPosition("Type de demande");
+			if (rowNum != expectedRowNum || typeDemandePosition == ColumnIndex.NOT_FOUND || typeDemandePosition >= values.length
+					|| values[typeDemandePosition] == null || values[typeDemandePosition].length() == 0) {
+				throw new EndOfDataException();
+			}
+			expectedRowNum++;
+
+			GenericModel model = dtoFactory.apply(values[typeDemandePosition]);
+			if (model != null) {
+				model.loadValues(rowNum, values, columnIndex);
+			}
+			try {
+				queue.put(new StreamedRow(rowNum, model));
+			} catch (InterruptedException e) {
+				throw new EndOfDataException();
+			}
+		}
+	}
+
+	/**
+	 * Element of the queue
+	 */
+	private static final class StreamedRow {
+		private final int rowNumber;
+		private final GenericModel model;
+		private final boolean end;
+		private final Exception error;
+
+		StreamedRow(int rowNumber, GenericModel model) {
+			this(rowNumber, model, false, null);
+		}
+
+		private StreamedRow(int rowNumber, GenericModel model, boolean end, Exception error) {
+			this.rowNumber = rowNumber;
+			this.model = model;
+			this.end = end;
+			this.error = error;
+		}
+
+		static StreamedRow end(Exception error) {
+			return new StreamedRow(-1, null, true, error);
+		}
+	}
+
+	/**
+	 * Raised by the handler to stop the parsing when the last row has been reached
+	 */
+	private static final class EndOfDataException extends RuntimeException {
+
+		private static final long serialVersionUID = 4893274618201935710L;
+
+		EndOfDataException() {
+			super(null, null, false, false);
+		}
+	}
+}
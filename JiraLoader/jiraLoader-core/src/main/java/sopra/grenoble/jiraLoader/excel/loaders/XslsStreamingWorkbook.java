@@ -0,0 +1,149 @@
+package sopra.grenoble.jiraLoader.excel.loaders;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel file opened in read only mode for the streaming readers.
+ * The package, the shared strings and the styles are loaded once and shared by all the sheets parsed.
+ */
+final class XslsStreamingWorkbook implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XslsStreamingWorkbook.class);
+
+	private final OPCPackage opcPackage;
+	private final XSSFReader reader;
+	private final ReadOnlySharedStringsTable strings;
+	private final StylesTable styles;
+
+	private XslsStreamingWorkbook(OPCPackage opcPackage) throws IOException {
+		super();
+		this.opcPackage = opcPackage;
+		try {
+			this.reader = new XSSFReader(opcPackage);
+			this.strings = new ReadOnlySharedStringsTable(opcPackage);
+			this.styles = reader.getStylesTable();
+		} catch (OpenXML4JException | SAXException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Open the excel file in read only mode. The workbook must be closed.
+	 * @param file
+	 * @return {@link XslsStreamingWorkbook}
+	 * @throws IOException if the file is not an excel file
+	 */
+	static XslsStreamingWorkbook open(File file) throws IOException {
+		if (file == null || !file.isFile()) {
+			LOG.error("The file passed in parameter is not a file or cannot be accessed");
+			throw new FileNotFoundException("The file passed in parameter is not a file or cannot be accessed");
+		}
+		OPCPackage pkg;
+		try {
+			pkg = OPCPackage.open(file.getPath(), PackageAccess.READ);
+		} catch (InvalidFormatException | RuntimeException e) {
+			LOG.error("The input file is not an excel file", e);
+			throw new IOException(e);
+		}
+		try {
+			return new XslsStreamingWorkbook(pkg);
+		} catch (IOException | RuntimeException e) {
+			pkg.revert();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the sheet names, in the workbook order
+	 * @throws IOException
+	 */
+	List<String> getSheetNames() throws IOException {
+		List<String> names = new ArrayList<>();
+		XSSFReader.SheetIterator sheets = sheetIterator();
+		while (sheets.hasNext()) {
+			sheets.next().close();
+			names.add(sheets.getSheetName());
+		}
+		return names;
+	}
+
+	/**
+	 * @param sheetName
+	 * @return the zip entry name of the sheet XML (xl/worksheets/sheetN.xml)
+	 * @throws IOException
+	 */
+	String getSheetEntryName(String sheetName) throws IOException {
+		XSSFReader.SheetIterator sheets = sheetIterator();
+		while (sheets.hasNext()) {
+			sheets.next().close();
+			if (sheetName.equals(sheets.getSheetName())) {
+				// part names start with a '/', zip entry names don't
+				return sheets.getSheetPart().getPartName().getName().substring(1);
+			}
+		}
+		throw new FileNotFoundException("The sheet <" + sheetName + "> does not exist in the excel file");
+	}
+
+	/**
+	 * Parse the sheet with the SAX handler
+	 * @param sheetName
+	 * @param handler
+	 * @throws IOException
+	 */
+	void parseSheet(String sheetName, SheetContentsHandler handler) throws IOException {
+		XSSFReader.SheetIterator sheets = sheetIterator();
+		while (sheets.hasNext()) {
+			try (InputStream sheetStream = sheets.next()) {
+				if (sheetName.equals(sheets.getSheetName())) {
+					XMLReader parser = SAXHelper.newXMLReader();
+					parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, handler, new DataFormatter(), false));
+					parser.parse(new InputSource(sheetStream));
+					return;
+				}
+			} catch (SAXException | ParserConfigurationException e) {
+				throw new IOException(e);
+			}
+		}
+		throw new FileNotFoundException("The sheet <" + sheetName + "> does not exist in the excel file");
+	}
+
+	private XSSFReader.SheetIterator sheetIterator() throws IOException {
+		try {
+			return (XSSFReader.SheetIterator) reader.getSheetsData();
+		} catch (OpenXML4JException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Release the excel file. The file is never modified.
+	 */
+	@Override
+	public void close() {
+		opcPackage.revert();
+	}
+}
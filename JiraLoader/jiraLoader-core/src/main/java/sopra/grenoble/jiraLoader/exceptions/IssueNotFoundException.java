@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class IssueNotFoundException extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = 6298970811312183255L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class IssueNotFoundException extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 6298970811312183255L;
+
+}
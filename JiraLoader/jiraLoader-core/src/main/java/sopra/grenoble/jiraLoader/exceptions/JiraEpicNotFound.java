@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class JiraEpicNotFound extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = 1L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class JiraEpicNotFound extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+}
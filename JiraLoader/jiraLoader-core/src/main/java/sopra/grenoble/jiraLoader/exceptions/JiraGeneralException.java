@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class JiraGeneralException extends Exception {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = 2301849596490943249L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class JiraGeneralException extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2301849596490943249L;
+
+}
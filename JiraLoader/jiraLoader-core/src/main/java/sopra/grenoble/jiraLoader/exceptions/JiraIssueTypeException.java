@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class JiraIssueTypeException extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -1435290787036997371L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class JiraIssueTypeException extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -1435290787036997371L;
+
+}
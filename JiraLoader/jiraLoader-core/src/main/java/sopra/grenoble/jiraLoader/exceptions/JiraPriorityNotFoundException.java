@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class JiraPriorityNotFoundException extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -7820003138022656850L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class JiraPriorityNotFoundException extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -7820003138022656850L;
+
+}
@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class JiraUserNotFoundException extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -6304252783933353094L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class JiraUserNotFoundException extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -6304252783933353094L;
+
+}
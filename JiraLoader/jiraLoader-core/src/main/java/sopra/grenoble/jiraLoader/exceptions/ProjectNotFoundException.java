@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class ProjectNotFoundException extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = 8368770100301608436L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class ProjectNotFoundException extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 8368770100301608436L;
+
+}
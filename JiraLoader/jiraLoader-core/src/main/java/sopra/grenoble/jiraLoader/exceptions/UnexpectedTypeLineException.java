@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class UnexpectedTypeLineException extends Exception {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -6149998706340206380L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class UnexpectedTypeLineException extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -6149998706340206380L;
+
+}
@@ -1,10 +1,10 @@
-package sopra.grenoble.jiraLoader.exceptions;
-
-public class VersionNotFoundException extends JiraGeneralException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -7486655011525388567L;
-
-}
+package sopra.grenoble.jiraLoader.exceptions;
+
+public class VersionNotFoundException extends JiraGeneralException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -7486655011525388567L;
+
+}
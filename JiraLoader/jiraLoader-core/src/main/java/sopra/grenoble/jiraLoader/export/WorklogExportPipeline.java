@@ -0,0 +1,216 @@
+package sopra.grenoble.jiraLoader.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+import sopra.grenoble.jiraLoader.excel.loaders.IWorklogWriter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Export the worklogs of issues while they are loaded :
+ * <li> a thread reads the keys of the issues and submits their loading, with a bounded number of issues loaded at the same time
+ * <li> the loading threads push the {@link WorklogRecord} of each issue in a bounded queue, the issue itself is not kept
+ * <li> the calling thread writes the records of the queue as soon as they arrive
+ *
+ * The memory used depends on the size of the queue and the number of threads, not on the number of issues.
+ * The rows are written in the order the issues are loaded, not in the order of the keys.
+ * Several pipelines can share the same loading executor, to export several projects with a bounded number of connections.
+ */
+public class WorklogExportPipeline {
+
+	private static final Logger LOG = LoggerFactory.getLogger(WorklogExportPipeline.class);
+
+	/**
+	 * Marker of the end of the records
+	 */
+	private static final WorklogRecord END = new WorklogRecord(null, null, null, null, null, null, null);
+
+	/**
+	 * Load the records of an issue
+	 */
+	public interface IWorklogLoader {
+		/**
+		 * @param issueKey
+		 * @return the records to export for this issue, empty if none
+		 */
+		List<WorklogRecord> load(String issueKey);
+	}
+
+	/**
+	 * Time between two checks of the end of the export by a loading thread waiting for room in the queue
+	 */
+	private static final long OFFER_TIMEOUT_MS = 100;
+
+	private final ExecutorService sharedExecutor;
+	private final int threads;
+	private final int queueSize;
+
+	/**
+	 * Default constructor : the issues are loaded by threads created for each run
+	 * @param threads : max number of issues loaded at the same time
+	 * @param queueSize : max number of records waiting to be written
+	 */
+	public WorklogExportPipeline(int threads, int queueSize) {
+		this(null, threads, queueSize);
+	}
+
+	/**
+	 * @param executor : executor loading the issues, shared with other pipelines and not shut down by the pipeline
+	 * @param threads : max number of issues of this pipeline loaded at the same time
+	 * @param queueSize : max number of records waiting to be written
+	 */
+	public WorklogExportPipeline(ExecutorService executor, int threads, int queueSize) {
+		super();
+		this.sharedExecutor = executor;
+		this.threads = Math.max(1, threads);
+		this.queueSize = Math.max(1, queueSize);
+	}
+
+	/**
+	 * Load the issues and write their records. The writer is not closed.
+	 * @param issueKeys : keys of the issues, a key returned twice is loaded once
+	 * @param loader
+	 * @param writer
+	 * @return the number of issues loaded
+	 * @throws IOException error of the writer
+	 * @throws RuntimeException error while reading the keys or loading an issue
+	 */
+	public int run(Iterator<String> issueKeys, IWorklogLoader loader, IWorklogWriter writer) throws IOException {
+		final long start = System.currentTimeMillis();
+		final BlockingQueue<WorklogRecord> queue = new ArrayBlockingQueue<>(queueSize);
+		final AtomicReference<RuntimeException> error = new AtomicReference<>();
+		final AtomicInteger loadedIssues = new AtomicInteger();
+		// set when the writing is over : the loading threads stop waiting for room in the queue
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final ExecutorService executor = (sharedExecutor != null) ? sharedExecutor : newExecutor(threads);
+
+		Thread producer = new Thread(() -> {
+			// an issue is submitted only when a loading thread is free, the keys are not read in advance
+			Semaphore slots = new Semaphore(threads);
+			Set<String> keys = new HashSet<>();
+			try {
+				while (error.get() == null && issueKeys.hasNext()) {
+					String key = issueKeys.next();
+					if (!keys.add(key)) {
+						continue;
+					}
+					slots.acquire();
+					try {
+						executor.execute(() -> {
+							try {
+								if (error.get() == null && !stopped.get()) {
+									for (WorklogRecord record : loader.load(key)) {
+										if (!put(queue, record, stopped)) {
+											return;
+										}
+									}
+									loadedIssues.incrementAndGet();
+								}
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							} catch (RuntimeException e) {
+								error.compareAndSet(null, e);
+							} finally {
+								slots.release();
+							}
+						});
+					} catch (RejectedExecutionException e) {
+						slots.release();
+						throw e;
+					}
+				}
+				// all the slots are free when the last issue is loaded
+				slots.acquire(threads);
+				queue.put(END);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RuntimeException e) {
+				error.compareAndSet(null, e);
+				putEnd(queue);
+			}
+		}, "worklog-export-search");
+		producer.setDaemon(true);
+		producer.start();
+
+		try {
+			long firstRow = -1;
+			WorklogRecord record;
+			while ((record = take(queue)) != END) {
+				writer.write(record);
+				if (firstRow < 0) {
+					firstRow = System.currentTimeMillis() - start;
+					LOG.info("First row written after " + firstRow + " ms");
+				}
+			}
+		} finally {
+			// stop the loading if the writer has failed
+			stopped.set(true);
+			producer.interrupt();
+			if (sharedExecutor == null) {
+				executor.shutdownNow();
+			}
+		}
+		if (error.get() != null) {
+			throw error.get();
+		}
+		long duration = Math.max(1, System.currentTimeMillis() - start);
+		LOG.info(loadedIssues.get() + " issue(s) loaded and " + writer.getRowCount() + " row(s) written in " + duration + " ms ("
+				+ (loadedIssues.get() * 1000 / duration) + " issues/s)");
+		return loadedIssues.get();
+	}
+
+	private static ExecutorService newExecutor(int threads) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, (runnable) -> {
+			Thread thread = new Thread(runnable, "worklog-export-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Put a record in the queue, waiting for room until the end of the writing
+	 * @return false if the writing is over, the record is dropped
+	 */
+	private static boolean put(BlockingQueue<WorklogRecord> queue, WorklogRecord record, AtomicBoolean stopped) throws InterruptedException {
+		while (!queue.offer(record, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+			if (stopped.get()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static WorklogRecord take(BlockingQueue<WorklogRecord> queue) throws IOException {
+		try {
+			return queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Export interrupted", e);
+		}
+	}
+
+	/**
+	 * Put the end marker after an error : the records not written yet are dropped to make room
+	 */
+	private static void putEnd(BlockingQueue<WorklogRecord> queue) {
+		while (!queue.offer(END)) {
+			queue.poll();
+		}
+	}
+}
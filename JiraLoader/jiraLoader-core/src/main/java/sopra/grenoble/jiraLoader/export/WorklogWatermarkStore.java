@@ -0,0 +1,131 @@
+package sopra.grenoble.jiraLoader.export;
+
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+import sopra.grenoble.jiraLoader.excel.loaders.ExcelFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * State of the incremental worklog export : for each project, the end of the window of the last export.
+ * The next export only writes the worklogs updated after this date, except the worklogs already exported :
+ * the revisions ({@link WorklogRecord#getRevision()}) of the worklogs exported after this date are kept with it.
+ * The state is kept in a properties file, one line per project and one line for its revisions.
+ */
+public class WorklogWatermarkStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(WorklogWatermarkStore.class);
+
+	/**
+	 * Suffix of the key of the revisions of a project
+	 */
+	private static final String EXPORTED_SUFFIX = ".exported";
+	private static final String SEPARATOR = ",";
+
+	private final File file;
+
+	/**
+	 * Default constructor
+	 * @param file : state file, created on the first {@link #put(String, DateTime)}
+	 */
+	public WorklogWatermarkStore(File file) {
+		super();
+		this.file = file;
+	}
+
+	/**
+	 * @param projectName
+	 * @return the end of the window of the last export of the project, null if the project has never been exported
+	 * @throws IOException the state file can't be read
+	 */
+	public DateTime get(String projectName) throws IOException {
+		String value = load().getProperty(projectName);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return DateTime.parse(value);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid date " + value + " for the project " + projectName + " in " + file, e);
+		}
+	}
+
+	/**
+	 * @param projectName
+	 * @return the revisions of the worklogs updated after {@link #get(String)} and already exported
+	 * @throws IOException the state file can't be read
+	 */
+	public Set<String> getExported(String projectName) throws IOException {
+		String value = load().getProperty(projectName + EXPORTED_SUFFIX, "");
+		Set<String> revisions = new HashSet<>();
+		for (String revision : value.split(SEPARATOR)) {
+			if (!revision.isEmpty()) {
+				revisions.add(revision);
+			}
+		}
+		return revisions;
+	}
+
+	/**
+	 * Save the end of the window of the export of the project, the other projects are kept
+	 * @param projectName
+	 * @param watermark
+	 * @throws IOException
+	 */
+	public void put(String projectName, DateTime watermark) throws IOException {
+		put(projectName, watermark, Collections.emptySet());
+	}
+
+	/**
+	 * Save the end of the window of the export of the project, the other projects are kept.
+	 * The file is written in a temporary file renamed at the end, so an interrupted write keeps the previous state.
+	 * @param projectName
+	 * @param watermark
+	 * @param exported : revisions of the worklogs updated after the watermark and already exported
+	 * @throws IOException
+	 */
+	public synchronized void put(String projectName, DateTime watermark, Collection<String> exported) throws IOException {
+		Properties properties = load();
+		properties.setProperty(projectName, watermark.toString());
+		if (exported.isEmpty()) {
+			properties.remove(projectName + EXPORTED_SUFFIX);
+		} else {
+			properties.setProperty(projectName + EXPORTED_SUFFIX, String.join(SEPARATOR, new TreeSet<>(exported)));
+		}
+		Path parent = file.toPath().toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		final Path tmpFile = ExcelFileUtils.createTempFileNextTo(file);
+		try {
+			try (OutputStream out = Files.newOutputStream(tmpFile)) {
+				properties.store(out, "End of the window of the last export, by project");
+			}
+			ExcelFileUtils.replaceFile(tmpFile, file);
+			LOG.info("Export state of " + projectName + " saved : " + watermark);
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	private Properties load() throws IOException {
+		Properties properties = new Properties();
+		if (file.isFile()) {
+			try (InputStream in = Files.newInputStream(file.toPath())) {
+				properties.load(in);
+			}
+		}
+		return properties;
+	}
+}
@@ -0,0 +1,28 @@
+package sopra.grenoble.jiraLoader.injection;
+
+/**
+ * Thrown by an {@link IBatchInjector} when some rows of the batch have not been injected, the other ones being injected.
+ */
+public class BatchInjectionException extends Exception {
+
+	private static final long serialVersionUID = 4151297470135874162L;
+
+	private final int failedRows;
+
+	/**
+	 * Default constructor
+	 * @param failedRows : number of rows of the batch not injected
+	 * @param cause : error of the first row not injected
+	 */
+	public BatchInjectionException(int failedRows, Throwable cause) {
+		super(failedRows + " row(s) of the batch not injected", cause);
+		this.failedRows = failedRows;
+	}
+
+	/**
+	 * @return the number of rows of the batch not injected
+	 */
+	public int getFailedRows() {
+		return failedRows;
+	}
+}
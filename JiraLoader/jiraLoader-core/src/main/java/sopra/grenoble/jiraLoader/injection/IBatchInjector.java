@@ -0,0 +1,16 @@
+package sopra.grenoble.jiraLoader.injection;
+
+/**
+ * Inject a batch of rows in JIRA. Called by the {@link InjectionEngine} from several threads.
+ */
+@FunctionalInterface
+public interface IBatchInjector {
+
+	/**
+	 * Inject the rows of the batch. The dependencies of the batch have already been injected.
+	 * @param batch
+	 * @throws BatchInjectionException if some rows have not been injected, the other ones being injected : the injection is stopped
+	 * @throws Exception if the batch has not been injected : the injection is stopped
+	 */
+	void inject(InjectionBatch batch) throws Exception;
+}
@@ -0,0 +1,76 @@
+package sopra.grenoble.jiraLoader.injection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rows of the {@link InjectionGraph} injected together : the stories of the same epic, or the sub-tasks of the same story,
+ * so they can be created with one bulk call. The other rows are alone in their batch.
+ * The batch can be injected when all the batches of its dependencies have been injected.
+ */
+public final class InjectionBatch {
+
+	private final List<InjectionNode> nodes = new ArrayList<>();
+
+	private final List<InjectionBatch> dependencies = new ArrayList<>();
+	private final List<InjectionBatch> dependents = new ArrayList<>();
+
+	/**
+	 * Number of dependencies not injected yet, used by the {@link InjectionEngine}
+	 */
+	final AtomicInteger pendingDependencies = new AtomicInteger();
+
+	InjectionBatch() {
+		super();
+	}
+
+	void add(InjectionNode node) {
+		nodes.add(node);
+	}
+
+	/**
+	 * Add a dependency : this batch is injected after the batch passed in parameter
+	 * @param dependency
+	 */
+	void addDependency(InjectionBatch dependency) {
+		if (dependency != this && !dependencies.contains(dependency)) {
+			dependencies.add(dependency);
+			dependency.dependents.add(this);
+		}
+	}
+
+	/**
+	 * @return the rows of the batch, in the excel file order
+	 */
+	public List<InjectionNode> getNodes() {
+		return Collections.unmodifiableList(nodes);
+	}
+
+	/**
+	 * @return the batches injected before this batch
+	 */
+	public List<InjectionBatch> getDependencies() {
+		return Collections.unmodifiableList(dependencies);
+	}
+
+	/**
+	 * @return the batches waiting for this batch
+	 */
+	public List<InjectionBatch> getDependents() {
+		return Collections.unmodifiableList(dependents);
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	@Override
+	public String toString() {
+		return (nodes.size() == 1) ? nodes.get(0).toString() : "Rows " + nodes;
+	}
+}
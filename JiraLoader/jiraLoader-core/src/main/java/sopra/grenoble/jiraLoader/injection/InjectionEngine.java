@@ -0,0 +1,142 @@
+package sopra.grenoble.jiraLoader.injection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inject the rows of an {@link InjectionGraph} with a bounded number of threads.
+ * A batch of rows is submitted as soon as all its dependencies have been injected, so the independent batches are injected concurrently.
+ *
+ * As for the sequential injection, the injection stops at the first error : the batches already started are finished,
+ * and no other batch is started. All the rows of a batch in error are counted as failed.
+ */
+public class InjectionEngine {
+
+	private static final Logger LOG = LoggerFactory.getLogger(InjectionEngine.class);
+
+	private final int threads;
+
+	/**
+	 * Default constructor
+	 * @param threads : max number of batches injected at the same time
+	 */
+	public InjectionEngine(int threads) {
+		super();
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Inject all the rows of the graph. The function returns when no batch is being injected anymore.
+	 * @param graph
+	 * @param injector
+	 * @return {@link InjectionReport}
+	 */
+	public InjectionReport run(InjectionGraph graph, IBatchInjector injector) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, (runnable) -> {
+			Thread thread = new Thread(runnable, "jira-injection-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		Run run = new Run(executor, injector);
+		try {
+			for (InjectionBatch batch : graph.getBatches()) {
+				batch.pendingDependencies.set(batch.getDependencies().size());
+			}
+			for (InjectionBatch batch : graph.getBatches()) {
+				if (batch.getDependencies().isEmpty()) {
+					run.submit(batch);
+				}
+			}
+			run.awaitEnd();
+		} finally {
+			executor.shutdown();
+		}
+		return new InjectionReport(graph.size(), run.injected.get(), run.failed.get());
+	}
+
+	/**
+	 * State of an injection
+	 */
+	private static final class Run {
+		private final ExecutorService executor;
+		private final IBatchInjector injector;
+		private final AtomicBoolean stopped = new AtomicBoolean(false);
+		private final AtomicInteger injected = new AtomicInteger();
+		private final AtomicInteger failed = new AtomicInteger();
+
+		/**
+		 * Number of batches submitted and not finished
+		 */
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final Object endLock = new Object();
+
+		Run(ExecutorService executor, IBatchInjector injector) {
+			this.executor = executor;
+			this.injector = injector;
+		}
+
+		void submit(InjectionBatch batch) {
+			inFlight.incrementAndGet();
+			executor.execute(() -> inject(batch));
+		}
+
+		private void inject(InjectionBatch batch) {
+			try {
+				if (stopped.get()) {
+					return;
+				}
+				injector.inject(batch);
+				injected.addAndGet(batch.size());
+
+				// the dependents are submitted before this batch is finished, so inFlight can't reach 0 in between
+				for (InjectionBatch dependent : batch.getDependents()) {
+					if (dependent.pendingDependencies.decrementAndGet() == 0 && !stopped.get()) {
+						submit(dependent);
+					}
+				}
+			} catch (BatchInjectionException e) {
+				LOG.error(batch + " : error while processing row in JIRA", e);
+				int failedRows = Math.min(e.getFailedRows(), batch.size());
+				injected.addAndGet(batch.size() - failedRows);
+				failed.addAndGet(failedRows);
+				stopped.set(true);
+			} catch (Exception e) {
+				LOG.error(batch + " : error while processing row in JIRA", e);
+				failed.addAndGet(batch.size());
+				stopped.set(true);
+			} finally {
+				if (inFlight.decrementAndGet() == 0) {
+					synchronized (endLock) {
+						endLock.notifyAll();
+					}
+				}
+			}
+		}
+
+		/**
+		 * Wait until no batch is being injected. If the thread is interrupted, no other batch is started.
+		 */
+		void awaitEnd() {
+			boolean interrupted = false;
+			synchronized (endLock) {
+				while (inFlight.get() != 0) {
+					try {
+						endLock.wait();
+					} catch (InterruptedException e) {
+						interrupted = true;
+						stopped.set(true);
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package sopra.grenoble.jiraLoader.injection;
+
+import sopra.grenoble.jiraLoader.excel.dto.Epic;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
+import sopra.grenoble.jiraLoader.excel.dto.Version;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dependency graph of the rows of the Import sheet :
+ * <li> the versions and the epics only depend on the version or the epic with the same name above them :
+ * the first row creates it, the next ones retrieve it instead of creating it again
+ * <li> a story depends on all the versions and epics of the file
+ * <li> a sub-task depends on its story : the last story above it in the file
+ * <li> a story or a sub-task linked ("Lien" column) to a row above it depends on this row
+ * <li> when the stories are searched by name before their creation, a story depends on the row above it with the same summary :
+ * the story created by this row is retrieved instead of being created twice
+ *
+ * The graph has no cycle : a row only depends on the rows above it, apart from the stories depending on the versions and epics below them,
+ * which have no dependency on a story.
+ *
+ * The consecutive rows are grouped in {@link InjectionBatch} to be created with the bulk API of JIRA :
+ * <li> the stories of the same epic
+ * <li> the sub-tasks of the same story
+ * The rows with a link, the versions and the epics are alone in their batch. A batch depends on the batches of the dependencies of its rows :
+ * as a batch only contains consecutive rows, the batches have no cycle either.
+ */
+public final class InjectionGraph {
+
+	private final List<InjectionNode> nodes;
+	private final List<InjectionBatch> batches;
+
+	private InjectionGraph(List<InjectionNode> nodes, List<InjectionBatch> batches) {
+		super();
+		this.nodes = Collections.unmodifiableList(nodes);
+		this.batches = Collections.unmodifiableList(batches);
+	}
+
+	/**
+	 * Build the graph of the rows, each row in its own batch
+	 * @param rows : DTO of the rows, in the excel file order
+	 * @return {@link InjectionGraph}
+	 */
+	public static InjectionGraph build(List<? extends GenericModel> rows) {
+		return build(rows, 1);
+	}
+
+	/**
+	 * Build the graph of the rows
+	 * @param rows : DTO of the rows, in the excel file order
+	 * @param maxBatchSize : max number of rows in a batch, 1 to inject the rows one by one
+	 * @return {@link InjectionGraph}
+	 */
+	public static InjectionGraph build(List<? extends GenericModel> rows, int maxBatchSize) {
+		return build(rows, maxBatchSize, false);
+	}
+
+	/**
+	 * Build the graph of the rows
+	 * @param rows : DTO of the rows, in the excel file order
+	 * @param maxBatchSize : max number of rows in a batch, 1 to inject the rows one by one
+	 * @param searchStoryByName : true if a story is searched by name before being created
+	 * @return {@link InjectionGraph}
+	 */
+	public static InjectionGraph build(List<? extends GenericModel> rows, int maxBatchSize, boolean searchStoryByName) {
+		List<InjectionNode> nodes = new ArrayList<>(rows.size());
+		List<InjectionNode> versionsAndEpics = new ArrayList<>();
+		for (GenericModel row : rows) {
+			InjectionNode node = new InjectionNode(row);
+			nodes.add(node);
+			if (row instanceof Version || row instanceof Epic) {
+				versionsAndEpics.add(node);
+			}
+		}
+
+		// rows above the current row, by summary, for the links and the stories with the same summary
+		Map<String, InjectionNode> nodesByResume = new HashMap<>();
+		// versions and epics above the current row, by name
+		Map<String, InjectionNode> versionsByName = new HashMap<>();
+		Map<String, InjectionNode> epicsByName = new HashMap<>();
+		InjectionNode lastStory = null;
+		for (InjectionNode node : nodes) {
+			GenericModel row = node.getModel();
+			if (row instanceof Version && row.versionName != null) {
+				node.addDependency(versionsByName.get(row.versionName));
+				versionsByName.put(row.versionName, node);
+			} else if (row instanceof Epic && row.resume != null) {
+				node.addDependency(epicsByName.get(row.resume));
+				epicsByName.put(row.resume, node);
+			} else if (row instanceof Story) {
+				versionsAndEpics.forEach(node::addDependency);
+				lastStory = node;
+				if (searchStoryByName && row.resume != null) {
+					node.addDependency(nodesByResume.get(row.resume));
+				}
+			} else if (row instanceof SubTasks) {
+				if (lastStory != null) {
+					node.setParent(lastStory);
+				}
+			}
+			if ((row instanceof Story || row instanceof SubTasks) && row.linkTargetName != null) {
+				node.addDependency(nodesByResume.get(row.linkTargetName));
+			}
+			if (row.resume != null) {
+				nodesByResume.put(row.resume, node);
+			}
+		}
+		return new InjectionGraph(nodes, buildBatches(nodes, maxBatchSize));
+	}
+
+	/**
+	 * Group the nodes in batches, in the excel file order
+	 * @param nodes
+	 * @param maxBatchSize
+	 * @return the batches
+	 */
+	private static List<InjectionBatch> buildBatches(List<InjectionNode> nodes, int maxBatchSize) {
+		List<InjectionBatch> batches = new ArrayList<>();
+		Map<InjectionNode, InjectionBatch> batchByNode = new HashMap<>();
+		// batch being filled and its key : epic name for the stories, story for the sub-tasks.
+		// It is closed by a row of another group, so a batch only contains consecutive rows
+		InjectionBatch openBatch = null;
+		Object openGroupKey = null;
+		for (InjectionNode node : nodes) {
+			Object groupKey = getGroupKey(node);
+			if (groupKey == null || !groupKey.equals(openGroupKey) || openBatch.size() >= maxBatchSize) {
+				openBatch = new InjectionBatch();
+				openGroupKey = groupKey;
+				batches.add(openBatch);
+			}
+			openBatch.add(node);
+			batchByNode.put(node, openBatch);
+		}
+
+		for (InjectionNode node : nodes) {
+			InjectionBatch batch = batchByNode.get(node);
+			for (InjectionNode dependency : node.getDependencies()) {
+				batch.addDependency(batchByNode.get(dependency));
+			}
+		}
+		return batches;
+	}
+
+	/**
+	 * @param node
+	 * @return the key of the batch of the node, or null if the node must be alone in its batch
+	 */
+	private static Object getGroupKey(InjectionNode node) {
+		GenericModel row = node.getModel();
+		if (row.linkTargetName != null) {
+			return null;
+		}
+		if (row instanceof Story) {
+			return Arrays.asList(Story.class, row.epicName);
+		}
+		if (row instanceof SubTasks && node.getParent() != null) {
+			return node.getParent();
+		}
+		return null;
+	}
+
+	/**
+	 * @return all the nodes, in the excel file order
+	 */
+	public List<InjectionNode> getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return the batches of rows, in the excel file order of their first row
+	 */
+	public List<InjectionBatch> getBatches() {
+		return batches;
+	}
+
+	/**
+	 * @return the nodes without dependency
+	 */
+	public List<InjectionNode> getRoots() {
+		List<InjectionNode> roots = new ArrayList<>();
+		for (InjectionNode node : nodes) {
+			if (node.getDependencies().isEmpty()) {
+				roots.add(node);
+			}
+		}
+		return roots;
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int size() {
+		return nodes.size();
+	}
+}
@@ -0,0 +1,78 @@
+package sopra.grenoble.jiraLoader.injection;
+
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A row of the Import sheet in the {@link InjectionGraph}.
+ * The row can be injected when all its dependencies have been injected.
+ */
+public final class InjectionNode {
+
+	private final GenericModel model;
+
+	/**
+	 * The story of a sub-task, null for the other rows
+	 */
+	private InjectionNode parent;
+
+	private final List<InjectionNode> dependencies = new ArrayList<>();
+	private final List<InjectionNode> dependents = new ArrayList<>();
+
+	InjectionNode(GenericModel model) {
+		super();
+		this.model = model;
+	}
+
+	/**
+	 * Add a dependency : this node is injected after the node passed in parameter
+	 * @param dependency
+	 */
+	void addDependency(InjectionNode dependency) {
+		if (dependency != null && dependency != this && !dependencies.contains(dependency)) {
+			dependencies.add(dependency);
+			dependency.dependents.add(this);
+		}
+	}
+
+	void setParent(InjectionNode parent) {
+		this.parent = parent;
+		addDependency(parent);
+	}
+
+	/**
+	 * @return the DTO of the row
+	 */
+	public GenericModel getModel() {
+		return model;
+	}
+
+	/**
+	 * @return the node of the story for a sub-task, null otherwise
+	 */
+	public InjectionNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * @return the nodes injected before this node
+	 */
+	public List<InjectionNode> getDependencies() {
+		return Collections.unmodifiableList(dependencies);
+	}
+
+	/**
+	 * @return the nodes waiting for this node
+	 */
+	public List<InjectionNode> getDependents() {
+		return Collections.unmodifiableList(dependents);
+	}
+
+	@Override
+	public String toString() {
+		return "Row <" + model.rowNumber + "> " + model.typeDemande;
+	}
+}
@@ -0,0 +1,49 @@
+package sopra.grenoble.jiraLoader.injection;
+
+/**
+ * Result of an injection
+ */
+public final class InjectionReport {
+
+	private final int rows;
+	private final int injectedRows;
+	private final int failedRows;
+
+	public InjectionReport(int rows, int injectedRows, int failedRows) {
+		super();
+		this.rows = rows;
+		this.injectedRows = injectedRows;
+		this.failedRows = failedRows;
+	}
+
+	/**
+	 * @return true if all the rows have been injected
+	 */
+	public boolean isComplete() {
+		return injectedRows == rows;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getInjectedRows() {
+		return injectedRows;
+	}
+
+	public int getFailedRows() {
+		return failedRows;
+	}
+
+	/**
+	 * @return the number of rows not started because of an error
+	 */
+	public int getNotInjectedRows() {
+		return rows - injectedRows - failedRows;
+	}
+
+	@Override
+	public String toString() {
+		return injectedRows + "/" + rows + " row(s) injected, " + failedRows + " in error, " + getNotInjectedRows() + " not started";
+	}
+}
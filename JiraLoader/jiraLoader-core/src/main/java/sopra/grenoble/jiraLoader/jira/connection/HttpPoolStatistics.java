@@ -0,0 +1,92 @@
+package sopra.grenoble.jiraLoader.jira.connection;
+
+/**
+ * State of the HTTP connection pool at a given time, see {@link InstrumentedHttpConnectionManager#getStatistics()}
+ */
+public final class HttpPoolStatistics {
+
+	private final int leased;
+	private final int idle;
+	private final int pending;
+	private final int maxTotal;
+	private final int maxPerHost;
+	private final long leaseCount;
+	private final long totalWaitMs;
+	private final long maxWaitMs;
+
+	public HttpPoolStatistics(int leased, int idle, int pending, int maxTotal, int maxPerHost, long leaseCount, long totalWaitMs,
+			long maxWaitMs) {
+		super();
+		this.leased = leased;
+		this.idle = idle;
+		this.pending = pending;
+		this.maxTotal = maxTotal;
+		this.maxPerHost = maxPerHost;
+		this.leaseCount = leaseCount;
+		this.totalWaitMs = totalWaitMs;
+		this.maxWaitMs = maxWaitMs;
+	}
+
+	/**
+	 * @return number of connections used by a request
+	 */
+	public int getLeased() {
+		return leased;
+	}
+
+	/**
+	 * @return number of open connections waiting for a request
+	 */
+	public int getIdle() {
+		return idle;
+	}
+
+	/**
+	 * @return number of requests waiting for a connection
+	 */
+	public int getPending() {
+		return pending;
+	}
+
+	public int getMaxTotal() {
+		return maxTotal;
+	}
+
+	public int getMaxPerHost() {
+		return maxPerHost;
+	}
+
+	/**
+	 * @return number of connections given to a request since the creation of the pool
+	 */
+	public long getLeaseCount() {
+		return leaseCount;
+	}
+
+	/**
+	 * @return time waited by the requests for a connection since the creation of the pool
+	 */
+	public long getTotalWaitMs() {
+		return totalWaitMs;
+	}
+
+	/**
+	 * @return longest time waited by a request for a connection
+	 */
+	public long getMaxWaitMs() {
+		return maxWaitMs;
+	}
+
+	/**
+	 * @return mean time waited by a request for a connection
+	 */
+	public double getAverageWaitMs() {
+		return (leaseCount == 0) ? 0 : (double) totalWaitMs / leaseCount;
+	}
+
+	@Override
+	public String toString() {
+		return "leased=" + leased + "/" + maxPerHost + " per host (" + maxTotal + " max), idle=" + idle + ", pending=" + pending
+				+ ", leases=" + leaseCount + ", wait avg=" + String.format("%.1f", getAverageWaitMs()) + " ms max=" + maxWaitMs + " ms";
+	}
+}
@@ -1,14 +1,31 @@
-package sopra.grenoble.jiraLoader.jira.connection;
-
-import java.net.URISyntaxException;
-
-import com.atlassian.jira.rest.client.JiraRestClient;
-
-import sopra.grenoble.jiraLoader.jira.parsers.IMetadataRestClientV2;
-
-public interface IJiraRestClientV2 extends JiraRestClient {
-
-	public IMetadataRestClientV2 getMetadataClientV2();
-	
-	public void openConnection() throws URISyntaxException;
-}
+package sopra.grenoble.jiraLoader.jira.connection;
+
+import java.net.URISyntaxException;
+import java.util.concurrent.ExecutorService;
+
+import com.atlassian.jira.rest.client.JiraRestClient;
+
+import sopra.grenoble.jiraLoader.jira.parsers.IIssueRestClientV2;
+import sopra.grenoble.jiraLoader.jira.parsers.IMetadataRestClientV2;
+import sopra.grenoble.jiraLoader.jira.parsers.ISearchRestClientV2;
+
+public interface IJiraRestClientV2 extends JiraRestClient {
+
+	public IMetadataRestClientV2 getMetadataClientV2();
+
+	public IIssueRestClientV2 getIssueClientV2();
+
+	public ISearchRestClientV2 getSearchClientV2();
+	
+	public void openConnection() throws URISyntaxException;
+
+	/**
+	 * @return the threads executing the asynchronous calls of the client, null if the connection is not opened
+	 */
+	public ExecutorService getIoExecutor();
+
+	/**
+	 * @return the state of the HTTP connection pool, null if the connection is not opened
+	 */
+	public HttpPoolStatistics getConnectionPoolStatistics();
+}
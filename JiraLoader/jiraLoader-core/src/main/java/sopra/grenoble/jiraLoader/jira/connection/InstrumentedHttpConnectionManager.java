@@ -0,0 +1,61 @@
+package sopra.grenoble.jiraLoader.jira.connection;
+
+import org.apache.commons.httpclient.ConnectionPoolTimeoutException;
+import org.apache.commons.httpclient.HostConfiguration;
+import org.apache.commons.httpclient.HttpConnection;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MultiThreadedHttpConnectionManager} measuring the time the requests wait for a connection of the pool,
+ * to size the pool against the number of threads calling JIRA.
+ */
+public class InstrumentedHttpConnectionManager extends MultiThreadedHttpConnectionManager {
+
+	private final AtomicInteger leased = new AtomicInteger();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicLong leaseCount = new AtomicLong();
+	private final AtomicLong totalWaitMs = new AtomicLong();
+	private final AtomicLong maxWaitMs = new AtomicLong();
+
+	/**
+	 * Called by HttpClient for each request
+	 */
+	@Override
+	public HttpConnection getConnectionWithTimeout(HostConfiguration hostConfiguration, long timeout) throws ConnectionPoolTimeoutException {
+		long start = System.currentTimeMillis();
+		pending.incrementAndGet();
+		try {
+			HttpConnection connection = super.getConnectionWithTimeout(hostConfiguration, timeout);
+			long waitMs = System.currentTimeMillis() - start;
+			leased.incrementAndGet();
+			leaseCount.incrementAndGet();
+			totalWaitMs.addAndGet(waitMs);
+			maxWaitMs.accumulateAndGet(waitMs, Math::max);
+			return connection;
+		} finally {
+			pending.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Called when the response of a request has been read
+	 */
+	@Override
+	public void releaseConnection(HttpConnection connection) {
+		leased.decrementAndGet();
+		super.releaseConnection(connection);
+	}
+
+	/**
+	 * @return the current state of the pool
+	 */
+	public HttpPoolStatistics getStatistics() {
+		// getConnectionsInUse() counts all the connections of the pool, not the leased ones
+		int leased = Math.max(0, this.leased.get());
+		return new HttpPoolStatistics(leased, Math.max(0, getConnectionsInPool() - leased), pending.get(), getParams().getMaxTotalConnections(),
+				getParams().getDefaultMaxConnectionsPerHost(), leaseCount.get(), totalWaitMs.get(), maxWaitMs.get());
+	}
+}
@@ -0,0 +1,84 @@
+package sopra.grenoble.jiraLoader.jira.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads of the asynchronous methods of the services, for example {@code IIssueService#createStoryAsync}.
+ * A call blocks its thread during the HTTP requests : the number of threads bounds the number of calls in progress,
+ * whatever the number of calls submitted. The threads are not the I/O threads of the client ({@link IJiraRestClientV2#getIoExecutor()}),
+ * so a call waiting for an asynchronous request never takes the thread this request needs.
+ */
+@Component
+public class JiraCallExecutor implements DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JiraCallExecutor.class);
+
+	/**
+	 * A call of a service
+	 */
+	public interface IJiraCall<T> {
+		/**
+		 * @return the result of the call
+		 * @throws Exception : exception of the service, the future is completed with it
+		 */
+		T call() throws Exception;
+	}
+
+	@Autowired
+	private JiraUserDatas configuration;
+
+	private ExecutorService executor;
+
+	/**
+	 * Execute the call in background
+	 * @param call
+	 * @return the result of the call, or the exception thrown by the call
+	 */
+	public <T> CompletableFuture<T> submit(IJiraCall<T> call) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return call.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, getExecutor());
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			int threads = (configuration.getAsyncThreads() > 0) ? configuration.getAsyncThreads() : configuration.getHttpMaxConnectionsPerHost();
+			LOG.info("Asynchronous JIRA calls executed by " + threads + " thread(s)");
+			final AtomicInteger threadNumber = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(Math.max(1, threads), (runnable) -> {
+				Thread thread = new Thread(runnable, "jira-call-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Stop the threads, the calls not started are not executed
+	 */
+	@Override
+	public synchronized void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
@@ -1,192 +1,344 @@
-package sopra.grenoble.jiraLoader.jira.connection;
-
-import com.atlassian.jira.rest.client.*;
-import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
-import com.atlassian.jira.rest.client.internal.jersey.*;
-import com.sun.jersey.api.client.AsyncViewResource;
-import com.sun.jersey.api.client.AsyncWebResource;
-import com.sun.jersey.api.client.ViewResource;
-import com.sun.jersey.api.client.WebResource;
-import com.sun.jersey.client.apache.ApacheHttpClient;
-import com.sun.jersey.client.apache.ApacheHttpClientHandler;
-import com.sun.jersey.client.apache.config.DefaultApacheHttpClientConfig;
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
-import sopra.grenoble.jiraLoader.jira.parsers.IMetadataRestClientV2;
-import sopra.grenoble.jiraLoader.jira.parsers.MetadataRestV2Client;
-
-import javax.ws.rs.core.UriBuilder;
-import java.net.URI;
-import java.net.URISyntaxException;
-
-/**
- * @author cmouilleron
- *
- */
-@Component
-public class JiraRestClientV2Impl implements IJiraRestClientV2 {
-
-	/*
-	 * Static internal logger
-	 */
-	private static final Logger LOG = LoggerFactory.getLogger(JiraRestClientV2Impl.class);
-
-	/*
-	 * Parameter for connection
-	 */
-	private URI baseUri;
-	private URI serverUri;
-	private ApacheHttpClient client;
-	
-	
-	/*
-	 * rest clients
-	 */
-	private IssueRestClient issueRestClient;
-	private SessionRestClient sessionRestClient;
-	private UserRestClient userRestClient;
-	private ProjectRestClient projectRestClient;
-	private ComponentRestClient componentRestClient;
-	private IMetadataRestClientV2 metadataRestV2Client;
-	private MetadataRestClient metadataRestClient;
-	private SearchRestClient searchRestClient;
-	private VersionRestClient versionRestClient;
-	private ProjectRolesRestClient projectRolesRestClient;
-	
-	
-	@Autowired
-	private JiraUserDatas configuration;
-	
-	
-	@Override
-	public void openConnection() throws URISyntaxException {
-		LOG.info("Opening connection on URI : " + configuration.getUri());
-		LOG.info("Using user : " + configuration.getUsername());
-		this.serverUri = new URI(configuration.getUri());
-		this.baseUri = UriBuilder.fromUri(serverUri).path("/rest/api/latest").build();
-		
-		AuthenticationHandler authentificationHandler =  new BasicHttpAuthenticationHandler(configuration.getUsername(), configuration.getPassword());
-		DefaultApacheHttpClientConfig config = new DefaultApacheHttpClientConfig();
-		authentificationHandler.configure(config);
-		client = createDefaultClient(config, authentificationHandler);
-		
-		//init clients
-		initClients();
-	}
-	
-	
-	/**
-	 * Initialize all rest clients.
-	 */
-	private void initClients() {
-		metadataRestV2Client = new MetadataRestV2Client(baseUri, client);
-		metadataRestClient = new JerseyMetadataRestClient(baseUri, client);
-		sessionRestClient = new JerseySessionRestClient(client, serverUri);
-		issueRestClient = new JerseyIssueRestClient(baseUri, client, sessionRestClient, metadataRestClient);
-		userRestClient = new JerseyUserRestClient(baseUri, client);
-		projectRestClient = new JerseyProjectRestClient(baseUri, client);
-		componentRestClient = new JerseyComponentRestClient(baseUri, client);
-		searchRestClient = new JerseySearchRestClient(baseUri, client);
-		versionRestClient = new JerseyVersionRestClient(baseUri, client);
-		projectRolesRestClient = new JerseyProjectRolesRestClient(baseUri, client, serverUri);
-	}
-
-	@Override
-	public IssueRestClient getIssueClient() {
-		return issueRestClient;
-	}
-
-	@Override
-	public SessionRestClient getSessionClient() {
-		return sessionRestClient;
-	}
-
-	@Override
-	public UserRestClient getUserClient() {
-		return userRestClient;
-	}
-
-	@Override
-	public ProjectRestClient getProjectClient() {
-		return projectRestClient;
-	}
-
-	@Override
-	public ComponentRestClient getComponentClient() {
-		return componentRestClient;
-	}
-
-	@Override
-	public MetadataRestClient getMetadataClient() {
-		return metadataRestClient;
-	}
-
-	@Override
-	public SearchRestClient getSearchClient() {
-		return searchRestClient;
-	}
-
-	@Override
-	public VersionRestClient getVersionRestClient() {
-		return versionRestClient;
-	}
-
-	@Override
-	public ProjectRolesRestClient getProjectRolesRestClient() {
-		return projectRolesRestClient;
-	}
-
-	@Override
-	public ApacheHttpClient getTransportClient() {
-		return client;
-	}
-
-	public static ApacheHttpClientHandler createDefaultClientHander(DefaultApacheHttpClientConfig config) {
-		final HttpClient client = new HttpClient(new MultiThreadedHttpConnectionManager());
-		return new ApacheHttpClientHandler(client, config);
-	}
-
-	public static ApacheHttpClient createDefaultClient(DefaultApacheHttpClientConfig config,
-			final AuthenticationHandler authenticationHandler) {
-		return new ApacheHttpClient(createDefaultClientHander(config)) {
-			@Override
-			public WebResource resource(URI u) {
-				final WebResource resource = super.resource(u);
-				authenticationHandler.configure(resource, this);
-				return resource;
-			}
-
-			@Override
-			public AsyncWebResource asyncResource(URI u) {
-				final AsyncWebResource resource = super.asyncResource(u);
-				authenticationHandler.configure(resource, this);
-				return resource;
-			}
-
-			@Override
-			public ViewResource viewResource(URI u) {
-				final ViewResource resource = super.viewResource(u);
-				authenticationHandler.configure(resource, this);
-				return resource;
-			}
-
-			@Override
-			public AsyncViewResource asyncViewResource(URI u) {
-				final AsyncViewResource resource = super.asyncViewResource(u);
-				authenticationHandler.configure(resource, this);
-				return resource;
-			}
-		};
-	}
-
-	@Override
-	public IMetadataRestClientV2 getMetadataClientV2() {
-		return metadataRestV2Client;
-	}
-
-}
+package sopra.grenoble.jiraLoader.jira.connection;
+
+import com.atlassian.jira.rest.client.*;
+import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.jersey.*;
+import com.sun.jersey.api.client.AsyncViewResource;
+import com.sun.jersey.api.client.AsyncWebResource;
+import com.sun.jersey.api.client.ViewResource;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+import com.sun.jersey.client.apache.ApacheHttpClientHandler;
+import com.sun.jersey.client.apache.config.DefaultApacheHttpClientConfig;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpConnectionManager;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
+import org.apache.commons.httpclient.util.IdleConnectionTimeoutThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.jira.parsers.IIssueRestClientV2;
+import sopra.grenoble.jiraLoader.jira.parsers.IMetadataRestClientV2;
+import sopra.grenoble.jiraLoader.jira.parsers.ISearchRestClientV2;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueRestV2Client;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataRestV2Client;
+import sopra.grenoble.jiraLoader.jira.parsers.SearchRestV2Client;
+
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author cmouilleron
+ *
+ */
+@Component
+public class JiraRestClientV2Impl implements IJiraRestClientV2, DisposableBean {
+
+	/*
+	 * Static internal logger
+	 */
+	private static final Logger LOG = LoggerFactory.getLogger(JiraRestClientV2Impl.class);
+
+	/*
+	 * Parameter for connection
+	 */
+	private URI baseUri;
+	private URI serverUri;
+	private ApacheHttpClient client;
+
+	/*
+	 * HTTP connection pool of the client
+	 */
+	private InstrumentedHttpConnectionManager connectionManager;
+	private IdleConnectionTimeoutThread idleConnectionCloser;
+	private ScheduledExecutorService statisticsLogger;
+
+	/*
+	 * Threads of the asynchronous calls
+	 */
+	private ExecutorService ioExecutor;
+	
+	
+	/*
+	 * rest clients
+	 */
+	private IIssueRestClientV2 issueRestClient;
+	private SessionRestClient sessionRestClient;
+	private UserRestClient userRestClient;
+	private ProjectRestClient projectRestClient;
+	private ComponentRestClient componentRestClient;
+	private IMetadataRestClientV2 metadataRestV2Client;
+	private MetadataRestClient metadataRestClient;
+	private ISearchRestClientV2 searchRestClient;
+	private VersionRestClient versionRestClient;
+	private ProjectRolesRestClient projectRolesRestClient;
+	
+	
+	@Autowired
+	private JiraUserDatas configuration;
+	
+	
+	@Override
+	public void openConnection() throws URISyntaxException {
+		LOG.info("Opening connection on URI : " + configuration.getUri());
+		LOG.info("Using user : " + configuration.getUsername());
+		this.serverUri = new URI(configuration.getUri());
+		this.baseUri = UriBuilder.fromUri(serverUri).path("/rest/api/latest").build();
+		
+		AuthenticationHandler authentificationHandler =  new BasicHttpAuthenticationHandler(configuration.getUsername(), configuration.getPassword());
+		DefaultApacheHttpClientConfig config = new DefaultApacheHttpClientConfig();
+		authentificationHandler.configure(config);
+		InstrumentedHttpConnectionManager manager = createConnectionManager();
+		client = createDefaultClient(createDefaultClientHander(config, manager, configuration.getHttpPoolTimeout()), authentificationHandler);
+		openConnectionPool(manager);
+		client.setExecutorService(ioExecutor);
+		
+		//init clients
+		initClients();
+	}
+
+	/**
+	 * @return the connection manager configured by the jira.http properties
+	 */
+	private InstrumentedHttpConnectionManager createConnectionManager() {
+		InstrumentedHttpConnectionManager manager = new InstrumentedHttpConnectionManager();
+		HttpConnectionManagerParams params = manager.getParams();
+		params.setMaxTotalConnections(Math.max(1, configuration.getHttpMaxConnections()));
+		params.setDefaultMaxConnectionsPerHost(Math.max(1, configuration.getHttpMaxConnectionsPerHost()));
+		params.setConnectionTimeout(configuration.getHttpConnectTimeout());
+		params.setSoTimeout(configuration.getHttpReadTimeout());
+		params.setStaleCheckingEnabled(configuration.isHttpStaleCheck());
+		LOG.info("HTTP connection pool : " + params.getDefaultMaxConnectionsPerHost() + " connection(s) per host, "
+				+ params.getMaxTotalConnections() + " max");
+		return manager;
+	}
+
+	/**
+	 * Use the connection pool and the I/O threads of the new client : the idle connections of the previous pool are closed,
+	 * its connections in use are closed when they are released
+	 * @param manager
+	 */
+	private synchronized void openConnectionPool(InstrumentedHttpConnectionManager manager) {
+		closeConnectionPool();
+		connectionManager = manager;
+		// no more asynchronous calls than connections : a call never waits for a connection in a thread
+		int ioThreads = (configuration.getHttpIoThreads() > 0) ? configuration.getHttpIoThreads()
+				: manager.getParams().getDefaultMaxConnectionsPerHost();
+		final AtomicInteger threadNumber = new AtomicInteger();
+		ioExecutor = Executors.newFixedThreadPool(ioThreads, (runnable) -> {
+			Thread thread = new Thread(runnable, "jira-io-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (configuration.getHttpIdleTimeout() > 0) {
+			idleConnectionCloser = new IdleConnectionTimeoutThread();
+			idleConnectionCloser.setName("http-idle-closer");
+			idleConnectionCloser.setDaemon(true);
+			idleConnectionCloser.setConnectionTimeout(configuration.getHttpIdleTimeout());
+			idleConnectionCloser.setTimeoutInterval(Math.max(1000, configuration.getHttpIdleTimeout() / 2));
+			idleConnectionCloser.addConnectionManager(manager);
+			idleConnectionCloser.start();
+		}
+		int period = configuration.getHttpStatsPeriod();
+		if (period > 0) {
+			statisticsLogger = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+				Thread thread = new Thread(runnable, "http-pool-stats");
+				thread.setDaemon(true);
+				return thread;
+			});
+			statisticsLogger.scheduleWithFixedDelay(() -> LOG.info("HTTP connection pool : " + manager.getStatistics()), period, period,
+					TimeUnit.SECONDS);
+		}
+	}
+
+	private synchronized void closeConnectionPool() {
+		if (statisticsLogger != null) {
+			statisticsLogger.shutdownNow();
+			statisticsLogger = null;
+		}
+		if (idleConnectionCloser != null) {
+			idleConnectionCloser.shutdown();
+			idleConnectionCloser = null;
+		}
+		if (ioExecutor != null) {
+			// the calls already submitted are executed
+			ioExecutor.shutdown();
+			ioExecutor = null;
+		}
+		if (connectionManager != null) {
+			LOG.info("HTTP connection pool closed : " + connectionManager.getStatistics());
+			connectionManager.closeIdleConnections(0);
+			connectionManager = null;
+		}
+	}
+
+	/**
+	 * Close the HTTP connections
+	 */
+	@Override
+	public synchronized void destroy() {
+		InstrumentedHttpConnectionManager manager = connectionManager;
+		closeConnectionPool();
+		if (manager != null) {
+			manager.shutdown();
+		}
+	}
+
+	@Override
+	public synchronized ExecutorService getIoExecutor() {
+		return ioExecutor;
+	}
+
+	@Override
+	public synchronized HttpPoolStatistics getConnectionPoolStatistics() {
+		return (connectionManager != null) ? connectionManager.getStatistics() : null;
+	}
+	
+	
+	/**
+	 * Initialize all rest clients.
+	 */
+	private void initClients() {
+		metadataRestV2Client = new MetadataRestV2Client(baseUri, client);
+		metadataRestClient = new JerseyMetadataRestClient(baseUri, client);
+		sessionRestClient = new JerseySessionRestClient(client, serverUri);
+		issueRestClient = new IssueRestV2Client(baseUri, client, sessionRestClient, metadataRestClient);
+		userRestClient = new JerseyUserRestClient(baseUri, client);
+		projectRestClient = new JerseyProjectRestClient(baseUri, client);
+		componentRestClient = new JerseyComponentRestClient(baseUri, client);
+		searchRestClient = new SearchRestV2Client(baseUri, client);
+		versionRestClient = new JerseyVersionRestClient(baseUri, client);
+		projectRolesRestClient = new JerseyProjectRolesRestClient(baseUri, client, serverUri);
+	}
+
+	@Override
+	public IssueRestClient getIssueClient() {
+		return issueRestClient;
+	}
+
+	@Override
+	public SessionRestClient getSessionClient() {
+		return sessionRestClient;
+	}
+
+	@Override
+	public UserRestClient getUserClient() {
+		return userRestClient;
+	}
+
+	@Override
+	public ProjectRestClient getProjectClient() {
+		return projectRestClient;
+	}
+
+	@Override
+	public ComponentRestClient getComponentClient() {
+		return componentRestClient;
+	}
+
+	@Override
+	public MetadataRestClient getMetadataClient() {
+		return metadataRestClient;
+	}
+
+	@Override
+	public SearchRestClient getSearchClient() {
+		return searchRestClient;
+	}
+
+	@Override
+	public VersionRestClient getVersionRestClient() {
+		return versionRestClient;
+	}
+
+	@Override
+	public ProjectRolesRestClient getProjectRolesRestClient() {
+		return projectRolesRestClient;
+	}
+
+	@Override
+	public ApacheHttpClient getTransportClient() {
+		return client;
+	}
+
+	public static ApacheHttpClientHandler createDefaultClientHander(DefaultApacheHttpClientConfig config) {
+		return createDefaultClientHander(config, new MultiThreadedHttpConnectionManager(), 0);
+	}
+
+	/**
+	 * @param config
+	 * @param connectionManager : pool of the connections
+	 * @param poolTimeout : max time a request waits for a connection of the pool, in ms. 0 for no timeout
+	 * @return the handler of the client
+	 */
+	public static ApacheHttpClientHandler createDefaultClientHander(DefaultApacheHttpClientConfig config, HttpConnectionManager connectionManager,
+			long poolTimeout) {
+		final HttpClient client = new HttpClient(connectionManager);
+		client.getParams().setConnectionManagerTimeout(poolTimeout);
+		return new ApacheHttpClientHandler(client, config);
+	}
+
+	public static ApacheHttpClient createDefaultClient(DefaultApacheHttpClientConfig config,
+			final AuthenticationHandler authenticationHandler) {
+		return createDefaultClient(createDefaultClientHander(config), authenticationHandler);
+	}
+
+	public static ApacheHttpClient createDefaultClient(ApacheHttpClientHandler clientHandler,
+			final AuthenticationHandler authenticationHandler) {
+		return new ApacheHttpClient(clientHandler) {
+			@Override
+			public WebResource resource(URI u) {
+				final WebResource resource = super.resource(u);
+				authenticationHandler.configure(resource, this);
+				return resource;
+			}
+
+			@Override
+			public AsyncWebResource asyncResource(URI u) {
+				final AsyncWebResource resource = super.asyncResource(u);
+				authenticationHandler.configure(resource, this);
+				return resource;
+			}
+
+			@Override
+			public ViewResource viewResource(URI u) {
+				final ViewResource resource = super.viewResource(u);
+				authenticationHandler.configure(resource, this);
+				return resource;
+			}
+
+			@Override
+			public AsyncViewResource asyncViewResource(URI u) {
+				final AsyncViewResource resource = super.asyncViewResource(u);
+				authenticationHandler.configure(resource, this);
+				return resource;
+			}
+		};
+	}
+
+	@Override
+	public IIssueRestClientV2 getIssueClientV2() {
+		return issueRestClient;
+	}
+
+	@Override
+	public ISearchRestClientV2 getSearchClientV2() {
+		return searchRestClient;
+	}
+
+	@Override
+	public IMetadataRestClientV2 getMetadataClientV2() {
+		return metadataRestV2Client;
+	}
+
+}
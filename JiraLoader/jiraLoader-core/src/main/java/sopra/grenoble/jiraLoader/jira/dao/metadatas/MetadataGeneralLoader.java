@@ -1,34 +1,251 @@
-package sopra.grenoble.jiraLoader.jira.dao.metadatas;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-
-@Component
-public class MetadataGeneralLoader {
-	
-	private static final Logger LOG = LoggerFactory.getLogger(MetadataGeneralLoader.class);
-
-	@Autowired private JiraIssuesTypeLoader jiraIssuesTypeLoader;
-	@Autowired private JiraPriorityLoader jiraPriorityLoader;
-	@Autowired private JiraStatusLoader jiraStatusLoader;
-	@Autowired private JiraFieldLoader fieldLoader;
-	
-	/**
-	 * Init all loaders synchronously
-	 */
-	public void initLoaderSynchronously() {
-		LOG.info("Starting loading metadata synchronously");
-		jiraIssuesTypeLoader.loadElements();
-		jiraPriorityLoader.loadElements();
-		jiraStatusLoader.loadElements();
-		fieldLoader.loadElements();
-		LOG.info("Metadatas have been successfully loaded");
-	}
-	
-	@Deprecated
-	public void initLoaderAsynchronously() {
-		throw new RuntimeException("Not yet implemented");
-	}
-}
+package sopra.grenoble.jiraLoader.jira.dao.metadatas;
+
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.Field;
+import com.atlassian.jira.rest.client.domain.IssueType;
+import com.atlassian.jira.rest.client.domain.Priority;
+import com.atlassian.jira.rest.client.domain.Project;
+import com.atlassian.jira.rest.client.domain.Status;
+import com.atlassian.jira.rest.client.domain.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.exceptions.ProjectNotFoundException;
+import sopra.grenoble.jiraLoader.jira.dao.project.IProjectService;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class MetadataGeneralLoader implements DisposableBean {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(MetadataGeneralLoader.class);
+
+	@Autowired private JiraIssuesTypeLoader jiraIssuesTypeLoader;
+	@Autowired private JiraPriorityLoader jiraPriorityLoader;
+	@Autowired private JiraStatusLoader jiraStatusLoader;
+	@Autowired private JiraFieldLoader fieldLoader;
+	@Autowired private IProjectService projectSrv;
+	@Autowired private JiraUserDatas jiraUserDatas;
+	@Autowired private MetadataSnapshotStore snapshotStore;
+
+	/**
+	 * Periodic refresh of the metadata, null if not started
+	 */
+	private ScheduledExecutorService refreshScheduler;
+	
+	/**
+	 * Init all loaders synchronously
+	 */
+	public void initLoaderSynchronously() {
+		LOG.info("Starting loading metadata synchronously");
+		jiraIssuesTypeLoader.loadElements();
+		jiraPriorityLoader.loadElements();
+		jiraStatusLoader.loadElements();
+		fieldLoader.loadElements();
+		LOG.info("Metadatas have been successfully loaded");
+		scheduleRefresh();
+	}
+	
+	/**
+	 * Init all loaders concurrently, with the project of the configuration.
+	 * The function returns immediately : the caller has to wait for the future before using the loaders.
+	 *
+	 * When a valid {@link MetadataSnapshot} exists, the loaders are loaded from it and the future is already completed :
+	 * the metadata are read from JIRA in background, then replace the ones of the snapshot and are written in a new snapshot.
+	 *
+	 * Once loaded, the metadata are refreshed every {@link JiraUserDatas#getMetadataRefreshPeriod()} seconds, if configured.
+	 * @return future completed when all the loaders are loaded, or completed exceptionally if one loader has failed
+	 */
+	public CompletableFuture<Void> initLoaderAsynchronously() {
+		MetadataSnapshot snapshot = snapshotStore.read();
+		if (snapshot != null) {
+			loadSnapshot(snapshot);
+			runInBackground("metadata-snapshot-refresh", this::refresh);
+			scheduleRefresh();
+			return CompletableFuture.completedFuture(null);
+		}
+
+		LOG.info("Starting loading metadata asynchronously");
+		final long start = System.currentTimeMillis();
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(5, (runnable) -> {
+			Thread thread = new Thread(runnable, "metadata-loader-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		CompletableFuture<Void> loaders = CompletableFuture.allOf(
+				load("Issue types", jiraIssuesTypeLoader::loadElements, executor),
+				load("Priorities", jiraPriorityLoader::loadElements, executor),
+				load("Status", jiraStatusLoader::loadElements, executor),
+				load("Fields", fieldLoader::loadElements, executor),
+				load("Project", this::loadProject, executor));
+		return loaders.whenComplete((result, error) -> {
+			executor.shutdown();
+			if (error == null) {
+				LOG.info("Metadatas have been successfully loaded in " + (System.currentTimeMillis() - start) + " ms");
+				if (snapshotStore.isEnabled()) {
+					runInBackground("metadata-snapshot-writer", () -> writeSnapshot(fieldLoader.getElements(), jiraIssuesTypeLoader.getElements(),
+							jiraPriorityLoader.getElements(), jiraStatusLoader.getElements()));
+				}
+				scheduleRefresh();
+			} else {
+				LOG.error("Metadatas have not been loaded", error);
+			}
+		});
+	}
+
+	/**
+	 * @param name : name of the loader in the logs
+	 * @param loader
+	 * @param executor
+	 * @return future completed when the loader is loaded
+	 */
+	private static CompletableFuture<Void> load(String name, Runnable loader, ExecutorService executor) {
+		return CompletableFuture.runAsync(() -> {
+			long start = System.currentTimeMillis();
+			loader.run();
+			LOG.info(name + " loaded in " + (System.currentTimeMillis() - start) + " ms");
+		}, executor);
+	}
+
+	/**
+	 * Load the project of the configuration (components and versions) in the cache of the {@link IProjectService}
+	 */
+	private void loadProject() {
+		String projectName = jiraUserDatas.getProjectName();
+		if (projectName == null) {
+			return;
+		}
+		try {
+			projectSrv.getProjectByName(projectName);
+		} catch (ProjectNotFoundException e) {
+			// reported by the validation of the rows
+			LOG.warn("Project <" + projectName + "> has not been found");
+		}
+	}
+
+	/**
+	 * Load all the loaders, and the project of the configuration, from the snapshot
+	 * @param snapshot
+	 */
+	private void loadSnapshot(MetadataSnapshot snapshot) {
+		long start = System.currentTimeMillis();
+		fieldLoader.replaceElements(snapshot.getFields());
+		jiraIssuesTypeLoader.replaceElements(snapshot.getIssueTypes());
+		jiraPriorityLoader.replaceElements(snapshot.getPriorities());
+		jiraStatusLoader.replaceElements(snapshot.getStatuses());
+		if (snapshot.getProjectName() != null && snapshot.getProjectName().equals(jiraUserDatas.getProjectName())) {
+			projectSrv.putProjectInCache(snapshot.getProjectName(), snapshot.getComponents(), snapshot.getVersions());
+		}
+		LOG.info("Metadatas have been loaded from the snapshot in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/**
+	 * Read the metadata from JIRA and replace the loaded ones, then write a new snapshot if configured.
+	 * Each loader keeps its elements until the new ones are read : the readers never see an empty loader.
+	 */
+	private void refresh() {
+		long start = System.currentTimeMillis();
+		List<Field> fields = fieldLoader.fetchElements();
+		List<IssueType> issueTypes = jiraIssuesTypeLoader.fetchElements();
+		List<Priority> priorities = jiraPriorityLoader.fetchElements();
+		List<Status> statuses = jiraStatusLoader.fetchElements();
+		fieldLoader.replaceElements(fields);
+		jiraIssuesTypeLoader.replaceElements(issueTypes);
+		jiraPriorityLoader.replaceElements(priorities);
+		jiraStatusLoader.replaceElements(statuses);
+		LOG.info("Metadatas have been refreshed in " + (System.currentTimeMillis() - start) + " ms");
+		if (snapshotStore.isEnabled()) {
+			writeSnapshot(fields, issueTypes, priorities, statuses);
+		}
+	}
+
+	/**
+	 * Start the periodic refresh of the metadata, if configured and not already started
+	 */
+	private synchronized void scheduleRefresh() {
+		int period = jiraUserDatas.getMetadataRefreshPeriod();
+		if (period <= 0 || refreshScheduler != null) {
+			return;
+		}
+		LOG.info("Metadatas will be refreshed every " + period + " s");
+		refreshScheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+			Thread thread = new Thread(runnable, "metadata-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// an exception would cancel the next executions
+		refreshScheduler.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (RuntimeException e) {
+				LOG.warn("Metadatas have not been refreshed", e);
+			}
+		}, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stop the periodic refresh of the metadata
+	 */
+	@Override
+	public synchronized void destroy() {
+		if (refreshScheduler != null) {
+			refreshScheduler.shutdownNow();
+			refreshScheduler = null;
+		}
+	}
+
+	/**
+	 * Write the snapshot of the metadata, with the components and versions of the project of the configuration
+	 */
+	private void writeSnapshot(List<Field> fields, List<IssueType> issueTypes, List<Priority> priorities, List<Status> statuses) {
+		String projectName = jiraUserDatas.getProjectName();
+		List<BasicComponent> components = new ArrayList<>();
+		List<Version> versions = new ArrayList<>();
+		if (projectName != null) {
+			try {
+				Project project = projectSrv.getProjectByName(projectName);
+				project.getComponents().forEach(components::add);
+				project.getVersions().forEach(versions::add);
+			} catch (ProjectNotFoundException e) {
+				projectName = null;
+			}
+		}
+		try {
+			snapshotStore.write(new MetadataSnapshot(jiraUserDatas.getUri(), jiraUserDatas.getUsername(), System.currentTimeMillis(),
+					fields, issueTypes, priorities, statuses, projectName, components, versions));
+		} catch (IOException e) {
+			LOG.warn("Metadata snapshot has not been written", e);
+		}
+	}
+
+	/**
+	 * Run the task in a daemon thread, the errors are only logged
+	 * @param name : name of the thread
+	 * @param task
+	 */
+	private static void runInBackground(String name, Runnable task) {
+		Thread thread = new Thread(() -> {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				LOG.warn(name + " has failed", e);
+			}
+		}, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
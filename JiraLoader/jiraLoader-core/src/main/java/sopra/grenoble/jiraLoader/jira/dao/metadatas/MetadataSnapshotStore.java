@@ -0,0 +1,104 @@
+package sopra.grenoble.jiraLoader.jira.dao.metadatas;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.excel.loaders.ExcelFileUtils;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshot;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshotJsonGenerator;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshotJsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read and write the {@link MetadataSnapshot} of the JIRA server and user of the configuration.
+ * There is one file per JIRA server and user in the directory {@link JiraUserDatas#getMetadataSnapshotDir()}.
+ */
+@Component
+public class MetadataSnapshotStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MetadataSnapshotStore.class);
+
+	@Autowired
+	private JiraUserDatas jiraUserDatas;
+
+	/**
+	 * @return true if a snapshot directory is configured
+	 */
+	public boolean isEnabled() {
+		String dir = jiraUserDatas.getMetadataSnapshotDir();
+		return dir != null && !dir.trim().isEmpty();
+	}
+
+	/**
+	 * Read the snapshot of the JIRA server and user of the configuration
+	 * @return the snapshot, or null if there is no valid snapshot : not configured, missing, unreadable or older than the TTL
+	 */
+	public MetadataSnapshot read() {
+		if (!isEnabled()) {
+			return null;
+		}
+		File file = getSnapshotFile();
+		if (!file.isFile()) {
+			LOG.info("No metadata snapshot " + file);
+			return null;
+		}
+		MetadataSnapshot snapshot;
+		try {
+			String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			snapshot = new MetadataSnapshotJsonParser().parse(new JSONObject(content));
+		} catch (IOException | JSONException e) {
+			LOG.warn("Metadata snapshot " + file + " can't be read", e);
+			return null;
+		}
+		if (!jiraUserDatas.getUri().equals(snapshot.getUri()) || !jiraUserDatas.getUsername().equals(snapshot.getUsername())) {
+			LOG.info("Metadata snapshot " + file + " is for another JIRA server or user");
+			return null;
+		}
+		long age = System.currentTimeMillis() - snapshot.getCreationTime();
+		if (age >= TimeUnit.SECONDS.toMillis(jiraUserDatas.getMetadataSnapshotTtl())) {
+			LOG.info("Metadata snapshot " + file + " has expired");
+			return null;
+		}
+		LOG.info("Metadata snapshot " + file + " read, created " + TimeUnit.MILLISECONDS.toMinutes(age) + " min ago");
+		return snapshot;
+	}
+
+	/**
+	 * Write the snapshot, replacing the previous one. The file is written in a temporary file renamed at the end,
+	 * so a concurrent read never sees a partial snapshot.
+	 * @param snapshot
+	 * @throws IOException
+	 */
+	public void write(MetadataSnapshot snapshot) throws IOException {
+		File file = getSnapshotFile();
+		Files.createDirectories(file.toPath().toAbsolutePath().getParent());
+		final Path tmpFile = ExcelFileUtils.createTempFileNextTo(file);
+		try {
+			Files.write(tmpFile, new MetadataSnapshotJsonGenerator().generate(snapshot).toString().getBytes(StandardCharsets.UTF_8));
+			ExcelFileUtils.replaceFile(tmpFile, file);
+			LOG.info("Metadata snapshot " + file + " written");
+		} catch (JSONException e) {
+			throw new IOException("Metadata snapshot can't be generated", e);
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	/**
+	 * @return the file of the JIRA server and user of the configuration
+	 */
+	private File getSnapshotFile() {
+		String key = jiraUserDatas.getUri() + "|" + jiraUserDatas.getUsername();
+		return new File(jiraUserDatas.getMetadataSnapshotDir().trim(), "metadata-" + Integer.toHexString(key.hashCode()) + ".json");
+	}
+}
@@ -1,32 +1,90 @@
-package sopra.grenoble.jiraLoader.jira.dao.metadatas.utils;
-
-import java.util.HashMap;
-
-/**
- * @author cmouilleron
- * Generic class to keep in memory element loaded from JIRA
- *
- * @param <T>
- */
-public abstract class MetadataGenLoader<T> {
-	
-	private HashMap<String, T> loadedHashElt = new HashMap<>();
-	
-	public void addElement(String key, T element) {
-		this.loadedHashElt.put(key, element);
-	}
-	
-	public T getElement(String key) {
-		return this.loadedHashElt.get(key);
-	}
-	
-	public void cleanAllElements() {
-		this.loadedHashElt.clear();
-	}
-	
-	public int countElements() {
-		return this.loadedHashElt.size();
-	}
-	
-	public abstract void loadElements();
-}
+package sopra.grenoble.jiraLoader.jira.dao.metadatas.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author cmouilleron
+ * Generic class to keep in memory element loaded from JIRA
+ *
+ * The elements are in an immutable map, replaced as a whole on each modification : the readers never lock
+ * and always see a complete map, even while the elements are reloaded from JIRA.
+ *
+ * @param <T>
+ */
+public abstract class MetadataGenLoader<T> {
+
+	private volatile Map<String, T> loadedHashElt = Collections.emptyMap();
+
+	public synchronized void addElement(String key, T element) {
+		Map<String, T> elements = new HashMap<>(this.loadedHashElt);
+		elements.put(key, element);
+		this.loadedHashElt = Collections.unmodifiableMap(elements);
+	}
+
+	public T getElement(String key) {
+		return this.loadedHashElt.get(key);
+	}
+
+	public synchronized void cleanAllElements() {
+		this.loadedHashElt = Collections.emptyMap();
+	}
+
+	public int countElements() {
+		return this.loadedHashElt.size();
+	}
+
+	/**
+	 * @return a copy of the loaded elements
+	 */
+	public List<T> getElements() {
+		return new ArrayList<>(this.loadedHashElt.values());
+	}
+
+	/**
+	 * Add the elements, each one with the key returned by {@link #getElementKey(Object)}
+	 * @param elements
+	 */
+	public synchronized void addElements(Collection<T> elements) {
+		Map<String, T> newElements = new HashMap<>(this.loadedHashElt);
+		for (T element : elements) {
+			newElements.put(getElementKey(element), element);
+		}
+		this.loadedHashElt = Collections.unmodifiableMap(newElements);
+	}
+
+	/**
+	 * Replace all the loaded elements in one step
+	 * @param elements
+	 */
+	public synchronized void replaceElements(Collection<T> elements) {
+		Map<String, T> newElements = new HashMap<>();
+		for (T element : elements) {
+			newElements.put(getElementKey(element), element);
+		}
+		this.loadedHashElt = Collections.unmodifiableMap(newElements);
+	}
+
+	/**
+	 * Load the elements from JIRA. The elements previously loaded are available until the new ones replace them.
+	 */
+	public void loadElements() {
+		replaceElements(fetchElements());
+	}
+
+	/**
+	 * Read the elements from JIRA, without modifying the loaded elements
+	 * @return the elements
+	 */
+	public abstract List<T> fetchElements();
+
+	/**
+	 * @param element
+	 * @return the key of the element
+	 */
+	protected abstract String getElementKey(T element);
+}
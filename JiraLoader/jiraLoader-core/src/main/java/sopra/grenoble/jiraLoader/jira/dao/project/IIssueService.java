@@ -1,33 +1,87 @@
-package sopra.grenoble.jiraLoader.jira.dao.project;
-
-import com.atlassian.jira.rest.client.domain.BasicIssue;
-import sopra.grenoble.jiraLoader.exceptions.IssueNotFoundException;
-import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
-import sopra.grenoble.jiraLoader.exceptions.JiraIssueTypeException;
-
-import java.util.Optional;
-
-public interface IIssueService extends IIssueGenericService {
-
-    BasicIssue createSubTask(String projectName, String parentKey, String issueTypeName, String resume,
-                             String description, String priority, String estimation, String componentName, String link) throws JiraGeneralException;
-
-    BasicIssue createStory(String projectName, String epicName, String versionName, String clientReference, String resume,
-                           String description, String priority, String componentName, String versionCorrected, String link, String estimation)
-            throws JiraGeneralException;
-
-    /**
-     * Return a basicissue if found. If not found, return a null value in the {@link Optional} container.
-     *
-     * @param storyName
-     * @param projectName
-     * @return
-     */
-    Optional<BasicIssue> getByStartingName(String storyName, String projectName) throws IssueNotFoundException, JiraIssueTypeException;
-
-    Optional<BasicIssue> getSubTaskByStartingName(String storyName, String projectName) throws IssueNotFoundException, JiraIssueTypeException;
-
-    void updateIssue(String issueKey, String projectName, String priority) throws IssueNotFoundException, JiraGeneralException;
-
-
-}
+package sopra.grenoble.jiraLoader.jira.dao.project;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import com.atlassian.jira.rest.client.domain.Issue;
+import com.atlassian.jira.rest.client.domain.input.IssueInput;
+import sopra.grenoble.jiraLoader.exceptions.IssueNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
+import sopra.grenoble.jiraLoader.exceptions.JiraIssueTypeException;
+import sopra.grenoble.jiraLoader.jira.parsers.BulkIssueResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface IIssueService extends IIssueGenericService {
+
+    BasicIssue createSubTask(String projectName, String parentKey, String issueTypeName, String resume,
+                             String description, String priority, String estimation, String componentName, String link) throws JiraGeneralException;
+
+    BasicIssue createStory(String projectName, String epicName, String versionName, String clientReference, String resume,
+                           String description, String priority, String componentName, String versionCorrected, String link, String estimation)
+            throws JiraGeneralException;
+
+    /**
+     * {@link #createSubTask} executed in background
+     *
+     * @return the sub-task created, or the exception of {@link #createSubTask}
+     */
+    CompletableFuture<BasicIssue> createSubTaskAsync(String projectName, String parentKey, String issueTypeName, String resume,
+                                                     String description, String priority, String estimation, String componentName, String link);
+
+    /**
+     * {@link #createStory} executed in background
+     *
+     * @return the story created, or the exception of {@link #createStory}
+     */
+    CompletableFuture<BasicIssue> createStoryAsync(String projectName, String epicName, String versionName, String clientReference, String resume,
+                                                   String description, String priority, String componentName, String versionCorrected, String link,
+                                                   String estimation);
+
+    /**
+     * Build the issue of a story, without the link. Used by {@link #createIssues(String, List)}.
+     */
+    IssueInput buildStoryInput(String projectName, String epicName, String versionName, String clientReference, String resume,
+                               String description, String priority, String componentName, String versionCorrected, String estimation)
+            throws JiraGeneralException;
+
+    /**
+     * Build the issue of a sub-task, without the link. Used by {@link #createIssues(String, List)}.
+     *
+     * @param parentIssue : the story of the sub-task, retrieved once for all its sub-tasks
+     */
+    IssueInput buildSubTaskInput(String projectName, Issue parentIssue, String issueTypeName, String resume,
+                                 String description, String priority, String estimation, String componentName) throws JiraGeneralException;
+
+    /**
+     * Create several issues with the bulk API of JIRA. The issues are sent by chunks of {@link sopra.grenoble.jiraLoader.configurationbeans.ExcelDatas#getBulkSize()}.
+     * An issue in error does not prevent the other ones to be created.
+     *
+     * @param projectName
+     * @param issues
+     * @return the issue created or the error, in the order of the issues
+     */
+    BulkIssueResult createIssues(String projectName, List<IssueInput> issues);
+
+    /**
+     * Return a basicissue if found. If not found, return a null value in the {@link Optional} container.
+     *
+     * @param storyName
+     * @param projectName
+     * @return
+     */
+    Optional<BasicIssue> getByStartingName(String storyName, String projectName) throws IssueNotFoundException, JiraIssueTypeException;
+
+    Optional<BasicIssue> getSubTaskByStartingName(String storyName, String projectName) throws IssueNotFoundException, JiraIssueTypeException;
+
+    void updateIssue(String issueKey, String projectName, String priority) throws IssueNotFoundException, JiraGeneralException;
+
+    /**
+     * {@link #updateIssue(String, String, String)} executed in background
+     *
+     * @return completed when the issue is updated, or with the exception of {@link #updateIssue(String, String, String)}
+     */
+    CompletableFuture<Void> updateIssueAsync(String issueKey, String projectName, String priority);
+
+
+}
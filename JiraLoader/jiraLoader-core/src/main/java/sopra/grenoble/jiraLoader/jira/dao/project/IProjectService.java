@@ -1,68 +1,106 @@
-package sopra.grenoble.jiraLoader.jira.dao.project;
-
-import java.util.List;
-
-import com.atlassian.jira.rest.client.domain.BasicComponent;
-import com.atlassian.jira.rest.client.domain.BasicProject;
-import com.atlassian.jira.rest.client.domain.Project;
-
-import sopra.grenoble.jiraLoader.exceptions.ComponentNotFoundException;
-import sopra.grenoble.jiraLoader.exceptions.ProjectNotFoundException;
-
-public interface IProjectService {
-
-	/**
-	 * Return true if the specify project identified by the name exist
-	 * @param projectName : the project name
-	 * @return {@link Boolean}
-	 */
-	public boolean isProjectExist(String projectName);
-	
-	/**
-	 * Return the {@link BasicProject} identified by the project key
-	 * @param key : the project key.
-	 * @throws ProjectNotFoundException
-	 */
-	public Project getProjectByKey(String key) throws ProjectNotFoundException;
-	
-	/**
-	 * Return the {@link BasicProject} identified by the project name
-	 * @param projectName : the project name
-	 * @return {@link BasicProject}
-	 * @throws ProjectNotFoundException
-	 */
-	public Project getProjectByName(String projectName) throws ProjectNotFoundException;
-	
-	/**
-	 * Return only the project key based on the project name
-	 * @param projectName : the project name
-	 * @return the project key
-	 * @throws ProjectNotFoundException
-	 */
-	public String getProjectKey(String projectName) throws ProjectNotFoundException;
-	
-
-	/**
-	 * Return a component of a specify project identified by its name.
-	 * @param project
-	 * @param componentName
-	 * @return
-	 * @throws ComponentNotFoundException 
-	 */
-	public BasicComponent getComponentByNameFromProject(Project project, String componentName) throws ComponentNotFoundException;
-
-	/**
-	 * Return true if the componentName exist in the project.
-	 * @param projectName
-	 * @param componentName
-	 * @return
-	 * @throws ProjectNotFoundException
-	 */
-	boolean isComponentNameExistsInProject(String projectName, String componentName) throws ProjectNotFoundException;
-	
-	
-	/**
-	 * @return all projects for a client
-	 */
-	public List<BasicProject> getAllProject();
-}
+package sopra.grenoble.jiraLoader.jira.dao.project;
+
+import java.util.List;
+
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.BasicProject;
+import com.atlassian.jira.rest.client.domain.Project;
+import com.atlassian.jira.rest.client.domain.Version;
+
+import sopra.grenoble.jiraLoader.exceptions.ComponentNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.ProjectNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.VersionNotFoundException;
+
+public interface IProjectService {
+
+	/**
+	 * Return true if the specify project identified by the name exist
+	 * @param projectName : the project name
+	 * @return {@link Boolean}
+	 */
+	public boolean isProjectExist(String projectName);
+	
+	/**
+	 * Return the {@link BasicProject} identified by the project key
+	 * @param key : the project key.
+	 * @throws ProjectNotFoundException
+	 */
+	public Project getProjectByKey(String key) throws ProjectNotFoundException;
+	
+	/**
+	 * Return the {@link BasicProject} identified by the project name
+	 * @param projectName : the project name
+	 * @return {@link BasicProject}
+	 * @throws ProjectNotFoundException
+	 */
+	public Project getProjectByName(String projectName) throws ProjectNotFoundException;
+	
+	/**
+	 * Return only the project key based on the project name
+	 * @param projectName : the project name
+	 * @return the project key
+	 * @throws ProjectNotFoundException
+	 */
+	public String getProjectKey(String projectName) throws ProjectNotFoundException;
+	
+
+	/**
+	 * Return a component of a specify project identified by its name.
+	 * @param project
+	 * @param componentName
+	 * @return
+	 * @throws ComponentNotFoundException 
+	 */
+	public BasicComponent getComponentByNameFromProject(Project project, String componentName) throws ComponentNotFoundException;
+
+	/**
+	 * Return a component of a project identified by its name, without calling JIRA while the project is in cache.
+	 * @param projectName
+	 * @param componentName
+	 * @return {@link BasicComponent}
+	 * @throws ProjectNotFoundException
+	 * @throws ComponentNotFoundException
+	 */
+	public BasicComponent getComponentByName(String projectName, String componentName) throws ProjectNotFoundException, ComponentNotFoundException;
+
+	/**
+	 * Return a version of a project identified by its name, without calling JIRA while the project is in cache.
+	 * @param projectName
+	 * @param versionName
+	 * @return {@link Version}
+	 * @throws ProjectNotFoundException
+	 * @throws VersionNotFoundException
+	 */
+	public Version getVersionByName(String projectName, String versionName) throws ProjectNotFoundException, VersionNotFoundException;
+
+	/**
+	 * Remove the project from the cache : it is loaded again on the next call.
+	 * Must be called when the components or the versions of the project are modified.
+	 * @param projectName
+	 */
+	public void invalidateProject(String projectName);
+
+	/**
+	 * Put in the cache the components and versions of a project, for example read from a metadata snapshot, without calling JIRA.
+	 * The {@link Project} itself is still loaded from JIRA by {@link #getProjectByName(String)} and {@link #getProjectByKey(String)}.
+	 * @param projectName
+	 * @param components
+	 * @param versions
+	 */
+	public void putProjectInCache(String projectName, Iterable<BasicComponent> components, Iterable<Version> versions);
+
+	/**
+	 * Return true if the componentName exist in the project.
+	 * @param projectName
+	 * @param componentName
+	 * @return
+	 * @throws ProjectNotFoundException
+	 */
+	boolean isComponentNameExistsInProject(String projectName, String componentName) throws ProjectNotFoundException;
+	
+	
+	/**
+	 * @return all projects for a client
+	 */
+	public List<BasicProject> getAllProject();
+}
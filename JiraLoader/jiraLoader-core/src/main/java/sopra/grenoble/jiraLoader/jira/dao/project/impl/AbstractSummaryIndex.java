@@ -0,0 +1,186 @@
+package sopra.grenoble.jiraLoader.jira.dao.project.impl;
+
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import sopra.grenoble.jiraLoader.jira.connection.IJiraRestClientV2;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSearchIterator;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummary;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of issues of a project by summary.
+ * The index of a project is loaded on the first lookup with a paginated search returning only the summary, the type and the parent
+ * of the issues. Then it is updated with the issues created or removed by the application, so a lookup does not call JIRA anymore.
+ * The index is registered before its loading : the issues created by the other threads during the loading are kept.
+ */
+public abstract class AbstractSummaryIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractSummaryIndex.class);
+
+	/**
+	 * Max number of issues asked by search call
+	 */
+	private static final int PAGE_SIZE = 500;
+
+	@Autowired
+	protected IJiraRestClientV2 jiraConnection;
+
+	@Autowired
+	protected ProgressMonitor pm;
+
+	private final Map<String, ProjectIndex> projects = new ConcurrentHashMap<>();
+
+	/**
+	 * @param projectName
+	 * @return the JQL query of the issues indexed
+	 */
+	protected abstract String getJql(String projectName);
+
+	/**
+	 * @return the id of the field indexed as summary
+	 */
+	protected abstract String getSummaryFieldId();
+
+	/**
+	 * @param projectName
+	 * @param summary
+	 * @param subTask : true to search the sub-tasks, false for the other issues
+	 * @return the issues with this summary
+	 */
+	protected List<IssueSummary> find(String projectName, String summary, boolean subTask) {
+		return getProjectIndex(projectName).find(summary, subTask);
+	}
+
+	/**
+	 * Add an issue created in JIRA, even if the index of the project is not loaded yet
+	 * @param projectName
+	 * @param issue
+	 */
+	public void add(String projectName, IssueSummary issue) {
+		projects.computeIfAbsent(projectName, (name) -> new ProjectIndex()).add(issue);
+	}
+
+	/**
+	 * Remove an issue deleted in JIRA, with its sub-tasks
+	 * @param key
+	 */
+	public void remove(String key) {
+		projects.values().forEach((index) -> index.remove(key));
+	}
+
+	/**
+	 * Forget all the projects : they are loaded again on the next lookup
+	 */
+	public void clear() {
+		projects.clear();
+	}
+
+	/**
+	 * @param projectName
+	 * @return the index of the project, loaded if needed
+	 */
+	private ProjectIndex getProjectIndex(String projectName) {
+		ProjectIndex index = projects.computeIfAbsent(projectName, (name) -> new ProjectIndex());
+		// the project is loaded once, the other lookups wait for the end of the loading
+		index.load(() -> {
+			String jql = getJql(projectName);
+			new IssueSearchIterator((startAt, maxResults) -> searchPage(jql, startAt), PAGE_SIZE).forEachRemaining(index::addLoaded);
+			LOG.info(getClass().getSimpleName() + " of the project <" + projectName + "> loaded : " + index.size() + " issue(s)");
+		});
+		return index;
+	}
+
+	/**
+	 * Search a page of the issues
+	 * @param jql
+	 * @param startAt
+	 * @return {@link IssueSummaryPage}
+	 */
+	protected IssueSummaryPage searchPage(String jql, int startAt) {
+		return jiraConnection.getSearchClientV2().searchIssueSummaries(jql, startAt, PAGE_SIZE, getSummaryFieldId(), pm);
+	}
+
+	/**
+	 * Issues of a project by summary.
+	 * The loading holds its own lock, not the lock of the issues : the issues created or removed during the loading are updated at once.
+	 */
+	private static final class ProjectIndex {
+		private final Map<String, IssueSummary> issuesByKey = new HashMap<>();
+		private final Map<String, List<IssueSummary>> issuesBySummary = new HashMap<>();
+		// issues removed before the end of the loading, not to be added by the loading
+		private final Set<String> removedKeys = new HashSet<>();
+
+		private final Object loadLock = new Object();
+		private volatile boolean loaded;
+
+		/**
+		 * Load the issues if not loaded yet. The loading is done again on the next call if it fails.
+		 * @param loader : adds the issues of the project with {@link #addLoaded(IssueSummary)}
+		 */
+		void load(Runnable loader) {
+			if (loaded) {
+				return;
+			}
+			synchronized (loadLock) {
+				if (!loaded) {
+					loader.run();
+					loaded = true;
+					synchronized (this) {
+						removedKeys.clear();
+					}
+				}
+			}
+		}
+
+		synchronized void addLoaded(IssueSummary issue) {
+			if (!removedKeys.contains(issue.getKey()) && !removedKeys.contains(issue.getParentKey())) {
+				add(issue);
+			}
+		}
+
+		synchronized void add(IssueSummary issue) {
+			if (issue.getSummary() == null || issuesByKey.putIfAbsent(issue.getKey(), issue) != null) {
+				return;
+			}
+			issuesBySummary.computeIfAbsent(issue.getSummary(), (summary) -> new ArrayList<>()).add(issue);
+		}
+
+		synchronized void remove(String key) {
+			if (!loaded) {
+				removedKeys.add(key);
+			}
+			for (Iterator<IssueSummary> it = issuesByKey.values().iterator(); it.hasNext();) {
+				IssueSummary issue = it.next();
+				if (issue.getKey().equals(key) || key.equals(issue.getParentKey())) {
+					it.remove();
+					issuesBySummary.get(issue.getSummary()).remove(issue);
+				}
+			}
+		}
+
+		synchronized List<IssueSummary> find(String summary, boolean subTask) {
+			List<IssueSummary> issues = new ArrayList<>();
+			for (IssueSummary issue : issuesBySummary.getOrDefault(summary, new ArrayList<>())) {
+				if (issue.isSubTask() == subTask) {
+					issues.add(issue);
+				}
+			}
+			return issues;
+		}
+
+		synchronized int size() {
+			return issuesByKey.size();
+		}
+	}
+}
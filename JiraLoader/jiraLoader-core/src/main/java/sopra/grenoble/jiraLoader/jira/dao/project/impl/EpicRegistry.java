@@ -0,0 +1,57 @@
+package sopra.grenoble.jiraLoader.jira.dao.project.impl;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import com.atlassian.jira.rest.client.domain.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.jira.dao.metadatas.JiraFieldLoader;
+import sopra.grenoble.jiraLoader.jira.dao.metadatas.JiraIssuesTypeLoader;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummary;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index of the epics of a project by Epic Name. The id of the Epic Name field is given by the {@link JiraFieldLoader}.
+ */
+@Component
+public class EpicRegistry extends AbstractSummaryIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EpicRegistry.class);
+
+	@Autowired
+	private JiraFieldLoader fieldLoader;
+
+	@Override
+	protected String getJql(String projectName) {
+		return "project = \"" + projectName + "\" AND issuetype = " + JiraIssuesTypeLoader.JIRA_EPIC_ISSUE_TYPE_NAME;
+	}
+
+	@Override
+	protected String getSummaryFieldId() {
+		Field fieldEpicName = fieldLoader.getElement(JiraFieldLoader.EPIC_NAME_FIELD_NAME);
+		return fieldEpicName.getId();
+	}
+
+	/**
+	 * Search the epic with this Epic Name
+	 * @param projectName
+	 * @param epicName
+	 * @return the epic, or empty if there is no epic or more than one epic with this name
+	 */
+	public Optional<BasicIssue> findEpic(String projectName, String epicName) {
+		List<IssueSummary> issues = find(projectName, epicName, false);
+		if (issues.size() == 1) {
+			LOG.info("One epic has been found with the correct Epic Name, KEY : " + issues.get(0).getKey());
+			return Optional.of(issues.get(0).getIssue());
+		}
+		if (issues.isEmpty()) {
+			LOG.warn("No issue has been found with this epic name : " + epicName);
+		} else {
+			LOG.warn("Be careful, there are more than one epic with the same Epic Name");
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,72 @@
+package sopra.grenoble.jiraLoader.jira.dao.project.impl;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import sopra.grenoble.jiraLoader.jira.dao.metadatas.JiraIssuesTypeLoader;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummary;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPageJsonParser;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index of the stories and sub-tasks of a project by summary
+ */
+@Component
+public class IssueSummaryIndex extends AbstractSummaryIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IssueSummaryIndex.class);
+
+	@Override
+	protected String getJql(String projectName) {
+		return "project = \"" + projectName + "\" AND issuetype in (" + JiraIssuesTypeLoader.JIRA_STORY_ISSUE_TYPE_NAME + ", "
+				+ JiraIssuesTypeLoader.JIRA_SUBTASK_ISSUE_TYPE_NAME + ")";
+	}
+
+	@Override
+	protected String getSummaryFieldId() {
+		return IssueSummaryPageJsonParser.SUMMARY_FIELD_ID;
+	}
+
+	/**
+	 * Search the story with this summary
+	 * @param projectName
+	 * @param summary
+	 * @return the story, or empty if there is no story or more than one story with this summary
+	 */
+	public Optional<BasicIssue> findStory(String projectName, String summary) {
+		List<IssueSummary> issues = find(projectName, summary, false);
+		if (issues.size() == 1) {
+			LOG.info("One issue has been found with the correct summary, KEY : " + issues.get(0).getKey());
+			return Optional.of(issues.get(0).getIssue());
+		}
+		if (issues.isEmpty()) {
+			LOG.warn("No issue has been found with this summary : " + summary + " , please check Jira & Excel file if you expected one");
+		} else {
+			LOG.warn("Be careful, there are more than one task with the same summary ");
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Search the sub-task with this summary
+	 * @param projectName
+	 * @param summary
+	 * @return the sub-task, or empty if there is no sub-task or more than one sub-task with this summary
+	 */
+	public Optional<BasicIssue> findSubTask(String projectName, String summary) {
+		List<IssueSummary> issues = find(projectName, summary, true);
+		if (issues.size() == 1) {
+			LOG.info("One issue has been found with the correct summary, KEY : " + issues.get(0).getKey());
+			return Optional.of(issues.get(0).getIssue());
+		}
+		if (issues.isEmpty()) {
+			LOG.warn("No subtask has been found with this summary, please check Jira & Excel file");
+		} else {
+			LOG.warn("Be careful, there are more than one subtask with the same summary ");
+		}
+		return Optional.empty();
+	}
+}
@@ -1,125 +1,212 @@
-package sopra.grenoble.jiraLoader.jira.dao.project.impl;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-
-import com.atlassian.jira.rest.client.JiraRestClient;
-import com.atlassian.jira.rest.client.ProgressMonitor;
-import com.atlassian.jira.rest.client.domain.BasicComponent;
-import com.atlassian.jira.rest.client.domain.BasicProject;
-import com.atlassian.jira.rest.client.domain.Project;
-
-import sopra.grenoble.jiraLoader.exceptions.ComponentNotFoundException;
-import sopra.grenoble.jiraLoader.exceptions.ProjectNotFoundException;
-import sopra.grenoble.jiraLoader.jira.dao.project.IProjectService;
-
-@Service
-public class ProjectService implements IProjectService {
-
-	public static final Logger LOG = LoggerFactory.getLogger(ProjectService.class);
-	
-	@Autowired
-	private JiraRestClient jiraConnection;
-	
-	@Autowired
-	private ProgressMonitor pm;
-	
-	/**
-	 * Map which contain the couple <projectName/BasicProject>. The goal is to store the 
-	 * full project in order to quickly access to the project key.
-	 */
-	private Map<String, BasicProject> hashProjectKeyName = null;
-	
-	
-	/**
-	 * Load from JIRA all projects
-	 */
-	private synchronized void loadHashProjectKeyName() {
-		if (hashProjectKeyName == null) {
-			LOG.info("First call to Jira Project Service - Initialising internal map with project name");
-			Iterable<BasicProject> lstProject = jiraConnection.getProjectClient().getAllProjects(pm);
-			hashProjectKeyName = new HashMap<>();
-			for (BasicProject basicProject : lstProject) {
-				LOG.info("User can access to project : " + basicProject.getName());
-				hashProjectKeyName.put(basicProject.getName(), basicProject);
-			}
-			
-		}
-	}
-	
-	public void resetProjectCache() {
-		if (hashProjectKeyName != null) {
-			hashProjectKeyName.clear();
-			hashProjectKeyName = null;
-		}
-	}
-	
-	@Override
-	public boolean isProjectExist(String projectName) {
-		loadHashProjectKeyName();
-		return hashProjectKeyName.containsKey(projectName);
-	}
-
-	@Override
-	public Project getProjectByKey(String key) throws ProjectNotFoundException {
-		loadHashProjectKeyName();
-		for (BasicProject bp : hashProjectKeyName.values()) {
-			if (bp.getKey().compareTo(key) == 0) {
-				return jiraConnection.getProjectClient().getProject(bp.getKey(), pm);
-			}
-		}
-		throw new ProjectNotFoundException();
-	}
-
-	@Override
-	public Project getProjectByName(String projectName) throws ProjectNotFoundException {
-		loadHashProjectKeyName();
-		
-		if (!isProjectExist(projectName)) throw new ProjectNotFoundException();
-		
-		BasicProject bp = hashProjectKeyName.get(projectName);
-		return jiraConnection.getProjectClient().getProject(bp.getKey(), pm);
-	}
-
-	@Override
-	public String getProjectKey(String projectName) throws ProjectNotFoundException {
-		if (!isProjectExist(projectName)) throw new ProjectNotFoundException();
-		BasicProject bp = hashProjectKeyName.get(projectName);
-		return bp.getKey();
-	}
-
-	@Override
-	public BasicComponent getComponentByNameFromProject(Project project, String componentName) throws ComponentNotFoundException {
-		for (BasicComponent component : project.getComponents()) {
-			if (component.getName().compareTo(componentName)==0) {
-				return component;
-			}
-		}
-		throw new ComponentNotFoundException();
-	}
-	
-	@Override
-	public boolean isComponentNameExistsInProject(String projectName, String componentName) throws ProjectNotFoundException {
-		Project p = getProjectByName(projectName);
-		try {
-			getComponentByNameFromProject(p, componentName);
-		} catch (ComponentNotFoundException e) {
-			return false;
-		}
-		return true;
-	}
-
-	@Override
-	public List<BasicProject> getAllProject() {
-		List<BasicProject> projects = (List<BasicProject>) jiraConnection.getProjectClient().getAllProjects(pm);
-		return projects;
-	}
-	
-
-}
+package sopra.grenoble.jiraLoader.jira.dao.project.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.atlassian.jira.rest.client.JiraRestClient;
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.BasicProject;
+import com.atlassian.jira.rest.client.domain.Project;
+import com.atlassian.jira.rest.client.domain.Version;
+
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.exceptions.ComponentNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.ProjectNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.VersionNotFoundException;
+import sopra.grenoble.jiraLoader.jira.dao.project.IProjectService;
+
+@Service
+public class ProjectService implements IProjectService {
+
+	public static final Logger LOG = LoggerFactory.getLogger(ProjectService.class);
+	
+	@Autowired
+	private JiraRestClient jiraConnection;
+	
+	@Autowired
+	private ProgressMonitor pm;
+
+	@Autowired
+	private JiraUserDatas jiraUserDatas;
+	
+	/**
+	 * Map which contain the couple <projectName/BasicProject>. The goal is to store the 
+	 * full project in order to quickly access to the project key.
+	 */
+	private Map<String, BasicProject> hashProjectKeyName = null;
+
+	/**
+	 * The full projects (components, versions) by name, kept {@link JiraUserDatas#getProjectCacheTtl()} seconds
+	 */
+	private final Map<String, CachedProject> projectsByName = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Load from JIRA all projects
+	 */
+	private synchronized void loadHashProjectKeyName() {
+		if (hashProjectKeyName == null) {
+			LOG.info("First call to Jira Project Service - Initialising internal map with project name");
+			Iterable<BasicProject> lstProject = jiraConnection.getProjectClient().getAllProjects(pm);
+			hashProjectKeyName = new HashMap<>();
+			for (BasicProject basicProject : lstProject) {
+				LOG.info("User can access to project : " + basicProject.getName());
+				hashProjectKeyName.put(basicProject.getName(), basicProject);
+			}
+			
+		}
+	}
+	
+	public synchronized void resetProjectCache() {
+		if (hashProjectKeyName != null) {
+			hashProjectKeyName.clear();
+			hashProjectKeyName = null;
+		}
+		projectsByName.clear();
+	}
+
+	@Override
+	public void invalidateProject(String projectName) {
+		LOG.debug("Project <" + projectName + "> removed from the cache");
+		projectsByName.remove(projectName);
+	}
+
+	@Override
+	public void putProjectInCache(String projectName, Iterable<BasicComponent> components, Iterable<Version> versions) {
+		LOG.debug("Project <" + projectName + "> put in the cache without calling JIRA");
+		projectsByName.put(projectName, new CachedProject(null, components, versions));
+	}
+
+	/**
+	 * Return the project from the cache. The project is loaded from JIRA if it is not in cache or if it has expired.
+	 * @param projectName
+	 * @param fullProject : true if the {@link Project} is needed, false if only the components and versions are used
+	 * @return {@link CachedProject}
+	 * @throws ProjectNotFoundException
+	 */
+	private CachedProject getCachedProject(String projectName, boolean fullProject) throws ProjectNotFoundException {
+		final long ttl = TimeUnit.SECONDS.toMillis(jiraUserDatas.getProjectCacheTtl());
+		CachedProject cachedProject = projectsByName.get(projectName);
+		if (cachedProject != null && cachedProject.isValid(ttl, fullProject)) {
+			return cachedProject;
+		}
+		if (!isProjectExist(projectName)) throw new ProjectNotFoundException();
+
+		return projectsByName.compute(projectName, (name, cached) -> {
+			if (cached != null && cached.isValid(ttl, fullProject)) {
+				return cached;
+			}
+			BasicProject bp = hashProjectKeyName.get(name);
+			LOG.info("Loading project <" + name + "> from JIRA");
+			Project project = jiraConnection.getProjectClient().getProject(bp.getKey(), pm);
+			return new CachedProject(project, project.getComponents(), project.getVersions());
+		});
+	}
+	
+	@Override
+	public boolean isProjectExist(String projectName) {
+		loadHashProjectKeyName();
+		return hashProjectKeyName.containsKey(projectName);
+	}
+
+	@Override
+	public Project getProjectByKey(String key) throws ProjectNotFoundException {
+		loadHashProjectKeyName();
+		for (BasicProject bp : hashProjectKeyName.values()) {
+			if (bp.getKey().compareTo(key) == 0) {
+				return getCachedProject(bp.getName(), true).project;
+			}
+		}
+		throw new ProjectNotFoundException();
+	}
+
+	@Override
+	public Project getProjectByName(String projectName) throws ProjectNotFoundException {
+		return getCachedProject(projectName, true).project;
+	}
+
+	@Override
+	public String getProjectKey(String projectName) throws ProjectNotFoundException {
+		if (!isProjectExist(projectName)) throw new ProjectNotFoundException();
+		BasicProject bp = hashProjectKeyName.get(projectName);
+		return bp.getKey();
+	}
+
+	@Override
+	public BasicComponent getComponentByNameFromProject(Project project, String componentName) throws ComponentNotFoundException {
+		for (BasicComponent component : project.getComponents()) {
+			if (component.getName().compareTo(componentName)==0) {
+				return component;
+			}
+		}
+		throw new ComponentNotFoundException();
+	}
+	
+	@Override
+	public BasicComponent getComponentByName(String projectName, String componentName) throws ProjectNotFoundException, ComponentNotFoundException {
+		BasicComponent component = getCachedProject(projectName, false).componentsByName.get(componentName);
+		if (component == null) {
+			throw new ComponentNotFoundException();
+		}
+		return component;
+	}
+
+	@Override
+	public Version getVersionByName(String projectName, String versionName) throws ProjectNotFoundException, VersionNotFoundException {
+		Version version = getCachedProject(projectName, false).versionsByName.get(versionName);
+		if (version == null) {
+			throw new VersionNotFoundException();
+		}
+		return version;
+	}
+
+	@Override
+	public boolean isComponentNameExistsInProject(String projectName, String componentName) throws ProjectNotFoundException {
+		return getCachedProject(projectName, false).componentsByName.containsKey(componentName);
+	}
+
+	@Override
+	public List<BasicProject> getAllProject() {
+		List<BasicProject> projects = (List<BasicProject>) jiraConnection.getProjectClient().getAllProjects(pm);
+		return projects;
+	}
+	
+
+	/**
+	 * A project loaded from JIRA, with its components and versions by name.
+	 * The project is null when the components and versions come from a metadata snapshot.
+	 */
+	private static final class CachedProject {
+		private final Project project;
+		private final long loadingTime = System.currentTimeMillis();
+		private final Map<String, BasicComponent> componentsByName = new HashMap<>();
+		private final Map<String, Version> versionsByName = new HashMap<>();
+
+		CachedProject(Project project, Iterable<BasicComponent> components, Iterable<Version> versions) {
+			this.project = project;
+			if (components != null) {
+				for (BasicComponent component : components) {
+					componentsByName.putIfAbsent(component.getName(), component);
+				}
+			}
+			if (versions != null) {
+				for (Version version : versions) {
+					versionsByName.putIfAbsent(version.getName(), version);
+				}
+			}
+		}
+
+		boolean isValid(long ttl, boolean fullProject) {
+			return System.currentTimeMillis() - loadingTime < ttl && (project != null || !fullProject);
+		}
+	}
+}
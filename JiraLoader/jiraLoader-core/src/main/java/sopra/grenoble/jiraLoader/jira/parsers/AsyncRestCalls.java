@@ -0,0 +1,92 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.RestClientException;
+import com.sun.jersey.api.client.AsyncWebResource;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.async.TypeListener;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+import org.codehaus.jettison.json.JSONException;
+
+import javax.ws.rs.core.MediaType;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Asynchronous calls of the JIRA REST API, with the async resources of the Jersey client.
+ * The calling thread is not blocked : the request is executed by the executor of the client and the response is parsed
+ * by the listener when it is received. The future is completed with the parsed response, or with a RestClientException.
+ */
+public final class AsyncRestCalls {
+
+	/**
+	 * Parse the body of a response
+	 */
+	public interface IBodyParser<T> {
+		/**
+		 * @param body : JSON
+		 * @return the parsed response
+		 * @throws JSONException
+		 */
+		T parse(String body) throws JSONException;
+	}
+
+	private AsyncRestCalls() {
+	}
+
+	/**
+	 * GET the uri
+	 * @param client
+	 * @param uri
+	 * @param parser : parser of a 200 response
+	 * @return the parsed response
+	 */
+	public static <T> CompletableFuture<T> get(ApacheHttpClient client, URI uri, IBodyParser<T> parser) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		resource(client, uri).get(new ResponseListener<>(result, parser, 200));
+		return result;
+	}
+
+	private static AsyncWebResource.Builder resource(ApacheHttpClient client, URI uri) {
+		return client.asyncResource(uri).accept(MediaType.APPLICATION_JSON_TYPE);
+	}
+
+	/**
+	 * Complete the future when the response is received
+	 */
+	private static class ResponseListener<T> extends TypeListener<ClientResponse> {
+
+		private final CompletableFuture<T> result;
+		private final IBodyParser<T> parser;
+		private final int[] acceptedStatus;
+
+		ResponseListener(CompletableFuture<T> result, IBodyParser<T> parser, int... acceptedStatus) {
+			super(ClientResponse.class);
+			this.result = result;
+			this.parser = parser;
+			this.acceptedStatus = acceptedStatus;
+		}
+
+		@Override
+		public void onComplete(Future<ClientResponse> future) throws InterruptedException {
+			try {
+				ClientResponse response = future.get();
+				String body = response.getEntity(String.class);
+				int status = response.getStatus();
+				for (int accepted : acceptedStatus) {
+					if (status == accepted) {
+						result.complete(parser.parse(body));
+						return;
+					}
+				}
+				result.completeExceptionally(new RestClientException(Collections.singletonList("HTTP " + status + " : " + body), null));
+			} catch (ExecutionException e) {
+				result.completeExceptionally(new RestClientException(e.getCause()));
+			} catch (JSONException | RuntimeException e) {
+				result.completeExceptionally(new RestClientException(e));
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Parser of the response of POST /issue/bulk :
+ * {"issues":[{"id","key","self"}...], "errors":[{"status", "elementErrors":{"errorMessages":[], "errors":{}}, "failedElementNumber"}...]}
+ *
+ * The issues created are returned in the order of the issues sent, without the failed elements.
+ */
+public class BulkIssueJsonParser {
+
+	/**
+	 * Parse the response
+	 * @param json
+	 * @param size : number of issues sent
+	 * @return {@link BulkIssueResult}
+	 * @throws JSONException
+	 */
+	public BulkIssueResult parse(JSONObject json, int size) throws JSONException {
+		BulkIssueResult result = new BulkIssueResult(size);
+
+		JSONArray errors = json.optJSONArray("errors");
+		boolean[] failed = new boolean[size];
+		if (errors != null) {
+			for (int i = 0; i < errors.length(); i++) {
+				JSONObject error = errors.getJSONObject(i);
+				int index = error.optInt("failedElementNumber", -1);
+				if (index >= 0 && index < size) {
+					failed[index] = true;
+					result.setError(index, parseErrorMessage(error));
+				}
+			}
+		}
+
+		JSONArray issues = json.optJSONArray("issues");
+		int created = 0;
+		for (int index = 0; index < size && issues != null && created < issues.length(); index++) {
+			if (!failed[index]) {
+				result.setIssue(index, parseIssue(issues.getJSONObject(created++)));
+			}
+		}
+		return result;
+	}
+
+	private static BasicIssue parseIssue(JSONObject json) throws JSONException {
+		String id = json.optString("id", null);
+		return new BasicIssue(URI.create(json.getString("self")), json.getString("key"), (id != null) ? Long.valueOf(id) : null);
+	}
+
+	private static String parseErrorMessage(JSONObject error) throws JSONException {
+		List<String> messages = new ArrayList<>();
+		JSONObject elementErrors = error.optJSONObject("elementErrors");
+		if (elementErrors != null) {
+			JSONArray errorMessages = elementErrors.optJSONArray("errorMessages");
+			for (int i = 0; errorMessages != null && i < errorMessages.length(); i++) {
+				messages.add(errorMessages.getString(i));
+			}
+			JSONObject fieldErrors = elementErrors.optJSONObject("errors");
+			if (fieldErrors != null) {
+				Iterator<?> fields = fieldErrors.keys();
+				while (fields.hasNext()) {
+					String field = (String) fields.next();
+					messages.add(field + " : " + fieldErrors.getString(field));
+				}
+			}
+		}
+		return "HTTP " + error.optInt("status") + " " + messages;
+	}
+}
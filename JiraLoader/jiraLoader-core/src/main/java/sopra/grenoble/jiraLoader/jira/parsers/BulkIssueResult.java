@@ -0,0 +1,76 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+
+import java.util.Arrays;
+
+/**
+ * Result of a bulk creation : for each issue sent, the issue created or the error returned by JIRA.
+ * The results are indexed as the issues sent.
+ */
+public class BulkIssueResult {
+
+	private final BasicIssue[] issues;
+	private final String[] errors;
+
+	/**
+	 * Default constructor
+	 * @param size : number of issues sent
+	 */
+	public BulkIssueResult(int size) {
+		super();
+		this.issues = new BasicIssue[size];
+		this.errors = new String[size];
+	}
+
+	void setIssue(int index, BasicIssue issue) {
+		issues[index] = issue;
+	}
+
+	void setError(int index, String error) {
+		errors[index] = error;
+	}
+
+	/**
+	 * Copy the results of a chunk in this result
+	 * @param offset : index of the first issue of the chunk
+	 * @param chunk
+	 */
+	public void addAll(int offset, BulkIssueResult chunk) {
+		System.arraycopy(chunk.issues, 0, issues, offset, chunk.size());
+		System.arraycopy(chunk.errors, 0, errors, offset, chunk.size());
+	}
+
+	/**
+	 * @return the number of issues sent
+	 */
+	public int size() {
+		return issues.length;
+	}
+
+	/**
+	 * @param index
+	 * @return the issue created, or null if the issue has not been created
+	 */
+	public BasicIssue getIssue(int index) {
+		return issues[index];
+	}
+
+	/**
+	 * @param index
+	 * @return the error returned by JIRA, or null if the issue has been created
+	 */
+	public String getError(int index) {
+		if (errors[index] == null && issues[index] == null) {
+			return "No result returned by JIRA";
+		}
+		return errors[index];
+	}
+
+	/**
+	 * @return true if all the issues have been created
+	 */
+	public boolean isSuccess() {
+		return Arrays.stream(issues).allMatch((issue) -> issue != null);
+	}
+}
@@ -0,0 +1,24 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.IssueRestClient;
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.RestClientException;
+import com.atlassian.jira.rest.client.domain.input.IssueInput;
+
+import java.util.List;
+
+/**
+ * Issue rest client with the JIRA functions not provided by the JRJC client
+ */
+public interface IIssueRestClientV2 extends IssueRestClient {
+
+	/**
+	 * Create several issues with one call (POST /issue/bulk). An issue in error does not prevent the other ones to be created.
+	 * @param issues
+	 * @param progressMonitor progress monitor
+	 * @return the issue created or the error, for each issue
+	 * @throws RestClientException in case of problems (connectivity, malformed messages, etc.)
+	 * @since server 6.0
+	 */
+	BulkIssueResult createIssues(List<IssueInput> issues, ProgressMonitor progressMonitor);
+}
@@ -0,0 +1,57 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.RestClientException;
+import com.atlassian.jira.rest.client.SearchRestClient;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Search rest client with the JIRA functions not provided by the JRJC client
+ */
+public interface ISearchRestClientV2 extends SearchRestClient {
+
+	/**
+	 * Search the issues with a JQL query, returning only their summary, type and parent
+	 * @param jql
+	 * @param startAt : index of the first issue returned
+	 * @param maxResults : max number of issues returned, JIRA can return less issues
+	 * @param progressMonitor progress monitor
+	 * @return a page of the result
+	 * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL, etc.)
+	 */
+	IssueSummaryPage searchIssueSummaries(String jql, int startAt, int maxResults, ProgressMonitor progressMonitor);
+
+	/**
+	 * Search the issues with a JQL query, returning only the field used as summary, their type and their parent
+	 * @param jql
+	 * @param startAt : index of the first issue returned
+	 * @param maxResults : max number of issues returned, JIRA can return less issues
+	 * @param summaryFieldId : id of the field returned as summary, for example the Epic Name field of the epics.
+	 * null to return only the type and the parent.
+	 * @param progressMonitor progress monitor
+	 * @return a page of the result
+	 * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL, etc.)
+	 */
+	IssueSummaryPage searchIssueSummaries(String jql, int startAt, int maxResults, String summaryFieldId, ProgressMonitor progressMonitor);
+
+	/**
+	 * Same search as {@link #searchIssueSummaries(String, int, int, String, ProgressMonitor)}, without blocking the calling thread
+	 * @param jql
+	 * @param startAt : index of the first issue returned
+	 * @param maxResults : max number of issues returned, JIRA can return less issues
+	 * @param summaryFieldId : id of the field returned as summary, null to return only the type and the parent
+	 * @return a page of the result, completed with a RestClientException in case of problems
+	 */
+	CompletableFuture<IssueSummaryPage> searchIssueSummariesAsync(String jql, int startAt, int maxResults, String summaryFieldId);
+
+	/**
+	 * Search all the issues matching a JQL query, page by page, with the next page loaded while the current one is read
+	 * @param jql
+	 * @param pageSize : max number of issues asked by call
+	 * @param summaryFieldId : id of the field returned as summary, null to return only the type and the parent
+	 * @param progressMonitor progress monitor
+	 * @return {@link IssueSearchIterator}, throwing RestClientException in case of problems
+	 */
+	IssueSearchIterator searchAllIssueSummaries(String jql, int pageSize, String summaryFieldId, ProgressMonitor progressMonitor);
+}
@@ -0,0 +1,62 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.MetadataRestClient;
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.RestClientException;
+import com.atlassian.jira.rest.client.SessionRestClient;
+import com.atlassian.jira.rest.client.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.internal.jersey.JerseyIssueRestClient;
+import com.atlassian.jira.rest.client.internal.json.gen.IssueInputJsonGenerator;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Issue rest client with the bulk creation
+ */
+public class IssueRestV2Client extends JerseyIssueRestClient implements IIssueRestClientV2 {
+
+	private final IssueInputJsonGenerator issueInputJsonGenerator = new IssueInputJsonGenerator();
+	private final BulkIssueJsonParser bulkIssueJsonParser = new BulkIssueJsonParser();
+
+	/**
+	 * Default constructor
+	 * @param baseUri
+	 * @param client
+	 * @param sessionRestClient
+	 * @param metadataRestClient
+	 */
+	public IssueRestV2Client(URI baseUri, ApacheHttpClient client, SessionRestClient sessionRestClient, MetadataRestClient metadataRestClient) {
+		super(baseUri, client, sessionRestClient, metadataRestClient);
+	}
+
+	@Override
+	public BulkIssueResult createIssues(List<IssueInput> issues, ProgressMonitor progressMonitor) {
+		final URI uri = UriBuilder.fromUri(baseUri).path("issue/bulk").build();
+		return invoke(() -> {
+			JSONArray issueUpdates = new JSONArray();
+			for (IssueInput issue : issues) {
+				issueUpdates.put(issueInputJsonGenerator.generate(issue));
+			}
+			JSONObject request = new JSONObject();
+			request.put("issueUpdates", issueUpdates);
+
+			// JIRA answers 201 when at least one issue is created, 400 when all the issues are in error : both are parsed
+			ClientResponse response = client.resource(uri).accept(MediaType.APPLICATION_JSON_TYPE).type(MediaType.APPLICATION_JSON_TYPE)
+					.post(ClientResponse.class, request.toString());
+			String body = response.getEntity(String.class);
+			int status = response.getStatus();
+			if (status != 201 && status != 400) {
+				throw new RestClientException(Collections.singletonList("HTTP " + status + " : " + body), null);
+			}
+			return bulkIssueJsonParser.parse(new JSONObject(body), issues.size());
+		});
+	}
+}
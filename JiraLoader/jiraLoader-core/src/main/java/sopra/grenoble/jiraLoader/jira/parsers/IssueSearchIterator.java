@@ -0,0 +1,170 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterate over all the issues of a JQL search, page by page.
+ * The first page is loaded on the first call. When a page is received, the next one is loaded in background
+ * while the issues of the current page are consumed : by the asynchronous calls of the client, see {@link #async},
+ * or by a thread of the iterator for a blocking loader.
+ *
+ * The errors of the search (RestClientException) are thrown by {@link #hasNext()}.
+ */
+public class IssueSearchIterator implements Iterator<IssueSummary> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IssueSearchIterator.class);
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	/**
+	 * Threads loading the next pages, shared by all the searches
+	 */
+	private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool((runnable) -> {
+		Thread thread = new Thread(runnable, "jira-search-prefetch-" + THREAD_NUMBER.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Load a page of the search
+	 */
+	public interface IPageLoader {
+		/**
+		 * @param startAt : index of the first issue of the page
+		 * @param maxResults : max number of issues of the page
+		 * @return the page
+		 */
+		IssueSummaryPage load(int startAt, int maxResults);
+	}
+
+	/**
+	 * Load a page of the search without blocking the calling thread
+	 */
+	public interface IAsyncPageLoader {
+		/**
+		 * @param startAt : index of the first issue of the page
+		 * @param maxResults : max number of issues of the page
+		 * @return the page, loaded in background
+		 */
+		CompletableFuture<IssueSummaryPage> load(int startAt, int maxResults);
+	}
+
+	private final IAsyncPageLoader loader;
+	private final int pageSize;
+
+	private boolean started = false;
+	private Iterator<IssueSummary> currentPage = Collections.emptyIterator();
+	private CompletableFuture<IssueSummaryPage> nextPage;
+	private int total = 0;
+	private int position = 0;
+
+	/**
+	 * Default constructor
+	 * @param loader
+	 * @param pageSize : number of issues asked by page, JIRA can return less issues
+	 */
+	public IssueSearchIterator(IPageLoader loader, int pageSize) {
+		this(prefetch(loader), pageSize);
+	}
+
+	private IssueSearchIterator(IAsyncPageLoader loader, int pageSize) {
+		super();
+		this.loader = loader;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * @param loader : asynchronous loader, the pages are not loaded by the threads of the iterator
+	 * @param pageSize : number of issues asked by page, JIRA can return less issues
+	 * @return the iterator
+	 */
+	public static IssueSearchIterator async(IAsyncPageLoader loader, int pageSize) {
+		return new IssueSearchIterator(loader, pageSize);
+	}
+
+	/**
+	 * @param loader
+	 * @return the loader running in the threads of the iterator
+	 */
+	private static IAsyncPageLoader prefetch(IPageLoader loader) {
+		return (startAt, maxResults) -> CompletableFuture.supplyAsync(() -> loader.load(startAt, maxResults), PREFETCH_EXECUTOR);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!currentPage.hasNext()) {
+			if (!started) {
+				started = true;
+				receive(join(loader.load(0, pageSize)));
+			} else if (nextPage != null) {
+				receive(join(nextPage));
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public IssueSummary next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		position++;
+		return currentPage.next();
+	}
+
+	/**
+	 * @return the number of issues matching the JQL query, as returned by the last page loaded
+	 */
+	public int getTotal() {
+		if (!started) {
+			hasNext();
+		}
+		return total;
+	}
+
+	/**
+	 * @return the number of issues already returned by {@link #next()}
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Use the page received and start the loading of the next one
+	 * @param page
+	 */
+	private void receive(IssueSummaryPage page) {
+		total = page.getTotal();
+		currentPage = page.getIssues().iterator();
+		final int nextStartAt = page.getStartAt() + page.getIssues().size();
+		LOG.debug("Search page received : " + nextStartAt + "/" + total + " issue(s)");
+		if (!page.getIssues().isEmpty() && nextStartAt < total) {
+			nextPage = loader.load(nextStartAt, pageSize);
+		} else {
+			nextPage = null;
+		}
+	}
+
+	private static IssueSummaryPage join(CompletableFuture<IssueSummaryPage> page) {
+		try {
+			return page.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+
+/**
+ * Summary of a story or a sub-task : the issue, its summary, its type and its parent
+ */
+public final class IssueSummary {
+
+	private final BasicIssue issue;
+	private final String summary;
+	private final boolean subTask;
+	private final String parentKey;
+
+	/**
+	 * Default constructor
+	 * @param issue
+	 * @param summary
+	 * @param subTask : true if the issue is a sub-task
+	 * @param parentKey : key of the story of a sub-task, null otherwise
+	 */
+	public IssueSummary(BasicIssue issue, String summary, boolean subTask, String parentKey) {
+		super();
+		this.issue = issue;
+		this.summary = summary;
+		this.subTask = subTask;
+		this.parentKey = parentKey;
+	}
+
+	public BasicIssue getIssue() {
+		return issue;
+	}
+
+	public String getKey() {
+		return issue.getKey();
+	}
+
+	public String getSummary() {
+		return summary;
+	}
+
+	public boolean isSubTask() {
+		return subTask;
+	}
+
+	public String getParentKey() {
+		return parentKey;
+	}
+}
@@ -0,0 +1,38 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import java.util.List;
+
+/**
+ * A page of the result of a JQL search on the summaries
+ */
+public final class IssueSummaryPage {
+
+	private final int startAt;
+	private final int total;
+	private final List<IssueSummary> issues;
+
+	public IssueSummaryPage(int startAt, int total, List<IssueSummary> issues) {
+		super();
+		this.startAt = startAt;
+		this.total = total;
+		this.issues = issues;
+	}
+
+	/**
+	 * @return index of the first issue of the page
+	 */
+	public int getStartAt() {
+		return startAt;
+	}
+
+	/**
+	 * @return number of issues matching the JQL query
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	public List<IssueSummary> getIssues() {
+		return issues;
+	}
+}
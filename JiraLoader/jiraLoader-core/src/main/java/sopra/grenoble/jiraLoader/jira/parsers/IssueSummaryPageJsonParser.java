@@ -0,0 +1,57 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser of the response of GET /search with the fields summary, issuetype and parent.
+ * Another field can be read as summary, for example the Epic Name field of the epics.
+ */
+public class IssueSummaryPageJsonParser implements JsonObjectParser<IssueSummaryPage> {
+
+	public static final String SUMMARY_FIELD_ID = "summary";
+
+	private final String summaryFieldId;
+
+	/**
+	 * Parser of the summary field
+	 */
+	public IssueSummaryPageJsonParser() {
+		this(SUMMARY_FIELD_ID);
+	}
+
+	/**
+	 * @param summaryFieldId : id of the field read as summary, null if the summary is not read
+	 */
+	public IssueSummaryPageJsonParser(String summaryFieldId) {
+		super();
+		this.summaryFieldId = summaryFieldId;
+	}
+
+	@Override
+	public IssueSummaryPage parse(JSONObject json) throws JSONException {
+		JSONArray issuesJson = json.getJSONArray("issues");
+		List<IssueSummary> issues = new ArrayList<>(issuesJson.length());
+		for (int i = 0; i < issuesJson.length(); i++) {
+			issues.add(parseIssue(issuesJson.getJSONObject(i)));
+		}
+		return new IssueSummaryPage(json.getInt("startAt"), json.getInt("total"), issues);
+	}
+
+	private IssueSummary parseIssue(JSONObject json) throws JSONException {
+		BasicIssue issue = new BasicIssue(URI.create(json.getString("self")), json.getString("key"), Long.valueOf(json.getString("id")));
+		JSONObject fields = json.getJSONObject("fields");
+		JSONObject issueType = fields.optJSONObject("issuetype");
+		JSONObject parent = fields.optJSONObject("parent");
+		String summary = (summaryFieldId == null || fields.isNull(summaryFieldId)) ? null : fields.getString(summaryFieldId);
+		return new IssueSummary(issue, summary, issueType != null && issueType.optBoolean("subtask"),
+				(parent != null) ? parent.getString("key") : null);
+	}
+}
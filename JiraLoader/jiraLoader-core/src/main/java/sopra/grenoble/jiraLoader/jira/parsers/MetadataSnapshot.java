@@ -0,0 +1,92 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.Field;
+import com.atlassian.jira.rest.client.domain.IssueType;
+import com.atlassian.jira.rest.client.domain.Priority;
+import com.atlassian.jira.rest.client.domain.Status;
+import com.atlassian.jira.rest.client.domain.Version;
+
+import java.util.List;
+
+/**
+ * The metadata of a JIRA server, as seen by a user, saved on disk to start without waiting for JIRA :
+ * the fields, issue types, priorities and status, and the components and versions of a project.
+ */
+public final class MetadataSnapshot {
+
+	private final String uri;
+	private final String username;
+	private final long creationTime;
+	private final List<Field> fields;
+	private final List<IssueType> issueTypes;
+	private final List<Priority> priorities;
+	private final List<Status> statuses;
+	private final String projectName;
+	private final List<BasicComponent> components;
+	private final List<Version> versions;
+
+	public MetadataSnapshot(String uri, String username, long creationTime, List<Field> fields, List<IssueType> issueTypes,
+			List<Priority> priorities, List<Status> statuses, String projectName, List<BasicComponent> components, List<Version> versions) {
+		super();
+		this.uri = uri;
+		this.username = username;
+		this.creationTime = creationTime;
+		this.fields = fields;
+		this.issueTypes = issueTypes;
+		this.priorities = priorities;
+		this.statuses = statuses;
+		this.projectName = projectName;
+		this.components = components;
+		this.versions = versions;
+	}
+
+	/**
+	 * @return the JIRA URL endpoint
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * @return the time the metadata have been read from JIRA, in milliseconds
+	 */
+	public long getCreationTime() {
+		return creationTime;
+	}
+
+	public List<Field> getFields() {
+		return fields;
+	}
+
+	public List<IssueType> getIssueTypes() {
+		return issueTypes;
+	}
+
+	public List<Priority> getPriorities() {
+		return priorities;
+	}
+
+	public List<Status> getStatuses() {
+		return statuses;
+	}
+
+	/**
+	 * @return the name of the project of the components and versions, null if there is no project
+	 */
+	public String getProjectName() {
+		return projectName;
+	}
+
+	public List<BasicComponent> getComponents() {
+		return components;
+	}
+
+	public List<Version> getVersions() {
+		return versions;
+	}
+}
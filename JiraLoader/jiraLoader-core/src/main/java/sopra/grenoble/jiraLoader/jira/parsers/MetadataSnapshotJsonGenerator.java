@@ -0,0 +1,69 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.Field;
+import com.atlassian.jira.rest.client.domain.IssueType;
+import com.atlassian.jira.rest.client.domain.Priority;
+import com.atlassian.jira.rest.client.domain.Status;
+import com.atlassian.jira.rest.client.domain.Version;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+/**
+ * Generate the JSON of a {@link MetadataSnapshot}, read by {@link MetadataSnapshotJsonParser}.
+ * Only the attributes of the JIRA objects used by the loader are written.
+ */
+public class MetadataSnapshotJsonGenerator {
+
+	public JSONObject generate(MetadataSnapshot snapshot) throws JSONException {
+		JSONObject json = new JSONObject();
+		json.put("uri", snapshot.getUri());
+		json.put("username", snapshot.getUsername());
+		json.put("creationTime", snapshot.getCreationTime());
+
+		JSONArray fields = new JSONArray();
+		for (Field field : snapshot.getFields()) {
+			fields.put(new JSONObject().put("id", field.getId()).put("name", field.getName()));
+		}
+		json.put("fields", fields);
+
+		JSONArray issueTypes = new JSONArray();
+		for (IssueType type : snapshot.getIssueTypes()) {
+			issueTypes.put(new JSONObject().putOpt("self", type.getSelf()).putOpt("id", type.getId()).put("name", type.getName())
+					.put("subtask", type.isSubtask()).putOpt("description", type.getDescription()).putOpt("iconUrl", type.getIconUri()));
+		}
+		json.put("issueTypes", issueTypes);
+
+		JSONArray priorities = new JSONArray();
+		for (Priority priority : snapshot.getPriorities()) {
+			priorities.put(new JSONObject().putOpt("self", priority.getSelf()).putOpt("id", priority.getId()).put("name", priority.getName())
+					.putOpt("statusColor", priority.getStatusColor()).putOpt("description", priority.getDescription())
+					.putOpt("iconUrl", priority.getIconUri()));
+		}
+		json.put("priorities", priorities);
+
+		JSONArray statuses = new JSONArray();
+		for (Status status : snapshot.getStatuses()) {
+			statuses.put(new JSONObject().putOpt("self", status.getSelf()).putOpt("id", status.getId()).put("name", status.getName())
+					.putOpt("description", status.getDescription()).putOpt("iconUrl", status.getIconUrl()));
+		}
+		json.put("statuses", statuses);
+
+		if (snapshot.getProjectName() != null) {
+			JSONArray components = new JSONArray();
+			for (BasicComponent component : snapshot.getComponents()) {
+				components.put(new JSONObject().putOpt("self", component.getSelf()).putOpt("id", component.getId())
+						.put("name", component.getName()).putOpt("description", component.getDescription()));
+			}
+			JSONArray versions = new JSONArray();
+			for (Version version : snapshot.getVersions()) {
+				versions.put(new JSONObject().putOpt("self", version.getSelf()).putOpt("id", version.getId()).put("name", version.getName())
+						.putOpt("description", version.getDescription()).put("archived", version.isArchived())
+						.put("released", version.isReleased()).putOpt("releaseDate", version.getReleaseDate()));
+			}
+			json.put("project", new JSONObject().put("name", snapshot.getProjectName()).put("components", components).put("versions", versions));
+		}
+		return json;
+	}
+}
@@ -0,0 +1,89 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.Field;
+import com.atlassian.jira.rest.client.domain.IssueType;
+import com.atlassian.jira.rest.client.domain.Priority;
+import com.atlassian.jira.rest.client.domain.Status;
+import com.atlassian.jira.rest.client.domain.Version;
+import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.joda.time.DateTime;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser of a {@link MetadataSnapshot} written by {@link MetadataSnapshotJsonGenerator}
+ */
+public class MetadataSnapshotJsonParser implements JsonObjectParser<MetadataSnapshot> {
+
+	@Override
+	public MetadataSnapshot parse(JSONObject json) throws JSONException {
+		List<Field> fields = new ArrayList<>();
+		for (JSONObject field : getObjects(json, "fields")) {
+			fields.add(new Field(field.getString("id"), field.getString("name"), null, null));
+		}
+		List<IssueType> issueTypes = new ArrayList<>();
+		for (JSONObject type : getObjects(json, "issueTypes")) {
+			issueTypes.add(new IssueType(getUri(type, "self"), getId(type), type.getString("name"), type.optBoolean("subtask"),
+					getString(type, "description"), getUri(type, "iconUrl")));
+		}
+		List<Priority> priorities = new ArrayList<>();
+		for (JSONObject priority : getObjects(json, "priorities")) {
+			priorities.add(new Priority(getUri(priority, "self"), getId(priority), priority.getString("name"), getString(priority, "statusColor"),
+					getString(priority, "description"), getUri(priority, "iconUrl")));
+		}
+		List<Status> statuses = new ArrayList<>();
+		for (JSONObject status : getObjects(json, "statuses")) {
+			statuses.add(new Status(getUri(status, "self"), getId(status), status.getString("name"), getString(status, "description"),
+					getUri(status, "iconUrl")));
+		}
+
+		String projectName = null;
+		List<BasicComponent> components = new ArrayList<>();
+		List<Version> versions = new ArrayList<>();
+		JSONObject project = json.optJSONObject("project");
+		if (project != null) {
+			projectName = project.getString("name");
+			for (JSONObject component : getObjects(project, "components")) {
+				components.add(new BasicComponent(getUri(component, "self"), getId(component), component.getString("name"),
+						getString(component, "description")));
+			}
+			for (JSONObject version : getObjects(project, "versions")) {
+				String releaseDate = getString(version, "releaseDate");
+				versions.add(new Version(getUri(version, "self"), getId(version), version.getString("name"), getString(version, "description"),
+						version.optBoolean("archived"), version.optBoolean("released"), (releaseDate != null) ? new DateTime(releaseDate) : null));
+			}
+		}
+		return new MetadataSnapshot(json.getString("uri"), json.getString("username"), json.getLong("creationTime"), fields, issueTypes,
+				priorities, statuses, projectName, components, versions);
+	}
+
+	private static List<JSONObject> getObjects(JSONObject json, String key) throws JSONException {
+		JSONArray array = json.optJSONArray(key);
+		List<JSONObject> objects = new ArrayList<>();
+		if (array != null) {
+			for (int i = 0; i < array.length(); i++) {
+				objects.add(array.getJSONObject(i));
+			}
+		}
+		return objects;
+	}
+
+	private static String getString(JSONObject json, String key) throws JSONException {
+		return json.isNull(key) ? null : json.getString(key);
+	}
+
+	private static URI getUri(JSONObject json, String key) throws JSONException {
+		String uri = getString(json, key);
+		return (uri != null) ? URI.create(uri) : null;
+	}
+
+	private static Long getId(JSONObject json) throws JSONException {
+		return json.isNull("id") ? null : json.getLong("id");
+	}
+}
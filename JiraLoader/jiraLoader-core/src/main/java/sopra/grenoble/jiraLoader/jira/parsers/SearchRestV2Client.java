@@ -0,0 +1,53 @@
+package sopra.grenoble.jiraLoader.jira.parsers;
+
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.internal.jersey.JerseySearchRestClient;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Search rest client with the selection of the fields returned
+ */
+public class SearchRestV2Client extends JerseySearchRestClient implements ISearchRestClientV2 {
+
+	/**
+	 * Default constructor
+	 * @param baseUri
+	 * @param client
+	 */
+	public SearchRestV2Client(URI baseUri, ApacheHttpClient client) {
+		super(baseUri, client);
+	}
+
+	@Override
+	public IssueSummaryPage searchIssueSummaries(String jql, int startAt, int maxResults, ProgressMonitor progressMonitor) {
+		return searchIssueSummaries(jql, startAt, maxResults, IssueSummaryPageJsonParser.SUMMARY_FIELD_ID, progressMonitor);
+	}
+
+	@Override
+	public IssueSummaryPage searchIssueSummaries(String jql, int startAt, int maxResults, String summaryFieldId, ProgressMonitor progressMonitor) {
+		return getAndParse(searchUri(jql, startAt, maxResults, summaryFieldId), new IssueSummaryPageJsonParser(summaryFieldId), progressMonitor);
+	}
+
+	@Override
+	public CompletableFuture<IssueSummaryPage> searchIssueSummariesAsync(String jql, int startAt, int maxResults, String summaryFieldId) {
+		final IssueSummaryPageJsonParser parser = new IssueSummaryPageJsonParser(summaryFieldId);
+		return AsyncRestCalls.get(client, searchUri(jql, startAt, maxResults, summaryFieldId), (body) -> parser.parse(new JSONObject(body)));
+	}
+
+	@Override
+	public IssueSearchIterator searchAllIssueSummaries(String jql, int pageSize, String summaryFieldId, ProgressMonitor progressMonitor) {
+		// the next page is loaded by the client, no thread waits for it
+		return IssueSearchIterator.async((startAt, maxResults) -> searchIssueSummariesAsync(jql, startAt, maxResults, summaryFieldId), pageSize);
+	}
+
+	private URI searchUri(String jql, int startAt, int maxResults, String summaryFieldId) {
+		final String fields = (summaryFieldId != null) ? summaryFieldId + ",issuetype,parent" : "issuetype,parent";
+		return UriBuilder.fromUri(baseUri).path("search").queryParam("jql", jql).queryParam("startAt", startAt)
+				.queryParam("maxResults", maxResults).queryParam("fields", fields).build();
+	}
+}
@@ -1,184 +1,246 @@
-package sopra.grenoble.jiraLoader.wrappers;
-
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import sopra.grenoble.jiraLoader.configurationbeans.ExcelDatas;
-import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
-import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
-import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
-import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
-import sopra.grenoble.jiraLoader.jira.dao.project.IProjectService;
-
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-
-/**
- * @author cmouilleron
- * Generic wrapper class which is used to load {@link GenericModel} classes in JIRA application.
- * This class is an abstract class and must be extended to be used.
- * 
- * This class exposes some generic functions.
- *
- * @param <E> : object which must extend the {@link GenericModel} class.
- */
-public abstract class AbstractWrapper<E extends GenericModel> {
-
-	/*
-	 * Static logger
-	 */
-	private static final Logger LOG = LoggerFactory.getLogger(AbstractWrapper.class);
-
-	/**
-	 * The DTO excel model associated to this Wrapper
-	 * This object is an instance of the {@link GenericModel} class. 
-	 */
-	private E dtoExcelModel;
-	
-	/**
-	 * The Excel row reference
-	 */
-	private Row excelRow;
-	
-	@Autowired
-	private IProjectService projectService;
-	
-	@Autowired
-	protected JiraUserDatas jiraUserDatas;
-	
-	@Autowired
-	protected ExcelDatas excelConfigurationDatas;
-
-	
-
-	/**
-	 * Default constructor
-	 * @throws InstantiationException
-	 * @throws IllegalAccessException
-	 */
-	public AbstractWrapper() throws InstantiationException, IllegalAccessException {
-		super();
-        Class<E> modelClass = getTypeParameterClass();
-        LOG.info("Instanciate Wrapper class with DTO => " + modelClass);
-        this.dtoExcelModel = (E) modelClass.newInstance();
-	}
-	
-	/**
-	 * @return the type of the GenericSubClass
-	 */
-	@SuppressWarnings("unchecked")
-	private Class<E> getTypeParameterClass()
-    {
-        Type type = getClass().getGenericSuperclass();
-        ParameterizedType paramType = (ParameterizedType) type;
-        return (Class<E>) paramType.getActualTypeArguments()[0];
-    }
-	
-	/**
-	 * Function to load data in DTO
-	 * @param row
-	 * @return 
-	 */
-	public E loadRow(Row row, XslsFileReaderAndWriter excelLoader) {
-		this.dtoExcelModel.loadRow(row, excelLoader);
-		this.excelRow = row;
-		LOG.debug(getLogPrefixe() + "Create DTO with following datas " + this.dtoExcelModel.toString());
-		return this.dtoExcelModel;
-	}
-
-	/**
-	 * Abstract function to insert the dto object {@link #dtoExcelModel} in JIRA.
-	 * @return 
-	 * @throws JiraGeneralException
-	 */
-	protected abstract void insertInJira(E excelDtoLine) throws JiraGeneralException;
-
-	
-	/**
-	 * Abstract function to update existing jira object based on a DTO
-	 */
-	protected abstract void updateInJira(E excelDtoLine) throws JiraGeneralException;
-	
-	
-	/**
-	 * Function to validate the dto object. Validations are :
-	 * 	<li> validate the mandatory parameters in dto object
-	 * 	<li> validate that the {@link GenericModel#composantName} exists in the project.
-	 * @return true if the validation is done without error.
-	 * @throws JiraGeneralException : if the communication with JIRA is not opened or cannot be done
-	 */
-	public boolean validateRow() throws JiraGeneralException {
-		//validate DTO data
-		if (!this.dtoExcelModel.validate()) {
-			LOG.info(getLogPrefixe() + " Line is not valid - Missing data in Excel file");
-			return false;
-		}
-		
-		//validate JIRA requirements
-		if (dtoExcelModel.composantName != null) {
-			//composantName must exist in JIRA
-			if(!projectService.isComponentNameExistsInProject(jiraUserDatas.getProjectName(), dtoExcelModel.composantName)) {
-				LOG.info(getLogPrefixe() + " Line is not valid - Component name <" + dtoExcelModel.composantName + "> does not exist in JIRA");
-				return false;
-			}
-		}
-		LOG.info("Line <" + excelRow.getRowNum() + "> is valid");
-		return true;
-	}
-
-	/**
-	 * It's a create action if dto object has a value in key
-	 * @return
-	 */
-	public boolean isCreateAction() {
-		if (this.dtoExcelModel.key != null) {
-			return false;
-		}
-		return true;
-	}
-	
-	/**
-	 * Based on the dto, update the row line.
-	 * For the moment, just update the key value
-	 */
-	public void updateRowLineInExcel() {
-		Cell c = this.excelRow.getCell(0);
-		if (c == null) {
-			//create an empty cell
-			c = this.excelRow.createCell(0);
-		}
-		//set the value
-		c.setCellValue(dtoExcelModel.key);
-	}
-
-	/**
-	 * Call this function to insert a new line in JIRA
-	 * First create line in JIRA and then update the excel file with the id generated by jira
-	 * @throws JiraGeneralException
-	 */
-	public void createRowInJira() throws JiraGeneralException {
-		//call the function to inject excel row in JIRA
-		this.insertInJira(this.dtoExcelModel);
-		//update excel file with updated datas
-		this.updateRowLineInExcel();
-	}
-	
-	/**
-	 * Call this 
-	 */
-	public void updateRowInJira() throws JiraGeneralException {
-		//call the function to inject excel row in JIRA
-		this.updateInJira(this.dtoExcelModel);
-		//update excel file with updated datas
-		this.updateRowLineInExcel();
-	}
-	
-	protected String getLogPrefixe() {
-		if (excelRow != null) {
-			return "Line <" + excelRow.getRowNum() + "> : ";
-		}
-		return "";
-	}
-}
+package sopra.grenoble.jiraLoader.wrappers;
+
+import com.atlassian.jira.rest.client.domain.input.IssueInput;
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import sopra.grenoble.jiraLoader.configurationbeans.ExcelDatas;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
+import sopra.grenoble.jiraLoader.jira.dao.project.IIssueService;
+import sopra.grenoble.jiraLoader.jira.dao.project.IProjectService;
+import sopra.grenoble.jiraLoader.jira.parsers.BulkIssueResult;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author cmouilleron
+ * Generic wrapper class which is used to load {@link GenericModel} classes in JIRA application.
+ * This class is an abstract class and must be extended to be used.
+ * 
+ * This class exposes some generic functions.
+ * The wrappers are stateless : the row processed is passed in a {@link RowContext}, so a wrapper can process several rows at the same time.
+ *
+ * @param <E> : object which must extend the {@link GenericModel} class.
+ */
+public abstract class AbstractWrapper<E extends GenericModel> {
+
+	/*
+	 * Static logger
+	 */
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractWrapper.class);
+
+	/**
+	 * The DTO class associated to this Wrapper
+	 */
+	private final Class<E> modelClass;
+	
+	@Autowired
+	private IProjectService projectService;
+	
+	@Autowired
+	protected JiraUserDatas jiraUserDatas;
+	
+	@Autowired
+	protected ExcelDatas excelConfigurationDatas;
+
+	
+
+	/**
+	 * Default constructor
+	 * @throws InstantiationException
+	 * @throws IllegalAccessException
+	 */
+	public AbstractWrapper() throws InstantiationException, IllegalAccessException {
+		super();
+        this.modelClass = getTypeParameterClass();
+        LOG.info("Instanciate Wrapper class with DTO => " + modelClass);
+	}
+	
+	/**
+	 * @return the type of the GenericSubClass
+	 */
+	@SuppressWarnings("unchecked")
+	private Class<E> getTypeParameterClass()
+    {
+        Type type = getClass().getGenericSuperclass();
+        ParameterizedType paramType = (ParameterizedType) type;
+        return (Class<E>) paramType.getActualTypeArguments()[0];
+    }
+	
+	/**
+	 * Function to load data in DTO
+	 * @param row
+	 * @return the context of the row
+	 */
+	public RowContext loadRow(Row row, XslsFileReaderAndWriter excelLoader) {
+		E model = newModel();
+		model.loadRow(row, excelLoader);
+		LOG.debug("Line <" + model.rowNumber + "> : Create DTO with following datas " + model.toString());
+		return loadModel(model);
+	}
+
+	/**
+	 * Function to load a DTO already read. The excel file is not updated by the wrapper :
+	 * the caller has to save the key of the DTO.
+	 * @param model : DTO created by {@link #newModel()}
+	 * @return the context of the row, to pass to the other functions of the wrapper
+	 */
+	public RowContext loadModel(GenericModel model) {
+		return new RowContext(modelClass.cast(model));
+	}
+
+	/**
+	 * @param context
+	 * @return the DTO of the row
+	 */
+	protected E getModel(RowContext context) {
+		return modelClass.cast(context.getModel());
+	}
+
+	/**
+	 * @return a new empty DTO handled by this wrapper
+	 */
+	public E newModel() {
+		try {
+			return modelClass.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException("Unable to instanciate DTO " + modelClass, e);
+		}
+	}
+
+	/**
+	 * Abstract function to insert the dto object in JIRA.
+	 * @param excelDtoLine : DTO of the row
+	 * @param context : context of the row
+	 * @throws JiraGeneralException
+	 */
+	protected abstract void insertInJira(E excelDtoLine, RowContext context) throws JiraGeneralException;
+
+	
+	/**
+	 * Abstract function to update existing jira object based on a DTO
+	 * @param excelDtoLine : DTO of the row
+	 * @param context : context of the row
+	 */
+	protected abstract void updateInJira(E excelDtoLine, RowContext context) throws JiraGeneralException;
+	
+	
+	/**
+	 * Function to validate the dto object. Validations are :
+	 * 	<li> validate the mandatory parameters in dto object
+	 * 	<li> validate that the {@link GenericModel#composantName} exists in the project.
+	 * @param context : context of the row
+	 * @return true if the validation is done without error.
+	 * @throws JiraGeneralException : if the communication with JIRA is not opened or cannot be done
+	 */
+	public boolean validateRow(RowContext context) throws JiraGeneralException {
+		E dtoExcelModel = getModel(context);
+		//validate DTO data
+		if (!dtoExcelModel.validate()) {
+			LOG.info(context.getLogPrefixe() + " Line is not valid - Missing data in Excel file");
+			return false;
+		}
+		
+		//validate JIRA requirements
+		if (dtoExcelModel.composantName != null) {
+			//composantName must exist in JIRA
+			if(!projectService.isComponentNameExistsInProject(jiraUserDatas.getProjectName(), dtoExcelModel.composantName)) {
+				LOG.info(context.getLogPrefixe() + " Line is not valid - Component name <" + dtoExcelModel.composantName + "> does not exist in JIRA");
+				return false;
+			}
+		}
+		LOG.info("Line <" + dtoExcelModel.rowNumber + "> is valid");
+		return true;
+	}
+
+	/**
+	 * It's a create action if dto object has no value in key
+	 * @param context : context of the row
+	 * @return
+	 */
+	public boolean isCreateAction(RowContext context) {
+		if (context.getModel().key != null) {
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Call this function to insert a new line in JIRA
+	 * The key generated by jira is set in the DTO
+	 * @param context : context of the row
+	 * @throws JiraGeneralException
+	 */
+	public void createRowInJira(RowContext context) throws JiraGeneralException {
+		//call the function to inject excel row in JIRA
+		this.insertInJira(getModel(context), context);
+	}
+	
+	/**
+	 * Call this function to insert several new lines in JIRA. The lines are created one by one : the wrappers
+	 * able to use the bulk API of JIRA override this function.
+	 * A line in error does not prevent the other ones to be created : the error is logged.
+	 * @param contexts : contexts of the rows
+	 * @return the contexts of the rows not created
+	 */
+	public List<RowContext> createRowsInJira(List<RowContext> contexts) {
+		List<RowContext> notCreated = new ArrayList<>();
+		for (RowContext context : contexts) {
+			try {
+				createRowInJira(context);
+			} catch (JiraGeneralException | RuntimeException e) {
+				LOG.error(context.getLogPrefixe() + "error while creating row in JIRA", e);
+				notCreated.add(context);
+			}
+		}
+		return notCreated;
+	}
+
+	/**
+	 * Create the issues with one bulk call and set the keys generated by jira in the DTO
+	 * @param contexts : contexts of the rows
+	 * @param issues : issue of each row, in the same order
+	 * @param issueSrv
+	 * @return the contexts of the rows not created
+	 */
+	protected List<RowContext> createIssuesInJira(List<RowContext> contexts, List<IssueInput> issues, IIssueService issueSrv) {
+		List<RowContext> notCreated = new ArrayList<>();
+		if (contexts.isEmpty()) {
+			return notCreated;
+		}
+		BulkIssueResult result;
+		try {
+			result = issueSrv.createIssues(jiraUserDatas.getProjectName(), issues);
+		} catch (RuntimeException e) {
+			LOG.error("Error while creating " + contexts.size() + " issue(s) in JIRA", e);
+			return new ArrayList<>(contexts);
+		}
+		for (int i = 0; i < contexts.size(); i++) {
+			RowContext context = contexts.get(i);
+			if (result.getIssue(i) != null) {
+				context.getModel().key = result.getIssue(i).getKey();
+				LOG.info(context.getLogPrefixe() + modelClass.getSimpleName() + " has been created with KEY : " + context.getModel().key);
+			} else {
+				LOG.error(context.getLogPrefixe() + "error while creating row in JIRA : " + result.getError(i));
+				notCreated.add(context);
+			}
+		}
+		return notCreated;
+	}
+
+	/**
+	 * Call this function to update an existing line in JIRA
+	 * @param context : context of the row
+	 */
+	public void updateRowInJira(RowContext context) throws JiraGeneralException {
+		//call the function to inject excel row in JIRA
+		this.updateInJira(getModel(context), context);
+	}
+}
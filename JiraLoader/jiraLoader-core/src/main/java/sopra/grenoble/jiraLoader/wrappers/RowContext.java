@@ -0,0 +1,41 @@
+package sopra.grenoble.jiraLoader.wrappers;
+
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+
+/**
+ * The row processed by a wrapper. The context is created by {@link AbstractWrapper#loadModel(GenericModel)} and passed to each
+ * function of the wrapper, so the wrappers hold no row and can process several rows at the same time.
+ */
+public final class RowContext {
+
+	private final GenericModel model;
+
+	RowContext(GenericModel model) {
+		super();
+		this.model = model;
+	}
+
+	/**
+	 * @return the DTO of the row
+	 */
+	public GenericModel getModel() {
+		return model;
+	}
+
+	/**
+	 * @return the position of the row in the Import sheet, -1 if the DTO has not been read from a sheet
+	 */
+	public int getRowNumber() {
+		return model.rowNumber;
+	}
+
+	/**
+	 * @return the prefix of the logs of this row
+	 */
+	public String getLogPrefixe() {
+		if (model.rowNumber != -1) {
+			return "Line <" + model.rowNumber + "> : ";
+		}
+		return "";
+	}
+}
@@ -1,72 +1,123 @@
-package sopra.grenoble.jiraLoader.wrappers;
-
-import com.atlassian.jira.rest.client.domain.BasicIssue;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import sopra.grenoble.jiraLoader.excel.dto.Story;
-import sopra.grenoble.jiraLoader.exceptions.IssueNotFoundException;
-import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
-import sopra.grenoble.jiraLoader.exceptions.JiraIssueTypeException;
-import sopra.grenoble.jiraLoader.jira.dao.project.IIssueService;
-
-import java.util.Optional;
-
-@Service("wrapper_Story")
-public class StoryWrapper extends AbstractWrapper<Story> {
-
-	private static final Logger LOG = LoggerFactory.getLogger(StoryWrapper.class);
-	
-	@Autowired
-	private IIssueService storySrv;
-	
-	/**
-	 * Default constructor
-	 * @throws InstantiationException
-	 * @throws IllegalAccessException
-	 */
-	public StoryWrapper() throws InstantiationException, IllegalAccessException {
-		super();
-	}
-
-
-	@Override
-	public void insertInJira(Story s) throws JiraGeneralException {
-		Optional<BasicIssue> bi = Optional.empty();
-		//if option checkStoryExist is activated, check if the story is existing in JIRA
-		if (excelConfigurationDatas.isSearchStoryByNameBeforeCreate()) {
-
-			bi = getStoryIfExist(s.resume, jiraUserDatas.getProjectName());
-			LOG.info(getLogPrefixe() + "isSearchStoryByNameBeforeCreate is activated. Looking for issue with name : " + s.resume);
-
-		}
-		
-		if (bi.isPresent()) {
-			LOG.info(getLogPrefixe() + "Story has been retrieved with the key : " + bi.get().getKey());
-			s.key = String.valueOf(bi.get().getKey());
-			updateRowInJira();
-		} else {
-			bi = Optional.of(storySrv.createStory(jiraUserDatas.getProjectName(), s.epicName, s.versionName, s.clientReference, s.resume, s.descriptif, s.priority, s.composantName, s.versionCorrected, s.linkTargetName, s.estimation));
-			LOG.info(getLogPrefixe() + "Story has been created with KEY : " + bi.get().getKey());
-		}
-
-		//update the DTO key
-		s.key = String.valueOf(bi.get().getKey());
-	}
-
-	@Override
-	public void updateInJira(Story s) throws JiraGeneralException {
-		if (excelConfigurationDatas.isAllowingUpdate()) {
-			storySrv.updateIssue(s.key, jiraUserDatas.getProjectName(), s.priority);
-			LOG.info(getLogPrefixe() + "Story with KEY : " + s.key + " has been updated");
-		} else {
-			LOG.info(getLogPrefixe() + "Story with KEY : " + s.key + "has not been updated.(Settings: Allow Story update false)");
-		}
-	}
-
-
-	private Optional<BasicIssue> getStoryIfExist(String clientReference, String projectName) throws JiraIssueTypeException, IssueNotFoundException {
-		return storySrv.getByStartingName(clientReference, projectName);
-	}
-}
+package sopra.grenoble.jiraLoader.wrappers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import com.atlassian.jira.rest.client.domain.input.IssueInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.exceptions.IssueNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
+import sopra.grenoble.jiraLoader.exceptions.JiraIssueTypeException;
+import sopra.grenoble.jiraLoader.jira.dao.project.IIssueService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service("wrapper_Story")
+public class StoryWrapper extends AbstractWrapper<Story> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StoryWrapper.class);
+	
+	@Autowired
+	private IIssueService storySrv;
+	
+	/**
+	 * Default constructor
+	 * @throws InstantiationException
+	 * @throws IllegalAccessException
+	 */
+	public StoryWrapper() throws InstantiationException, IllegalAccessException {
+		super();
+	}
+
+
+	@Override
+	public void insertInJira(Story s, RowContext context) throws JiraGeneralException {
+		Optional<BasicIssue> bi = Optional.empty();
+		//if option checkStoryExist is activated, check if the story is existing in JIRA
+		if (excelConfigurationDatas.isSearchStoryByNameBeforeCreate()) {
+
+			bi = getStoryIfExist(s.resume, jiraUserDatas.getProjectName());
+			LOG.info(context.getLogPrefixe() + "isSearchStoryByNameBeforeCreate is activated. Looking for issue with name : " + s.resume);
+
+		}
+		
+		if (bi.isPresent()) {
+			LOG.info(context.getLogPrefixe() + "Story has been retrieved with the key : " + bi.get().getKey());
+			s.key = String.valueOf(bi.get().getKey());
+			updateInJira(s, context);
+		} else {
+			bi = Optional.of(storySrv.createStory(jiraUserDatas.getProjectName(), s.epicName, s.versionName, s.clientReference, s.resume, s.descriptif, s.priority, s.composantName, s.versionCorrected, s.linkTargetName, s.estimation));
+			LOG.info(context.getLogPrefixe() + "Story has been created with KEY : " + bi.get().getKey());
+		}
+
+		//update the DTO key
+		s.key = String.valueOf(bi.get().getKey());
+	}
+
+	/**
+	 * The stories are created with the bulk API of JIRA. The existing stories are retrieved and updated first.
+	 * The stories with a link are never batched ({@link sopra.grenoble.jiraLoader.injection.InjectionGraph}) : they are created one by one.
+	 * When the stories are searched by name, only the first story of a summary is sent to the bulk call : the next ones
+	 * are injected after it, so they retrieve and update the story created instead of creating it again.
+	 */
+	@Override
+	public List<RowContext> createRowsInJira(List<RowContext> contexts) {
+		if (contexts.size() <= 1) {
+			return super.createRowsInJira(contexts);
+		}
+		List<RowContext> notCreated = new ArrayList<>();
+		List<RowContext> toCreate = new ArrayList<>();
+		List<IssueInput> issues = new ArrayList<>();
+		// stories with the summary of a previous story of the batch
+		List<RowContext> sameSummary = new ArrayList<>();
+		Set<String> summaries = new HashSet<>();
+		for (RowContext context : contexts) {
+			Story s = getModel(context);
+			try {
+				if (excelConfigurationDatas.isSearchStoryByNameBeforeCreate()) {
+					if (!summaries.add(s.resume)) {
+						sameSummary.add(context);
+						continue;
+					}
+					LOG.info(context.getLogPrefixe() + "isSearchStoryByNameBeforeCreate is activated. Looking for issue with name : " + s.resume);
+					Optional<BasicIssue> bi = getStoryIfExist(s.resume, jiraUserDatas.getProjectName());
+					if (bi.isPresent()) {
+						LOG.info(context.getLogPrefixe() + "Story has been retrieved with the key : " + bi.get().getKey());
+						s.key = String.valueOf(bi.get().getKey());
+						updateInJira(s, context);
+						continue;
+					}
+				}
+				issues.add(storySrv.buildStoryInput(jiraUserDatas.getProjectName(), s.epicName, s.versionName, s.clientReference, s.resume, s.descriptif, s.priority, s.composantName, s.versionCorrected, s.estimation));
+				toCreate.add(context);
+			} catch (JiraGeneralException | RuntimeException e) {
+				LOG.error(context.getLogPrefixe() + "error while creating row in JIRA", e);
+				notCreated.add(context);
+			}
+		}
+		notCreated.addAll(createIssuesInJira(toCreate, issues, storySrv));
+		notCreated.addAll(super.createRowsInJira(sameSummary));
+		return notCreated;
+	}
+
+	@Override
+	public void updateInJira(Story s, RowContext context) throws JiraGeneralException {
+		if (excelConfigurationDatas.isAllowingUpdate()) {
+			storySrv.updateIssue(s.key, jiraUserDatas.getProjectName(), s.priority);
+			LOG.info(context.getLogPrefixe() + "Story with KEY : " + s.key + " has been updated");
+		} else {
+			LOG.info(context.getLogPrefixe() + "Story with KEY : " + s.key + "has not been updated.(Settings: Allow Story update false)");
+		}
+	}
+
+
+	private Optional<BasicIssue> getStoryIfExist(String clientReference, String projectName) throws JiraIssueTypeException, IssueNotFoundException {
+		return storySrv.getByStartingName(clientReference, projectName);
+	}
+}
@@ -1,50 +1,94 @@
-package sopra.grenoble.jiraLoader.wrappers;
-
-import com.atlassian.jira.rest.client.domain.BasicIssue;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
-import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
-import sopra.grenoble.jiraLoader.jira.dao.project.IIssueService;
-
-@Service("wrapper_Sous-tâche")
-public class SubTasksWrapper extends AbstractWrapper<SubTasks> {
-
-	private static final Logger LOG = LoggerFactory.getLogger(SubTasksWrapper.class);
-	
-
-	@Autowired
-	private IIssueService subTSrv;
-	
-	/**
-	 * Default constructor
-	 * @throws InstantiationException
-	 * @throws IllegalAccessException
-	 */
-	public SubTasksWrapper() throws InstantiationException, IllegalAccessException {
-		super();
-	}
-
-
-	@Override
-	public void insertInJira(SubTasks s) throws JiraGeneralException {
-		BasicIssue bi = subTSrv.createSubTask(jiraUserDatas.getProjectName(), jiraUserDatas.getLastStoryKey(), s.typeDemande, s.resume, s.descriptif, s.priority, s.estimation, s.composantName, s.linkTargetName);
-		LOG.info(getLogPrefixe() + "Subtask has been created with KEY : " + bi.getKey());
-
-		//update the DTO key
-		s.key = String.valueOf(bi.getKey());
-	}
-	
-	@Override
-	public void updateInJira(SubTasks s) throws JiraGeneralException {
-		if (excelConfigurationDatas.isUpdatingStoryAndSubTasks()) {
-			subTSrv.updateIssue(s.key, jiraUserDatas.getProjectName(), s.priority);
-			LOG.info(getLogPrefixe() + "SubTasks with KEY : " + s.key + " has been updated");
-		} else {
-			LOG.info(getLogPrefixe() + "SubTasks with KEY : " + s.key + " has not been updated.(Settings: Allow Subtasks update false)");
-		}
-	}
-
-}
+package sopra.grenoble.jiraLoader.wrappers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import com.atlassian.jira.rest.client.domain.Issue;
+import com.atlassian.jira.rest.client.domain.input.IssueInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
+import sopra.grenoble.jiraLoader.exceptions.IssueNotFoundException;
+import sopra.grenoble.jiraLoader.exceptions.JiraGeneralException;
+import sopra.grenoble.jiraLoader.jira.dao.project.IIssueService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service("wrapper_Sous-tâche")
+public class SubTasksWrapper extends AbstractWrapper<SubTasks> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SubTasksWrapper.class);
+	
+
+	@Autowired
+	private IIssueService subTSrv;
+	
+	/**
+	 * Default constructor
+	 * @throws InstantiationException
+	 * @throws IllegalAccessException
+	 */
+	public SubTasksWrapper() throws InstantiationException, IllegalAccessException {
+		super();
+	}
+
+
+	@Override
+	public void insertInJira(SubTasks s, RowContext context) throws JiraGeneralException {
+		BasicIssue bi = subTSrv.createSubTask(jiraUserDatas.getProjectName(), s.parentKey, s.typeDemande, s.resume, s.descriptif, s.priority, s.estimation, s.composantName, s.linkTargetName);
+		LOG.info(context.getLogPrefixe() + "Subtask has been created with KEY : " + bi.getKey());
+
+		//update the DTO key
+		s.key = String.valueOf(bi.getKey());
+	}
+	
+	/**
+	 * The sub-tasks are created with the bulk API of JIRA. The story of the sub-tasks is retrieved once.
+	 * The sub-tasks with a link are never batched ({@link sopra.grenoble.jiraLoader.injection.InjectionGraph}) : they are created one by one.
+	 */
+	@Override
+	public List<RowContext> createRowsInJira(List<RowContext> contexts) {
+		if (contexts.size() <= 1) {
+			return super.createRowsInJira(contexts);
+		}
+		List<RowContext> notCreated = new ArrayList<>();
+		List<RowContext> toCreate = new ArrayList<>();
+		List<IssueInput> issues = new ArrayList<>();
+		Map<String, Issue> parents = new HashMap<>();
+		for (RowContext context : contexts) {
+			SubTasks s = getModel(context);
+			try {
+				if (s.parentKey == null) {
+					LOG.error(context.getLogPrefixe() + "Parent key cannot be null");
+					throw new IssueNotFoundException();
+				}
+				Issue parentIssue = parents.get(s.parentKey);
+				if (parentIssue == null) {
+					parentIssue = subTSrv.getByKey(s.parentKey, jiraUserDatas.getProjectName());
+					parents.put(s.parentKey, parentIssue);
+				}
+				issues.add(subTSrv.buildSubTaskInput(jiraUserDatas.getProjectName(), parentIssue, s.typeDemande, s.resume, s.descriptif, s.priority, s.estimation, s.composantName));
+				toCreate.add(context);
+			} catch (JiraGeneralException | RuntimeException e) {
+				LOG.error(context.getLogPrefixe() + "error while creating row in JIRA", e);
+				notCreated.add(context);
+			}
+		}
+		notCreated.addAll(createIssuesInJira(toCreate, issues, subTSrv));
+		return notCreated;
+	}
+
+	@Override
+	public void updateInJira(SubTasks s, RowContext context) throws JiraGeneralException {
+		if (excelConfigurationDatas.isUpdatingStoryAndSubTasks()) {
+			subTSrv.updateIssue(s.key, jiraUserDatas.getProjectName(), s.priority);
+			LOG.info(context.getLogPrefixe() + "SubTasks with KEY : " + s.key + " has been updated");
+		} else {
+			LOG.info(context.getLogPrefixe() + "SubTasks with KEY : " + s.key + " has not been updated.(Settings: Allow Subtasks update false)");
+		}
+	}
+
+}
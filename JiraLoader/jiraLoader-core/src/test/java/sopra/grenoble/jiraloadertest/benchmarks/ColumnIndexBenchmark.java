@@ -0,0 +1,120 @@
+package sopra.grenoble.jiraloadertest.benchmarks;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.loaders.ColumnIndex;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the parsing of the Import sheet with a header scan for each cell (old behaviour)
+ * and with the {@link ColumnIndex} built once per sheet.
+ * Not run by surefire : launch the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColumnIndexBenchmark {
+
+	private static final String[] HEADERS = { "ID", "Type de demande", "Epics", "Version affectée", "Version corrigée",
+			"Référence Client", "Résumé", "Descriptif", "Priorité", "Composant", "Estimation Originale", "Lien" };
+
+	@Param({ "1000", "20000" })
+	public int rowCount;
+
+	private XSSFWorkbook workbook;
+	private Sheet sheet;
+
+	@Setup(Level.Trial)
+	public void createSheet() {
+		workbook = new XSSFWorkbook();
+		sheet = workbook.createSheet("Import");
+		Row header = sheet.createRow(0);
+		for (int c = 0; c < HEADERS.length; c++) {
+			header.createCell(c).setCellValue(HEADERS[c]);
+		}
+		for (int r = 1; r <= rowCount; r++) {
+			Row row = sheet.createRow(r);
+			row.createCell(1).setCellValue("Story");
+			for (int c = 2; c < HEADERS.length; c++) {
+				row.createCell(c).setCellValue(HEADERS[c] + " " + r);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void closeWorkbook() throws IOException {
+		workbook.close();
+	}
+
+	/**
+	 * Old behaviour : the header row is read and scanned for each field of each row
+	 */
+	@Benchmark
+	public void headerScanForEachCell(Blackhole bh) {
+		Row header = sheet.getRow(0);
+		for (int r = 1; r <= rowCount; r++) {
+			Row row = sheet.getRow(r);
+			for (String columnName : HEADERS) {
+				bh.consume(row.getCell(XslsFileReaderAndWriter.findCellByName(header, columnName)));
+			}
+		}
+	}
+
+	/**
+	 * New behaviour : the header row is indexed once, each field is a map lookup
+	 */
+	@Benchmark
+	public void columnIndexOncePerSheet(Blackhole bh) {
+		ColumnIndex columnIndex = ColumnIndex.fromRow(sheet.getRow(0));
+		for (int r = 1; r <= rowCount; r++) {
+			Row row = sheet.getRow(r);
+			for (String columnName : HEADERS) {
+				bh.consume(row.getCell(columnIndex.getPosition(columnName)));
+			}
+		}
+	}
+
+	/**
+	 * Full DTO loading from the index, as done by the wrappers
+	 */
+	@Benchmark
+	public void loadStoryRows(Blackhole bh) {
+		ColumnIndex columnIndex = ColumnIndex.fromRow(sheet.getRow(0));
+		for (int r = 1; r <= rowCount; r++) {
+			Story story = new Story();
+			story.loadRow(sheet.getRow(r), columnIndex);
+			bh.consume(story);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(ColumnIndexBenchmark.class.getSimpleName()).build();
+		new Runner(opt).run();
+	}
+}
@@ -1,21 +1,21 @@
-package sopra.grenoble.jiraloadertest.manualtests;
-
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.springframework.boot.test.SpringApplicationConfiguration;
-import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
-
-import sopra.grenoble.jiraLoaderconfiguration.ApplicationConfiguration;
-
-@RunWith(SpringJUnit4ClassRunner.class)
-@SpringApplicationConfiguration(ApplicationConfiguration.class)
-public class StartApplicationTest {
-
-
-	@Test
-	public void startApplication() throws InterruptedException {
-		
-	}
-	
-	
-}
+package sopra.grenoble.jiraloadertest.manualtests;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import sopra.grenoble.jiraLoaderconfiguration.ApplicationConfiguration;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(ApplicationConfiguration.class)
+public class StartApplicationTest {
+
+
+	@Test
+	public void startApplication() throws InterruptedException {
+		
+	}
+	
+	
+}
@@ -1,15 +1,34 @@
-package sopra.grenoble.jiraloadertest.unittests.excel.dto;
-
-import org.junit.Test;
-import sopra.grenoble.jiraLoader.excel.dto.Version;
-
-public class GenericModelTest {
-
-	@Test
-	public void testToStrings() {
-		Version v = new Version();
-		String toString = v.toString();
-		System.out.println(toString);
-	}
-
-}
+package sopra.grenoble.jiraloadertest.unittests.excel.dto;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.dto.Version;
+
+import static org.junit.Assert.*;
+
+public class GenericModelTest {
+
+	@Test
+	public void testToStrings() {
+		Version v = new Version();
+		String toString = v.toString();
+		System.out.println(toString);
+	}
+
+	@Test
+	public void testFingerprint() {
+		Story s1 = new Story();
+		s1.typeDemande = "Story";
+		s1.resume = "RESUME";
+		Story s2 = new Story();
+		s2.typeDemande = "Story";
+		s2.resume = "RESUME";
+		s2.key = "OPAL-1";
+
+		// the key is not part of the fingerprint
+		assertEquals(s1.fingerprint(), s2.fingerprint());
+		s2.descriptif = "DESCRIPTIF";
+		assertNotEquals(s1.fingerprint(), s2.fingerprint());
+	}
+
+}
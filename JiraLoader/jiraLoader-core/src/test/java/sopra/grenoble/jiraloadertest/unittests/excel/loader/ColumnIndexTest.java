@@ -0,0 +1,56 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.loaders.ColumnIndex;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+
+import static org.junit.Assert.*;
+
+public class ColumnIndexTest {
+
+	@Test
+	public void buildFromHeaderRow() throws IOException {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			Sheet sheet = workbook.createSheet();
+			Row header = sheet.createRow(0);
+			header.createCell(0).setCellValue("ID");
+			header.createCell(2).setCellValue("Résumé");
+			header.createCell(3).setCellValue(12);
+
+			ColumnIndex columnIndex = ColumnIndex.fromRow(header);
+			assertEquals(2, columnIndex.size());
+			assertEquals(0, columnIndex.getPosition("ID"));
+			assertEquals(2, columnIndex.getPosition("Résumé"));
+			assertTrue(columnIndex.contains("ID"));
+			assertFalse(columnIndex.contains("Lien"));
+			assertEquals(ColumnIndex.NOT_FOUND, columnIndex.getPosition("Lien"));
+		}
+	}
+
+	@Test
+	public void buildFromNullRow() {
+		ColumnIndex columnIndex = ColumnIndex.fromRow(null);
+		assertEquals(0, columnIndex.size());
+		assertEquals(ColumnIndex.NOT_FOUND, columnIndex.getPosition("ID"));
+	}
+
+	@Test
+	public void indexBuiltWhenSheetIsOpened() throws IOException {
+		URL excelFileUrl = ClassLoader.getSystemClassLoader().getResource("excelTestFiles/Test_FindColumnNumber.xlsx");
+		XslsFileReaderAndWriter xlsrw = new XslsFileReaderAndWriter(new File(excelFileUrl.getPath()));
+		xlsrw.openSheet(0);
+
+		ColumnIndex columnIndex = xlsrw.getColumnIndex();
+		assertEquals(0, columnIndex.getPosition("Test"));
+		assertEquals(1, columnIndex.getPosition("Hello"));
+		assertEquals(2, columnIndex.getPosition("World"));
+		assertEquals(columnIndex.getPosition("Hello"), XslsFileReaderAndWriter.findColumnNumber(xlsrw, "Hello"));
+	}
+}
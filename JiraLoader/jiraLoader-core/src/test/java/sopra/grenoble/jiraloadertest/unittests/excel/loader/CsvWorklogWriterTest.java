@@ -0,0 +1,69 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.joda.time.DateTime;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+import sopra.grenoble.jiraLoader.excel.loaders.CsvWorklogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvWorklogWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static WorklogRecord record(String key, String comment) {
+		return new WorklogRecord(key, "summary", "author", comment, 120, 30, new DateTime(2016, 3, 1, 10, 0));
+	}
+
+	@Test
+	public void appendToFile() throws IOException {
+		File file = new File(folder.getRoot(), "export.csv");
+		try (CsvWorklogWriter writer = new CsvWorklogWriter(file)) {
+			writer.write(record("TEST-1", "a;b"));
+			assertEquals(1, writer.getRowCount());
+		}
+		try (CsvWorklogWriter writer = new CsvWorklogWriter(file)) {
+			writer.write(record("TEST-2", "say \"hi\""));
+		}
+
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		// one header, at the beginning
+		assertEquals(3, lines.size());
+		assertEquals("\uFEFFIssue;Summary;Author;Comment;Time spent;RAE;Update date", lines.get(0));
+		assertEquals("TEST-1;summary;author;\"a;b\";2h;30m;2016-03-01", lines.get(1));
+		assertEquals("TEST-2;summary;author;\"say \"\"hi\"\"\";2h;30m;2016-03-01", lines.get(2));
+	}
+
+	@Test
+	public void abortedExport() throws IOException {
+		File file = new File(folder.getRoot(), "export.csv");
+		try (CsvWorklogWriter writer = new CsvWorklogWriter(file)) {
+			writer.write(record("TEST-1", "first export"));
+		}
+		CsvWorklogWriter writer = new CsvWorklogWriter(file);
+		writer.write(record("TEST-2", "failed export"));
+		// the rows are added only when the writer is closed
+		assertEquals(2, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size());
+		writer.abort();
+
+		assertEquals(2, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size());
+		// no temporary file left
+		assertEquals(1, folder.getRoot().list().length);
+	}
+
+	@Test
+	public void noFileWithoutRow() throws IOException {
+		File file = new File(folder.getRoot(), "export.csv");
+		new CsvWorklogWriter(file).close();
+		assertFalse(file.exists());
+	}
+}
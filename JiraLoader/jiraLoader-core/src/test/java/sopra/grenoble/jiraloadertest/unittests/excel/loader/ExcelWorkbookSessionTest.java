@@ -0,0 +1,150 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.loaders.ExcelWorkbookSession;
+import sopra.grenoble.jiraLoader.excel.loaders.IExcelCellReader;
+import sopra.grenoble.jiraLoader.excel.loaders.IImportRowReader;
+import sopra.grenoble.jiraLoader.excel.loaders.KeyJournal;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ExcelWorkbookSessionTest {
+
+	private static File copyTestFile(String name) throws IOException {
+		URL excelFileUrl = ClassLoader.getSystemClassLoader().getResource("excelTestFiles/" + name);
+		File copy = File.createTempFile("session", ".xlsx");
+		copy.deleteOnExit();
+		Files.copy(new File(excelFileUrl.getPath()).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		return copy;
+	}
+
+	@Test
+	public void openInDomMode() throws IOException {
+		File excelFile = copyTestFile("Import_JIRA_OK.xlsx");
+		ExcelWorkbookSession session = ExcelWorkbookSession.open(excelFile, Long.MAX_VALUE);
+		try {
+			assertFalse(session.isStreaming());
+			assertEquals(1, session.getImportSheetIndex());
+			IExcelCellReader configuration = session.openConfigurationSheet();
+			assertEquals(Integer.valueOf(2), configuration.readIntegerCellContent(1, 5).get());
+			assertTrue(configuration.readBooleanCellContent(2, 5).get());
+			assertNotNull(session.getExcelLoader());
+
+			List<Integer> rowNumbers = new ArrayList<>();
+			try (IImportRowReader reader = session.readImportSheet((type) -> new Story())) {
+				while (reader.hasNext()) {
+					GenericModel model = reader.next();
+					assertEquals(reader.getRowNumber(), model.rowNumber);
+					rowNumbers.add(model.rowNumber);
+				}
+			}
+			assertEquals(Arrays.asList(1, 2, 3, 4, 5), rowNumbers);
+			session.saveKey(4, "OPAL-4");
+		} finally {
+			session.close();
+		}
+
+		XslsFileReaderAndWriter xlsrw = new XslsFileReaderAndWriter(excelFile);
+		xlsrw.openSheet(1);
+		assertEquals("OPAL-4", xlsrw.readStringCellContent(4, 0).get());
+		assertFalse(KeyJournal.getJournalFile(excelFile).exists());
+	}
+
+	@Test
+	public void openInStreamingMode() throws IOException {
+		File excelFile = copyTestFile("Import_JIRA_OK.xlsx");
+		ExcelWorkbookSession session = ExcelWorkbookSession.open(excelFile, 0);
+		try {
+			assertTrue(session.isStreaming());
+			IExcelCellReader configuration = session.openConfigurationSheet();
+			assertEquals(Integer.valueOf(2), configuration.readIntegerCellContent(1, 5).get());
+
+			// the Import sheet can be read several times
+			for (int pass = 0; pass < 2; pass++) {
+				int rows = 0;
+				try (IImportRowReader reader = session.readImportSheet((type) -> new Story())) {
+					while (reader.hasNext()) {
+						reader.next();
+						rows++;
+					}
+				}
+				assertEquals(5, rows);
+			}
+			session.saveKey(3, "OPAL-3");
+		} finally {
+			session.close();
+		}
+
+		// keys are written when the session is closed
+		XslsFileReaderAndWriter xlsrw = new XslsFileReaderAndWriter(excelFile);
+		xlsrw.openSheet(1);
+		assertEquals("OPAL-3", xlsrw.readStringCellContent(3, 0).get());
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void openWithoutImportSheet() throws IOException {
+		ExcelWorkbookSession.open(copyTestFile("Test_FindColumnNumber.xlsx"), Long.MAX_VALUE);
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void openWithoutImportSheetInStreamingMode() throws IOException {
+		ExcelWorkbookSession.open(copyTestFile("Test_FindColumnNumber.xlsx"), 0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void domReaderNotAvailableInStreamingMode() throws IOException {
+		ExcelWorkbookSession session = ExcelWorkbookSession.open(copyTestFile("Import_JIRA_OK.xlsx"), 0);
+		try {
+			session.getExcelLoader();
+		} finally {
+			session.close();
+		}
+	}
+
+	@Test
+	public void journalReplayedWhenOpened() throws IOException {
+		File excelFile = copyTestFile("Import_JIRA_OK.xlsx");
+		// journal left by an interrupted injection
+		try (KeyJournal journal = new KeyJournal(excelFile, 1)) {
+			journal.append(2, "OPAL-2");
+			journal.append(5, "OPAL-5");
+		}
+
+		ExcelWorkbookSession session = ExcelWorkbookSession.open(excelFile, Long.MAX_VALUE);
+		try {
+			XslsFileReaderAndWriter xlsrw = session.getExcelLoader();
+			xlsrw.openSheet(session.getImportSheetIndex());
+			assertEquals("OPAL-2", xlsrw.readStringCellContent(2, 0).get());
+			assertEquals("OPAL-5", xlsrw.readStringCellContent(5, 0).get());
+		} finally {
+			session.close();
+		}
+		assertFalse(KeyJournal.getJournalFile(excelFile).exists());
+	}
+
+	@Test
+	public void keysJournaledBeforeClose() throws IOException {
+		File excelFile = copyTestFile("Import_JIRA_OK.xlsx");
+		ExcelWorkbookSession session = ExcelWorkbookSession.open(excelFile, 0, 1);
+		try {
+			session.saveKey(1, "OPAL-1");
+			assertEquals("OPAL-1", KeyJournal.readEntries(excelFile).get(1));
+		} finally {
+			session.close();
+		}
+		assertFalse(KeyJournal.getJournalFile(excelFile).exists());
+	}
+}
@@ -0,0 +1,86 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.loaders.InjectionCheckpoint;
+import sopra.grenoble.jiraLoader.excel.loaders.InjectionCheckpoint.Outcome;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class InjectionCheckpointTest {
+
+	private static File tempExcelFile() throws IOException {
+		File excelFile = File.createTempFile("checkpoint", ".xlsx");
+		excelFile.deleteOnExit();
+		InjectionCheckpoint.getCheckpointFile(excelFile).deleteOnExit();
+		return excelFile;
+	}
+
+	@Test
+	public void recordAndRead() throws IOException {
+		File excelFile = tempExcelFile();
+		try (InjectionCheckpoint checkpoint = new InjectionCheckpoint(excelFile, false, 10)) {
+			checkpoint.record(1, "aaa", Outcome.DONE, "OPAL-1");
+			checkpoint.record(2, "bbb", Outcome.FAILED, null);
+		}
+
+		Map<Integer, InjectionCheckpoint.Entry> entries = InjectionCheckpoint.readEntries(excelFile);
+		assertEquals(2, entries.size());
+		assertTrue(entries.get(1).isDone("aaa"));
+		assertFalse(entries.get(1).isDone("modified"));
+		assertEquals("OPAL-1", entries.get(1).getKey());
+		assertEquals(Outcome.FAILED, entries.get(2).getOutcome());
+		assertFalse(entries.get(2).isDone("bbb"));
+		assertNull(entries.get(2).getKey());
+	}
+
+	@Test
+	public void resumeKeepsLastRecord() throws IOException {
+		File excelFile = tempExcelFile();
+		try (InjectionCheckpoint checkpoint = new InjectionCheckpoint(excelFile, false, 1)) {
+			checkpoint.record(2, "bbb", Outcome.FAILED, null);
+		}
+		try (InjectionCheckpoint checkpoint = new InjectionCheckpoint(excelFile, true, 1)) {
+			checkpoint.record(2, "bbb", Outcome.DONE, "OPAL-2");
+		}
+
+		Map<Integer, InjectionCheckpoint.Entry> entries = InjectionCheckpoint.readEntries(excelFile);
+		assertEquals(1, entries.size());
+		assertTrue(entries.get(2).isDone("bbb"));
+		assertEquals("OPAL-2", entries.get(2).getKey());
+	}
+
+	@Test
+	public void newInjectionClearsCheckpoint() throws IOException {
+		File excelFile = tempExcelFile();
+		try (InjectionCheckpoint checkpoint = new InjectionCheckpoint(excelFile, false, 1)) {
+			checkpoint.record(1, "aaa", Outcome.DONE, "OPAL-1");
+		}
+		new InjectionCheckpoint(excelFile, false, 1).close();
+
+		assertTrue(InjectionCheckpoint.readEntries(excelFile).isEmpty());
+	}
+
+	@Test
+	public void truncatedLineIgnored() throws IOException {
+		File excelFile = tempExcelFile();
+		try (InjectionCheckpoint checkpoint = new InjectionCheckpoint(excelFile, false, 1)) {
+			checkpoint.record(1, "aaa", Outcome.DONE, "OPAL-1");
+		}
+		Files.write(InjectionCheckpoint.getCheckpointFile(excelFile).toPath(), "2\tbbb\tDO".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		Map<Integer, InjectionCheckpoint.Entry> entries = InjectionCheckpoint.readEntries(excelFile);
+		assertEquals(1, entries.size());
+		assertNull(entries.get(2));
+
+		InjectionCheckpoint.delete(excelFile);
+		assertFalse(InjectionCheckpoint.getCheckpointFile(excelFile).exists());
+	}
+}
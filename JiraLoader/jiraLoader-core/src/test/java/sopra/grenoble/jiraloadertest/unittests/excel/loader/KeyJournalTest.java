@@ -0,0 +1,68 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.loaders.KeyJournal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class KeyJournalTest {
+
+	private static File tempExcelFile() throws IOException {
+		File excelFile = File.createTempFile("journal", ".xlsx");
+		excelFile.deleteOnExit();
+		KeyJournal.getJournalFile(excelFile).deleteOnExit();
+		return excelFile;
+	}
+
+	@Test
+	public void appendAndRead() throws IOException {
+		File excelFile = tempExcelFile();
+		try (KeyJournal journal = new KeyJournal(excelFile, 2)) {
+			journal.append(3, "OPAL-3");
+			journal.append(1, "OPAL-1");
+			journal.append(3, "OPAL-33");
+		}
+
+		Map<Integer, String> entries = KeyJournal.readEntries(excelFile);
+		assertEquals(2, entries.size());
+		assertEquals("OPAL-33", entries.get(3));
+		assertEquals("OPAL-1", entries.get(1));
+	}
+
+	@Test
+	public void truncatedLineIgnored() throws IOException {
+		File excelFile = tempExcelFile();
+		try (KeyJournal journal = new KeyJournal(excelFile, 1)) {
+			journal.append(1, "OPAL-1");
+		}
+		Files.write(KeyJournal.getJournalFile(excelFile).toPath(), "2\t".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		Map<Integer, String> entries = KeyJournal.readEntries(excelFile);
+		assertEquals(1, entries.size());
+		assertEquals("OPAL-1", entries.get(1));
+	}
+
+	@Test
+	public void readWithoutJournal() throws IOException {
+		File excelFile = tempExcelFile();
+		assertTrue(KeyJournal.readEntries(excelFile).isEmpty());
+	}
+
+	@Test
+	public void deleteJournal() throws IOException {
+		File excelFile = tempExcelFile();
+		try (KeyJournal journal = new KeyJournal(excelFile, 10)) {
+			journal.append(1, "OPAL-1");
+		}
+		assertTrue(KeyJournal.getJournalFile(excelFile).exists());
+		KeyJournal.delete(excelFile);
+		assertFalse(KeyJournal.getJournalFile(excelFile).exists());
+	}
+}
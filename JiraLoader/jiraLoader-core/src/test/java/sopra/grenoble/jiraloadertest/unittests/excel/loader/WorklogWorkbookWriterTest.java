@@ -0,0 +1,106 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.joda.time.DateTime;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+import sopra.grenoble.jiraLoader.excel.loaders.IWorklogWriter;
+import sopra.grenoble.jiraLoader.excel.loaders.WorklogWorkbookWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class WorklogWorkbookWriterTest {
+
+	private static WorklogRecord record(int i) {
+		return new WorklogRecord("TEST-" + i, "summary " + i, "author", "comment " + i, 90, null, new DateTime(2016, 3, 1, 10, 0));
+	}
+
+	private static void checkSheet(Sheet sheet, int rows) {
+		assertEquals(WorklogWorkbookWriter.SHEET_NAME, sheet.getSheetName());
+		assertEquals(rows, sheet.getLastRowNum());
+		assertEquals("Issue", sheet.getRow(0).getCell(0).getStringCellValue());
+		assertEquals("TEST-1", sheet.getRow(1).getCell(0).getStringCellValue());
+		assertEquals("1h30m", sheet.getRow(1).getCell(4).getStringCellValue());
+		assertEquals("No RAE set", sheet.getRow(1).getCell(5).getStringCellValue());
+		assertEquals("2016-03-01", sheet.getRow(1).getCell(6).getStringCellValue());
+		assertEquals("TEST-" + rows, sheet.getRow(rows).getCell(0).getStringCellValue());
+		// "summary 1000" + 2 characters
+		assertEquals(14 * 256, sheet.getColumnWidth(1));
+	}
+
+	@Test
+	public void writeXlsx() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		// more rows than the window : the first rows are flushed on disk
+		try (IWorklogWriter writer = WorklogWorkbookWriter.createXlsx(out, 10)) {
+			for (int i = 1; i <= 1000; i++) {
+				writer.write(record(i));
+			}
+			assertEquals(1000, writer.getRowCount());
+		}
+		try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			checkSheet(workbook.getSheetAt(0), 1000);
+		}
+	}
+
+	@Test
+	public void writeXls() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (IWorklogWriter writer = WorklogWorkbookWriter.createXls(out)) {
+			for (int i = 1; i <= 1000; i++) {
+				writer.write(record(i));
+			}
+		}
+		try (Workbook workbook = new HSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			checkSheet(workbook.getSheetAt(0), 1000);
+		}
+	}
+
+	@Test
+	public void writeSheetsConcurrently() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (WorklogWorkbookWriter writer = WorklogWorkbookWriter.createXlsx(out, 10, Arrays.asList("Project A", "Project B"))) {
+			CompletableFuture<?>[] projects = new CompletableFuture<?>[2];
+			for (int p = 0; p < projects.length; p++) {
+				IWorklogWriter sheet = writer.getSheet(p == 0 ? "Project A" : "Project B");
+				int rows = (p + 1) * 500;
+				projects[p] = CompletableFuture.runAsync(() -> {
+					try {
+						for (int i = 1; i <= rows; i++) {
+							sheet.write(record(i));
+						}
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				});
+			}
+			CompletableFuture.allOf(projects).get();
+			assertEquals(1500, writer.getRowCount());
+		}
+		try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			assertEquals(2, workbook.getNumberOfSheets());
+			assertEquals("Project A", workbook.getSheetAt(0).getSheetName());
+			assertEquals(500, workbook.getSheetAt(0).getLastRowNum());
+			assertEquals("Project B", workbook.getSheetAt(1).getSheetName());
+			assertEquals(1000, workbook.getSheetAt(1).getLastRowNum());
+			assertEquals("TEST-1000", workbook.getSheetAt(1).getRow(1000).getCell(0).getStringCellValue());
+		}
+	}
+
+	@Test
+	public void formatDuration() {
+		assertEquals("2h", WorklogRecord.formatDuration(120, "-"));
+		assertEquals("45m", WorklogRecord.formatDuration(45, "-"));
+		assertEquals("2h5m", WorklogRecord.formatDuration(125, "-"));
+		assertEquals("-", WorklogRecord.formatDuration(null, "-"));
+	}
+}
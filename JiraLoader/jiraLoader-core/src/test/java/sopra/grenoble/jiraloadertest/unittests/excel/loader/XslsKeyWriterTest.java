@@ -0,0 +1,63 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsKeyWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class XslsKeyWriterTest {
+
+	private static File copyTestFile() throws IOException {
+		URL excelFileUrl = ClassLoader.getSystemClassLoader().getResource("excelTestFiles/Import_JIRA_OK.xlsx");
+		File copy = File.createTempFile("Import_JIRA_OK", ".xlsx");
+		copy.deleteOnExit();
+		Files.copy(new File(excelFileUrl.getPath()).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		return copy;
+	}
+
+	@Test
+	public void writeKeys() throws IOException {
+		File excelFile = copyTestFile();
+		Map<Integer, String> keysByRow = new HashMap<>();
+		keysByRow.put(1, "OPAL-1");
+		keysByRow.put(3, "OPAL-3");
+		XslsKeyWriter.writeKeys(excelFile, "Import", keysByRow);
+
+		XslsFileReaderAndWriter xlsrw = new XslsFileReaderAndWriter(excelFile);
+		xlsrw.openSheet(1);
+		assertEquals("OPAL-1", xlsrw.readStringCellContent(1, 0).get());
+		assertFalse(xlsrw.readStringCellContent(2, 0).isPresent());
+		assertEquals("OPAL-3", xlsrw.readStringCellContent(3, 0).get());
+		assertEquals("Story", xlsrw.readStringCellContent(3, 1).get());
+		assertEquals("ID", xlsrw.readStringCellContent(0, 0).get());
+
+		// the other sheets are not modified
+		xlsrw.openSheet(0);
+		assertEquals(Integer.valueOf(2), xlsrw.readIntegerCellContent(1, 5).get());
+	}
+
+	@Test
+	public void noKeyToWrite() throws IOException {
+		File excelFile = copyTestFile();
+		long lastModified = excelFile.lastModified();
+		XslsKeyWriter.writeKeys(excelFile, "Import", new HashMap<>());
+		assertEquals(lastModified, excelFile.lastModified());
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void writeInUnknownSheet() throws IOException {
+		Map<Integer, String> keysByRow = new HashMap<>();
+		keysByRow.put(1, "OPAL-1");
+		XslsKeyWriter.writeKeys(copyTestFile(), "Unknown", keysByRow);
+	}
+}
@@ -0,0 +1,112 @@
+package sopra.grenoble.jiraloadertest.unittests.excel.loader;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.Epic;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
+import sopra.grenoble.jiraLoader.excel.dto.Version;
+import sopra.grenoble.jiraLoader.excel.loaders.SheetContent;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsFileReaderAndWriter;
+import sopra.grenoble.jiraLoader.excel.loaders.XslsStreamingReader;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class XslsStreamingReaderTest {
+
+	private static File getTestFile() {
+		URL excelFileUrl = ClassLoader.getSystemClassLoader().getResource("excelTestFiles/Import_JIRA_OK.xlsx");
+		return new File(excelFileUrl.getPath());
+	}
+
+	private static GenericModel createModel(String typeDemande) {
+		switch (typeDemande) {
+		case "Version":
+			return new Version();
+		case "Epic":
+			return new Epic();
+		case "Story":
+			return new Story();
+		case "Sous-tâche":
+			return new SubTasks();
+		default:
+			return null;
+		}
+	}
+
+	@Test
+	public void getSheetNames() throws IOException {
+		assertEquals(Arrays.asList("Configuration", "Import"), XslsStreamingReader.getSheetNames(getTestFile()));
+	}
+
+	@Test
+	public void readImportSheetLikeDomReader() throws IOException {
+		List<GenericModel> streamedModels = new ArrayList<>();
+		List<Integer> rowNumbers = new ArrayList<>();
+		try (XslsStreamingReader reader = new XslsStreamingReader(getTestFile(), "Import", XslsStreamingReaderTest::createModel)) {
+			while (reader.hasNext()) {
+				streamedModels.add(reader.next());
+				rowNumbers.add(reader.getRowNumber());
+			}
+		}
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5), rowNumbers);
+
+		XslsFileReaderAndWriter xlsrw = new XslsFileReaderAndWriter(getTestFile());
+		xlsrw.openSheet(1);
+		for (int i = 0; i < streamedModels.size(); i++) {
+			GenericModel streamed = streamedModels.get(i);
+			GenericModel loaded = createModel(streamed.typeDemande);
+			loaded.loadRow(xlsrw.readLine(i + 1), xlsrw);
+			assertEquals(loaded.getClass(), streamed.getClass());
+			assertEquals(loaded.toString(), streamed.toString());
+		}
+		assertTrue(streamedModels.get(2) instanceof Story);
+		assertEquals("M5T_G01R12C06_BCA_KPSA_1048_1", streamedModels.get(2).clientReference);
+		assertTrue(streamedModels.get(2).resume.startsWith("M5T_G01R12C06_BCA_KPSA_1048_1 | "));
+	}
+
+	@Test
+	public void unsupportedTypeReturnsNull() throws IOException {
+		try (XslsStreamingReader reader = new XslsStreamingReader(getTestFile(), "Import", (type) -> null)) {
+			assertTrue(reader.hasNext());
+			assertNull(reader.next());
+			assertEquals(1, reader.getRowNumber());
+		}
+	}
+
+	@Test
+	public void closeBeforeTheEnd() throws IOException {
+		XslsStreamingReader reader = new XslsStreamingReader(getTestFile(), "Import", XslsStreamingReaderTest::createModel);
+		assertTrue(reader.next() instanceof Version);
+		reader.close();
+		reader.close();
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void readUnknownSheet() throws IOException {
+		new XslsStreamingReader(getTestFile(), "Unknown", XslsStreamingReaderTest::createModel);
+	}
+
+	@Test(expected = IOException.class)
+	public void readNonExcelFile() throws IOException {
+		URL nonExcelFileUrl = ClassLoader.getSystemClassLoader().getResource("application.properties");
+		XslsStreamingReader.readSheet(new File(nonExcelFileUrl.getPath()), "Import");
+	}
+
+	@Test
+	public void readConfigurationSheet() throws IOException {
+		SheetContent configuration = XslsStreamingReader.readSheet(getTestFile(), "Configuration");
+		assertEquals(Integer.valueOf(2), configuration.readIntegerCellContent(1, 5).get());
+		assertTrue(configuration.readBooleanCellContent(2, 5).get());
+		assertFalse(configuration.readBooleanCellContent(3, 5).get());
+		assertFalse(configuration.readIntegerCellContent(200, 5).isPresent());
+	}
+}
@@ -0,0 +1,130 @@
+package sopra.grenoble.jiraloadertest.unittests.export;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.WorklogRecord;
+import sopra.grenoble.jiraLoader.excel.loaders.IWorklogWriter;
+import sopra.grenoble.jiraLoader.export.WorklogExportPipeline;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class WorklogExportPipelineTest {
+
+	/**
+	 * Writer keeping the keys of the records, failing after maxRows rows
+	 */
+	private static class ListWriter implements IWorklogWriter {
+		private final List<String> keys = Collections.synchronizedList(new ArrayList<>());
+		private final int maxRows;
+
+		ListWriter(int maxRows) {
+			this.maxRows = maxRows;
+		}
+
+		@Override
+		public void write(WorklogRecord record) throws IOException {
+			if (keys.size() >= maxRows) {
+				throw new IOException("disk full");
+			}
+			keys.add(record.getIssueKey());
+		}
+
+		@Override
+		public int getRowCount() {
+			return keys.size();
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	private static List<WorklogRecord> records(String key, int count) {
+		List<WorklogRecord> records = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			records.add(new WorklogRecord(key, null, null, null, 60, null, null));
+		}
+		return records;
+	}
+
+	@Test
+	public void allRecordsWritten() throws IOException {
+		List<String> keys = IntStream.rangeClosed(1, 200).mapToObj((i) -> "TEST-" + i).collect(Collectors.toList());
+		keys.add("TEST-1");
+		ListWriter writer = new ListWriter(Integer.MAX_VALUE);
+
+		// a queue smaller than the records of an issue
+		int issues = new WorklogExportPipeline(4, 2).run(keys.iterator(), (key) -> records(key, 3), writer);
+
+		assertEquals(200, issues);
+		assertEquals(600, writer.getRowCount());
+		Set<String> written = new HashSet<>(writer.keys);
+		assertEquals(200, written.size());
+	}
+
+	@Test
+	public void sharedExecutor() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<CompletableFuture<Integer>> projects = new ArrayList<>();
+			List<ListWriter> writers = new ArrayList<>();
+			for (String project : Arrays.asList("A", "B", "C")) {
+				ListWriter writer = new ListWriter(Integer.MAX_VALUE);
+				writers.add(writer);
+				List<String> keys = IntStream.rangeClosed(1, 50).mapToObj((i) -> project + "-" + i).collect(Collectors.toList());
+				projects.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return new WorklogExportPipeline(executor, 3, 5).run(keys.iterator(), (key) -> records(key, 2), writer);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}));
+			}
+			for (int i = 0; i < projects.size(); i++) {
+				assertEquals(50, (int) projects.get(i).get());
+				assertEquals(100, writers.get(i).getRowCount());
+			}
+			// the executor is still usable
+			assertFalse(executor.isShutdown());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void issuesWithoutRecord() throws IOException {
+		ListWriter writer = new ListWriter(Integer.MAX_VALUE);
+		int issues = new WorklogExportPipeline(2, 10).run(Arrays.asList("TEST-1", "TEST-2").iterator(), (key) -> Collections.emptyList(), writer);
+		assertEquals(2, issues);
+		assertEquals(0, writer.getRowCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void loadingError() throws IOException {
+		List<String> keys = IntStream.rangeClosed(1, 100).mapToObj((i) -> "TEST-" + i).collect(Collectors.toList());
+		new WorklogExportPipeline(4, 10).run(keys.iterator(), (key) -> {
+			if (key.equals("TEST-50")) {
+				throw new IllegalStateException("JIRA error");
+			}
+			return records(key, 1);
+		}, new ListWriter(Integer.MAX_VALUE));
+	}
+
+	@Test(expected = IOException.class)
+	public void writerError() throws IOException {
+		List<String> keys = IntStream.rangeClosed(1, 100).mapToObj((i) -> "TEST-" + i).collect(Collectors.toList());
+		new WorklogExportPipeline(4, 10).run(keys.iterator(), (key) -> records(key, 5), new ListWriter(20));
+	}
+}
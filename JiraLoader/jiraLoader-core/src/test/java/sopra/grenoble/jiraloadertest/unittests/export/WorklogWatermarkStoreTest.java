@@ -0,0 +1,60 @@
+package sopra.grenoble.jiraloadertest.unittests.export;
+
+import org.joda.time.DateTime;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sopra.grenoble.jiraLoader.export.WorklogWatermarkStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class WorklogWatermarkStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void watermarkByProject() throws IOException {
+		File file = new File(folder.getRoot(), "state/export.properties");
+		DateTime first = new DateTime(2016, 3, 1, 10, 15, 30, 500);
+		DateTime second = new DateTime(2016, 3, 2, 8, 0);
+
+		WorklogWatermarkStore store = new WorklogWatermarkStore(file);
+		assertNull(store.get("Project A"));
+		store.put("Project A", first);
+		store.put("Project B", second);
+
+		WorklogWatermarkStore reloaded = new WorklogWatermarkStore(file);
+		assertEquals(first.getMillis(), reloaded.get("Project A").getMillis());
+		assertEquals(second.getMillis(), reloaded.get("Project B").getMillis());
+
+		reloaded.put("Project A", second);
+		assertEquals(second.getMillis(), new WorklogWatermarkStore(file).get("Project A").getMillis());
+		assertEquals(1, folder.getRoot().toPath().resolve("state").toFile().list().length);
+	}
+
+	@Test
+	public void exportedRevisions() throws IOException {
+		File file = new File(folder.getRoot(), "export.properties");
+		DateTime watermark = new DateTime(2016, 3, 1, 10, 0);
+
+		WorklogWatermarkStore store = new WorklogWatermarkStore(file);
+		assertTrue(store.getExported("Project A").isEmpty());
+		store.put("Project A", watermark, Arrays.asList("10001@1456826400000", "10002@1456826500000"));
+		store.put("Project B", watermark);
+
+		WorklogWatermarkStore reloaded = new WorklogWatermarkStore(file);
+		assertEquals(new HashSet<>(Arrays.asList("10001@1456826400000", "10002@1456826500000")), reloaded.getExported("Project A"));
+		assertTrue(reloaded.getExported("Project B").isEmpty());
+
+		// the revisions are replaced with the watermark
+		reloaded.put("Project A", watermark.plusHours(1), Collections.emptySet());
+		assertTrue(new WorklogWatermarkStore(file).getExported("Project A").isEmpty());
+	}
+}
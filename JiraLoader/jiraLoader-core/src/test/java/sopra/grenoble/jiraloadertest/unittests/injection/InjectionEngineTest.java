@@ -0,0 +1,107 @@
+package sopra.grenoble.jiraloadertest.unittests.injection;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
+import sopra.grenoble.jiraLoader.excel.dto.Version;
+import sopra.grenoble.jiraLoader.injection.BatchInjectionException;
+import sopra.grenoble.jiraLoader.injection.InjectionBatch;
+import sopra.grenoble.jiraLoader.injection.InjectionEngine;
+import sopra.grenoble.jiraLoader.injection.InjectionGraph;
+import sopra.grenoble.jiraLoader.injection.InjectionNode;
+import sopra.grenoble.jiraLoader.injection.InjectionReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class InjectionEngineTest {
+
+	private static List<GenericModel> buildRows(int stories, int subTasksByStory) {
+		List<GenericModel> rows = new ArrayList<>();
+		Version version = new Version();
+		version.rowNumber = 1;
+		rows.add(version);
+		for (int s = 0; s < stories; s++) {
+			Story story = new Story();
+			story.rowNumber = rows.size() + 1;
+			rows.add(story);
+			for (int t = 0; t < subTasksByStory; t++) {
+				SubTasks subTask = new SubTasks();
+				subTask.rowNumber = rows.size() + 1;
+				rows.add(subTask);
+			}
+		}
+		return rows;
+	}
+
+	private static void checkDependenciesInjectedFirst(InjectionGraph graph) {
+		Set<InjectionNode> injected = ConcurrentHashMap.newKeySet();
+
+		InjectionReport report = new InjectionEngine(8).run(graph, (batch) -> {
+			for (InjectionNode node : batch.getNodes()) {
+				for (InjectionNode dependency : node.getDependencies()) {
+					assertTrue(node + " injected before " + dependency, injected.contains(dependency));
+				}
+				// the key of the story is known when the sub-task is injected
+				if (node.getParent() != null) {
+					assertEquals("KEY-" + node.getParent().getModel().rowNumber, node.getParent().getModel().key);
+				}
+			}
+			for (InjectionNode node : batch.getNodes()) {
+				node.getModel().key = "KEY-" + node.getModel().rowNumber;
+				injected.add(node);
+			}
+		});
+
+		assertTrue(report.isComplete());
+		assertEquals(graph.size(), report.getInjectedRows());
+		assertEquals(graph.size(), injected.size());
+	}
+
+	@Test
+	public void dependenciesInjectedFirst() {
+		checkDependenciesInjectedFirst(InjectionGraph.build(buildRows(50, 3)));
+	}
+
+	@Test
+	public void batchDependenciesInjectedFirst() {
+		checkDependenciesInjectedFirst(InjectionGraph.build(buildRows(50, 3), 10));
+	}
+
+	@Test
+	public void stopAtFirstError() {
+		InjectionGraph graph = InjectionGraph.build(buildRows(20, 2));
+		InjectionReport report = new InjectionEngine(1).run(graph, (batch) -> {
+			if (batch.getNodes().get(0).getModel().rowNumber == 5) {
+				throw new IllegalStateException("JIRA error");
+			}
+		});
+
+		assertFalse(report.isComplete());
+		assertEquals(1, report.getFailedRows());
+		assertTrue(report.getNotInjectedRows() > 0);
+		assertEquals(graph.size(), report.getInjectedRows() + report.getFailedRows() + report.getNotInjectedRows());
+	}
+
+	@Test
+	public void partialBatch() {
+		// the version, then the 3 stories in one batch
+		InjectionGraph graph = InjectionGraph.build(buildRows(3, 0), 10);
+		assertEquals(2, graph.getBatches().size());
+		// 2 stories of the batch created, 1 in error
+		InjectionReport report = new InjectionEngine(1).run(graph, (batch) -> {
+			if (batch.size() == 3) {
+				throw new BatchInjectionException(1, new IllegalStateException("JIRA error"));
+			}
+		});
+
+		assertEquals(3, report.getInjectedRows());
+		assertEquals(1, report.getFailedRows());
+		assertEquals(0, report.getNotInjectedRows());
+	}
+}
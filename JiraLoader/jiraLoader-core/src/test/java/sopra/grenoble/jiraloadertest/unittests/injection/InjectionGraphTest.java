@@ -0,0 +1,173 @@
+package sopra.grenoble.jiraloadertest.unittests.injection;
+
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.excel.dto.Epic;
+import sopra.grenoble.jiraLoader.excel.dto.GenericModel;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.excel.dto.SubTasks;
+import sopra.grenoble.jiraLoader.excel.dto.Version;
+import sopra.grenoble.jiraLoader.injection.InjectionBatch;
+import sopra.grenoble.jiraLoader.injection.InjectionGraph;
+import sopra.grenoble.jiraLoader.injection.InjectionNode;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InjectionGraphTest {
+
+	private static <E extends GenericModel> E row(E model, int rowNumber, String resume) {
+		model.rowNumber = rowNumber;
+		model.resume = resume;
+		return model;
+	}
+
+	@Test
+	public void buildGraph() {
+		List<GenericModel> rows = Arrays.asList(
+				row(new Version(), 1, "V1"),
+				row(new Story(), 2, "S1"),
+				row(new SubTasks(), 3, "T1"),
+				row(new Epic(), 4, "E1"),
+				row(new Story(), 5, "S2"),
+				row(new SubTasks(), 6, "T2"),
+				row(new SubTasks(), 7, "T3"));
+		rows.get(6).linkTargetName = "T1";
+
+		InjectionGraph graph = InjectionGraph.build(rows);
+		List<InjectionNode> nodes = graph.getNodes();
+		assertEquals(7, graph.size());
+
+		// versions and epics first
+		assertEquals(Arrays.asList(nodes.get(0), nodes.get(3)), graph.getRoots());
+		// stories depend on all the versions and epics
+		assertEquals(Arrays.asList(nodes.get(0), nodes.get(3)), nodes.get(1).getDependencies());
+		assertEquals(Arrays.asList(nodes.get(0), nodes.get(3)), nodes.get(4).getDependencies());
+		// sub-tasks depend on their story
+		assertSame(nodes.get(1), nodes.get(2).getParent());
+		assertSame(nodes.get(4), nodes.get(5).getParent());
+		assertEquals(Arrays.asList(nodes.get(2)), nodes.get(1).getDependents());
+		// link to a row above
+		assertEquals(Arrays.asList(nodes.get(4), nodes.get(2)), nodes.get(6).getDependencies());
+		assertNull(nodes.get(0).getParent());
+	}
+
+	@Test
+	public void buildBatches() {
+		List<GenericModel> rows = Arrays.asList(
+				row(new Version(), 1, "V1"),
+				row(new Story(), 2, "S1"),
+				row(new SubTasks(), 3, "T1"),
+				row(new SubTasks(), 4, "T2"),
+				row(new SubTasks(), 5, "T3"),
+				row(new Story(), 6, "S2"),
+				row(new Story(), 7, "S3"),
+				row(new Story(), 8, "S4"),
+				row(new SubTasks(), 9, "T4"));
+		rows.get(1).epicName = "E1";
+		rows.get(5).epicName = "E1";
+		rows.get(6).epicName = "E1";
+		rows.get(7).epicName = "E1";
+		rows.get(7).linkTargetName = "S2";
+
+		InjectionGraph graph = InjectionGraph.build(rows, 2);
+		List<InjectionNode> nodes = graph.getNodes();
+		List<InjectionBatch> batches = graph.getBatches();
+		assertEquals(7, batches.size());
+
+		// version alone
+		assertEquals(Arrays.asList(nodes.get(0)), batches.get(0).getNodes());
+		// consecutive stories of the same epic, linked story alone
+		assertEquals(Arrays.asList(nodes.get(1)), batches.get(1).getNodes());
+		assertEquals(Arrays.asList(nodes.get(5), nodes.get(6)), batches.get(4).getNodes());
+		assertEquals(Arrays.asList(nodes.get(7)), batches.get(5).getNodes());
+		// sub-tasks of the same story, 2 by batch
+		assertEquals(Arrays.asList(nodes.get(2), nodes.get(3)), batches.get(2).getNodes());
+		assertEquals(Arrays.asList(nodes.get(4)), batches.get(3).getNodes());
+		assertEquals(Arrays.asList(nodes.get(8)), batches.get(6).getNodes());
+
+		// dependencies between batches
+		assertEquals(Arrays.asList(batches.get(0)), batches.get(1).getDependencies());
+		assertEquals(Arrays.asList(batches.get(1)), batches.get(2).getDependencies());
+		assertEquals(Arrays.asList(batches.get(0)), batches.get(4).getDependencies());
+		assertEquals(Arrays.asList(batches.get(0), batches.get(4)), batches.get(5).getDependencies());
+		assertEquals(Arrays.asList(batches.get(5)), batches.get(6).getDependencies());
+	}
+
+	@Test
+	public void noBulk() {
+		List<GenericModel> rows = Arrays.asList(row(new Story(), 1, "S1"), row(new Story(), 2, "S2"));
+		assertEquals(2, InjectionGraph.build(rows).getBatches().size());
+		assertEquals(1, InjectionGraph.build(rows, 50).getBatches().size());
+	}
+
+	@Test
+	public void batchesOfConsecutiveRows() {
+		List<GenericModel> rows = Arrays.asList(
+				row(new Story(), 1, "S1"),
+				row(new Story(), 2, "S2"),
+				row(new Story(), 3, "S3"),
+				row(new Story(), 4, "S4"));
+		rows.get(0).epicName = "E1";
+		rows.get(1).epicName = "E2";
+		rows.get(2).epicName = "E1";
+		rows.get(3).epicName = "E1";
+
+		InjectionGraph graph = InjectionGraph.build(rows, 50);
+		List<InjectionNode> nodes = graph.getNodes();
+		List<InjectionBatch> batches = graph.getBatches();
+		// the stories of E1 separated by a story of E2 are not grouped
+		assertEquals(3, batches.size());
+		assertEquals(Arrays.asList(nodes.get(0)), batches.get(0).getNodes());
+		assertEquals(Arrays.asList(nodes.get(1)), batches.get(1).getNodes());
+		assertEquals(Arrays.asList(nodes.get(2), nodes.get(3)), batches.get(2).getNodes());
+	}
+
+	@Test
+	public void storiesWithTheSameSummary() {
+		List<GenericModel> rows = Arrays.asList(
+				row(new Story(), 1, "S1"),
+				row(new Story(), 2, "S2"),
+				row(new Story(), 3, "S1"));
+		rows.get(0).epicName = "E1";
+		rows.get(1).epicName = "E2";
+		rows.get(2).epicName = "E2";
+
+		// without search by name, the stories are independent
+		assertTrue(InjectionGraph.build(rows, 50).getNodes().get(2).getDependencies().isEmpty());
+
+		// with search by name, the story waits for the story with the same summary
+		InjectionGraph graph = InjectionGraph.build(rows, 50, true);
+		List<InjectionNode> nodes = graph.getNodes();
+		List<InjectionBatch> batches = graph.getBatches();
+		assertEquals(Arrays.asList(nodes.get(0)), nodes.get(2).getDependencies());
+		assertEquals(Arrays.asList(batches.get(0)), batches.get(1).getDependencies());
+	}
+
+	@Test
+	public void epicsAndVersionsWithTheSameName() {
+		List<GenericModel> rows = Arrays.asList(
+				row(new Epic(), 1, "E1"),
+				row(new Version(), 2, "V1"),
+				row(new Epic(), 3, "E2"),
+				row(new Epic(), 4, "E1"),
+				row(new Version(), 5, "V1"));
+		rows.get(1).versionName = "1.0";
+		rows.get(4).versionName = "1.0";
+
+		InjectionGraph graph = InjectionGraph.build(rows, 50);
+		List<InjectionNode> nodes = graph.getNodes();
+		// the second epic E1 and the second version 1.0 wait for the first ones
+		assertEquals(Arrays.asList(nodes.get(0), nodes.get(1), nodes.get(2)), graph.getRoots());
+		assertEquals(Arrays.asList(nodes.get(0)), nodes.get(3).getDependencies());
+		assertEquals(Arrays.asList(nodes.get(1)), nodes.get(4).getDependencies());
+	}
+
+	@Test
+	public void subTaskWithoutStory() {
+		InjectionGraph graph = InjectionGraph.build(Arrays.asList(row(new SubTasks(), 1, "T1")));
+		assertNull(graph.getNodes().get(0).getParent());
+		assertEquals(graph.getNodes(), graph.getRoots());
+	}
+}
@@ -0,0 +1,83 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.connection;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.connection.HttpPoolStatistics;
+import sopra.grenoble.jiraLoader.jira.connection.InstrumentedHttpConnectionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class InstrumentedHttpConnectionManagerTest {
+
+	private HttpServer server;
+	private InstrumentedHttpConnectionManager manager;
+
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", (exchange) -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.setExecutor(Executors.newFixedThreadPool(4));
+		server.start();
+		manager = new InstrumentedHttpConnectionManager();
+	}
+
+	@After
+	public void stopServer() {
+		manager.shutdown();
+		server.stop(0);
+	}
+
+	private void get(HttpClient client) {
+		GetMethod method = new GetMethod("http://localhost:" + server.getAddress().getPort() + "/");
+		try {
+			assertEquals(200, client.executeMethod(method));
+			method.getResponseBodyAsString();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			method.releaseConnection();
+		}
+	}
+
+	@Test
+	public void waitForConnection() throws Exception {
+		// a single connection : the second request waits for the first one
+		manager.getParams().setDefaultMaxConnectionsPerHost(1);
+		manager.getParams().setMaxTotalConnections(1);
+		HttpClient client = new HttpClient(manager);
+
+		CompletableFuture.allOf(CompletableFuture.runAsync(() -> get(client)), CompletableFuture.runAsync(() -> get(client))).get();
+
+		HttpPoolStatistics statistics = manager.getStatistics();
+		assertEquals(2, statistics.getLeaseCount());
+		assertEquals(0, statistics.getLeased());
+		assertEquals(0, statistics.getPending());
+		// the connection is kept alive for the next request
+		assertEquals(1, statistics.getIdle());
+		assertEquals(1, statistics.getMaxPerHost());
+		assertTrue("max wait " + statistics.getMaxWaitMs(), statistics.getMaxWaitMs() >= 100);
+		assertEquals(statistics.getTotalWaitMs() / 2.0, statistics.getAverageWaitMs(), 0.001);
+	}
+}
@@ -0,0 +1,70 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.connection;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.exceptions.IssueNotFoundException;
+import sopra.grenoble.jiraLoader.jira.connection.JiraCallExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class JiraCallExecutorTest {
+
+	private JiraCallExecutor executor;
+
+	@Before
+	public void createExecutor() {
+		JiraUserDatas configuration = new JiraUserDatas();
+		configuration.setAsyncThreads(2);
+		executor = new JiraCallExecutor();
+		ReflectionTestUtils.setField(executor, "configuration", configuration);
+	}
+
+	@After
+	public void destroyExecutor() {
+		executor.destroy();
+	}
+
+	@Test
+	public void resultOfTheCall() throws Exception {
+		assertEquals("PRJ-1", executor.submit(() -> "PRJ-1").get());
+	}
+
+	@Test
+	public void exceptionOfTheCall() throws InterruptedException {
+		CompletableFuture<String> future = executor.submit(() -> {
+			throw new IssueNotFoundException();
+		});
+		try {
+			future.get();
+			fail("IssueNotFoundException expected");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IssueNotFoundException);
+		}
+	}
+
+	@Test
+	public void callsBoundedByTheThreads() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			futures.add(executor.submit(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				Thread.sleep(50);
+				running.decrementAndGet();
+				return null;
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get();
+		assertEquals(2, maxRunning.get());
+	}
+}
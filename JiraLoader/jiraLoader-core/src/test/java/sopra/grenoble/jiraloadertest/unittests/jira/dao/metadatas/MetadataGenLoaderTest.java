@@ -0,0 +1,83 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.dao.metadatas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import sopra.grenoble.jiraLoader.jira.dao.metadatas.utils.MetadataGenLoader;
+
+public class MetadataGenLoaderTest {
+
+	/**
+	 * Loader returning the names passed in the constructor, the key being the name in upper case
+	 */
+	private static final class NameLoader extends MetadataGenLoader<String> {
+		private volatile List<String> names;
+
+		NameLoader(String... names) {
+			this.names = Arrays.asList(names);
+		}
+
+		@Override
+		public List<String> fetchElements() {
+			return names;
+		}
+
+		@Override
+		protected String getElementKey(String element) {
+			return element.toUpperCase();
+		}
+	}
+
+	@Test
+	public void loadReplacesElements() {
+		NameLoader loader = new NameLoader("a", "b");
+		loader.loadElements();
+		assertEquals(2, loader.countElements());
+		assertEquals("a", loader.getElement("A"));
+
+		loader.names = Arrays.asList("c");
+		loader.loadElements();
+		assertEquals(1, loader.countElements());
+		assertNull(loader.getElement("A"));
+		assertEquals("c", loader.getElement("C"));
+	}
+
+	@Test
+	public void addElement() {
+		NameLoader loader = new NameLoader("a");
+		loader.loadElements();
+		loader.addElement("B", "b");
+		assertEquals(2, loader.countElements());
+		loader.cleanAllElements();
+		assertEquals(0, loader.countElements());
+	}
+
+	@Test
+	public void readersNeverSeeAnEmptyLoader() throws InterruptedException {
+		NameLoader loader = new NameLoader("a", "b", "c");
+		loader.loadElements();
+		AtomicBoolean stop = new AtomicBoolean(false);
+		AtomicBoolean empty = new AtomicBoolean(false);
+		Thread reader = new Thread(() -> {
+			while (!stop.get()) {
+				if (loader.getElement("A") == null || loader.countElements() != 3) {
+					empty.set(true);
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < 10000; i++) {
+			loader.loadElements();
+		}
+		stop.set(true);
+		reader.join();
+		assertFalse(empty.get());
+	}
+}
@@ -0,0 +1,100 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.dao.project.impl;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.dao.project.impl.IssueSummaryIndex;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummary;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPage;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IssueSummaryIndexTest {
+
+	/**
+	 * Index on 5 issues returned by pages of 2 issues
+	 */
+	private static class PagedIndex extends IssueSummaryIndex {
+		private final List<IssueSummary> issues = new ArrayList<>();
+		private int calls;
+		// called after the first page, as another thread creating an issue during the loading
+		private Runnable afterFirstPage = () -> {
+		};
+
+		PagedIndex() {
+			issues.add(summary("TEST-1", "story 1", false, null));
+			issues.add(summary("TEST-2", "sub-task", true, "TEST-1"));
+			issues.add(summary("TEST-3", "story 2", false, null));
+			issues.add(summary("TEST-4", "story 2", false, null));
+			issues.add(summary("TEST-5", "story 3", false, null));
+		}
+
+		@Override
+		protected IssueSummaryPage searchPage(String jql, int startAt) {
+			calls++;
+			if (startAt == 2) {
+				afterFirstPage.run();
+			}
+			return new IssueSummaryPage(startAt, issues.size(), issues.subList(startAt, Math.min(startAt + 2, issues.size())));
+		}
+	}
+
+	private static IssueSummary summary(String key, String summary, boolean subTask, String parentKey) {
+		return new IssueSummary(new BasicIssue(URI.create("http://jira/" + key), key, 1L), summary, subTask, parentKey);
+	}
+
+	@Test
+	public void loadedOnce() {
+		PagedIndex index = new PagedIndex();
+		assertEquals("TEST-1", index.findStory("TEST", "story 1").get().getKey());
+		assertEquals("TEST-5", index.findStory("TEST", "story 3").get().getKey());
+		assertEquals("TEST-2", index.findSubTask("TEST", "sub-task").get().getKey());
+		assertEquals(3, index.calls);
+	}
+
+	@Test
+	public void notFoundOrDuplicated() {
+		PagedIndex index = new PagedIndex();
+		assertFalse(index.findStory("TEST", "unknown").isPresent());
+		assertFalse(index.findStory("TEST", "story 2").isPresent());
+		// the type is checked
+		assertFalse(index.findSubTask("TEST", "story 1").isPresent());
+		assertFalse(index.findStory("TEST", "sub-task").isPresent());
+	}
+
+	@Test
+	public void updatedInPlace() {
+		PagedIndex index = new PagedIndex();
+		// project not loaded yet : the issue is kept with the loaded ones
+		index.add("TEST", summary("TEST-6", "story 4", false, null));
+		assertEquals("TEST-6", index.findStory("TEST", "story 4").get().getKey());
+
+		index.add("TEST", summary("TEST-6", "story 4", false, null));
+		assertEquals("TEST-6", index.findStory("TEST", "story 4").get().getKey());
+
+		index.remove("TEST-1");
+		assertFalse(index.findStory("TEST", "story 1").isPresent());
+		assertFalse(index.findSubTask("TEST", "sub-task").isPresent());
+		assertEquals(3, index.calls);
+
+		index.clear();
+		assertEquals("TEST-1", index.findStory("TEST", "story 1").get().getKey());
+		assertEquals(6, index.calls);
+	}
+
+	@Test
+	public void updatedDuringTheLoading() {
+		PagedIndex index = new PagedIndex();
+		index.afterFirstPage = () -> {
+			index.add("TEST", summary("TEST-6", "story 4", false, null));
+			index.remove("TEST-3");
+		};
+		assertEquals("TEST-6", index.findStory("TEST", "story 4").get().getKey());
+		// TEST-3 removed before its page is loaded
+		assertEquals("TEST-4", index.findStory("TEST", "story 2").get().getKey());
+		assertEquals(3, index.calls);
+	}
+}
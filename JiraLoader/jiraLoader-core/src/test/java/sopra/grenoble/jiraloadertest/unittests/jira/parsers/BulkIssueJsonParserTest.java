@@ -0,0 +1,48 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.parsers;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.parsers.BulkIssueJsonParser;
+import sopra.grenoble.jiraLoader.jira.parsers.BulkIssueResult;
+
+import static org.junit.Assert.*;
+
+public class BulkIssueJsonParserTest {
+
+	private final BulkIssueJsonParser parser = new BulkIssueJsonParser();
+
+	@Test
+	public void parseSuccess() throws Exception {
+		BulkIssueResult result = parser.parse(new JSONObject("{\"issues\":["
+				+ "{\"id\":\"10000\",\"key\":\"TEST-1\",\"self\":\"http://jira/rest/api/2/issue/10000\"},"
+				+ "{\"id\":\"10001\",\"key\":\"TEST-2\",\"self\":\"http://jira/rest/api/2/issue/10001\"}],\"errors\":[]}"), 2);
+
+		assertTrue(result.isSuccess());
+		assertEquals("TEST-1", result.getIssue(0).getKey());
+		assertEquals(Long.valueOf(10001), result.getIssue(1).getId());
+		assertNull(result.getError(1));
+	}
+
+	@Test
+	public void parseElementErrors() throws Exception {
+		BulkIssueResult result = parser.parse(new JSONObject("{\"issues\":["
+				+ "{\"id\":\"10000\",\"key\":\"TEST-1\",\"self\":\"http://jira/rest/api/2/issue/10000\"},"
+				+ "{\"id\":\"10002\",\"key\":\"TEST-3\",\"self\":\"http://jira/rest/api/2/issue/10002\"}],"
+				+ "\"errors\":[{\"status\":400,\"failedElementNumber\":1,"
+				+ "\"elementErrors\":{\"errorMessages\":[],\"errors\":{\"summary\":\"You must specify a summary of the issue.\"}}}]}"), 3);
+
+		assertFalse(result.isSuccess());
+		assertEquals("TEST-1", result.getIssue(0).getKey());
+		assertNull(result.getIssue(1));
+		assertTrue(result.getError(1).contains("summary : You must specify a summary of the issue."));
+		// the issues created are mapped to the elements not in error
+		assertEquals("TEST-3", result.getIssue(2).getKey());
+	}
+
+	@Test
+	public void parseNoResult() throws Exception {
+		BulkIssueResult result = parser.parse(new JSONObject("{\"issues\":[],\"errors\":[]}"), 1);
+		assertNull(result.getIssue(0));
+		assertNotNull(result.getError(0));
+	}
+}
@@ -0,0 +1,65 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicIssue;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSearchIterator;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummary;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPage;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class IssueSearchIteratorTest {
+
+	private static List<IssueSummary> issues(int count) {
+		List<IssueSummary> issues = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			issues.add(new IssueSummary(new BasicIssue(URI.create("http://jira/TEST-" + i), "TEST-" + i, (long) i), "issue " + i, false, null));
+		}
+		return issues;
+	}
+
+	@Test
+	public void allPages() {
+		List<IssueSummary> issues = issues(5);
+		AtomicInteger calls = new AtomicInteger();
+		// JIRA returns at most 2 issues whatever the page size asked
+		IssueSearchIterator iterator = new IssueSearchIterator((startAt, maxResults) -> {
+			calls.incrementAndGet();
+			return new IssueSummaryPage(startAt, issues.size(), issues.subList(startAt, Math.min(startAt + 2, issues.size())));
+		}, 10);
+
+		assertEquals(5, iterator.getTotal());
+		List<String> keys = new ArrayList<>();
+		iterator.forEachRemaining((issue) -> keys.add(issue.getKey()));
+		assertEquals(5, keys.size());
+		assertEquals("TEST-1", keys.get(0));
+		assertEquals("TEST-5", keys.get(4));
+		assertEquals(5, iterator.getPosition());
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void noResult() {
+		IssueSearchIterator iterator = new IssueSearchIterator((startAt, maxResults) -> new IssueSummaryPage(0, 0, Collections.emptyList()), 10);
+		assertFalse(iterator.hasNext());
+		assertEquals(0, iterator.getTotal());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void errorOnNextPage() {
+		List<IssueSummary> issues = issues(4);
+		IssueSearchIterator iterator = new IssueSearchIterator((startAt, maxResults) -> {
+			if (startAt > 0) {
+				throw new IllegalStateException("JIRA error");
+			}
+			return new IssueSummaryPage(startAt, issues.size(), issues.subList(0, 2));
+		}, 2);
+		iterator.forEachRemaining((issue) -> { });
+	}
+}
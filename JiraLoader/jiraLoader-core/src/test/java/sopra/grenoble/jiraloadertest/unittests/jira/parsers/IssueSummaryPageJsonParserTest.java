@@ -0,0 +1,42 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.parsers;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPage;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPageJsonParser;
+
+import static org.junit.Assert.*;
+
+public class IssueSummaryPageJsonParserTest {
+
+	@Test
+	public void parse() throws Exception {
+		IssueSummaryPage page = new IssueSummaryPageJsonParser().parse(new JSONObject("{\"startAt\":50,\"maxResults\":50,\"total\":52,\"issues\":["
+				+ "{\"id\":\"10000\",\"key\":\"TEST-1\",\"self\":\"http://jira/rest/api/2/issue/10000\","
+				+ "\"fields\":{\"summary\":\"story\",\"issuetype\":{\"name\":\"Story\",\"subtask\":false}}},"
+				+ "{\"id\":\"10001\",\"key\":\"TEST-2\",\"self\":\"http://jira/rest/api/2/issue/10001\","
+				+ "\"fields\":{\"summary\":\"sub-task\",\"issuetype\":{\"name\":\"Sous-tâche\",\"subtask\":true},\"parent\":{\"key\":\"TEST-1\"}}}]}"));
+
+		assertEquals(50, page.getStartAt());
+		assertEquals(52, page.getTotal());
+		assertEquals(2, page.getIssues().size());
+		assertEquals("TEST-1", page.getIssues().get(0).getKey());
+		assertEquals("story", page.getIssues().get(0).getSummary());
+		assertFalse(page.getIssues().get(0).isSubTask());
+		assertNull(page.getIssues().get(0).getParentKey());
+		assertTrue(page.getIssues().get(1).isSubTask());
+		assertEquals("TEST-1", page.getIssues().get(1).getParentKey());
+	}
+
+	@Test
+	public void parseEpicName() throws Exception {
+		IssueSummaryPage page = new IssueSummaryPageJsonParser("customfield_10011").parse(new JSONObject("{\"startAt\":0,\"maxResults\":50,\"total\":2,\"issues\":["
+				+ "{\"id\":\"10000\",\"key\":\"TEST-1\",\"self\":\"http://jira/rest/api/2/issue/10000\","
+				+ "\"fields\":{\"customfield_10011\":\"epic 1\",\"issuetype\":{\"name\":\"Epic\",\"subtask\":false}}},"
+				+ "{\"id\":\"10001\",\"key\":\"TEST-2\",\"self\":\"http://jira/rest/api/2/issue/10001\","
+				+ "\"fields\":{\"customfield_10011\":null,\"issuetype\":{\"name\":\"Epic\",\"subtask\":false}}}]}"));
+
+		assertEquals("epic 1", page.getIssues().get(0).getSummary());
+		assertNull(page.getIssues().get(1).getSummary());
+	}
+}
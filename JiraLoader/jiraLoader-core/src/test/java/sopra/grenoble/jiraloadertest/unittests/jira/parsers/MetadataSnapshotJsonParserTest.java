@@ -0,0 +1,70 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.parsers;
+
+import com.atlassian.jira.rest.client.domain.BasicComponent;
+import com.atlassian.jira.rest.client.domain.Field;
+import com.atlassian.jira.rest.client.domain.IssueType;
+import com.atlassian.jira.rest.client.domain.Priority;
+import com.atlassian.jira.rest.client.domain.Status;
+import com.atlassian.jira.rest.client.domain.Version;
+import org.codehaus.jettison.json.JSONObject;
+import org.joda.time.DateTime;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshot;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshotJsonGenerator;
+import sopra.grenoble.jiraLoader.jira.parsers.MetadataSnapshotJsonParser;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class MetadataSnapshotJsonParserTest {
+
+	@Test
+	public void generateAndParse() throws Exception {
+		DateTime releaseDate = new DateTime(2016, 3, 1, 0, 0);
+		MetadataSnapshot snapshot = new MetadataSnapshot("http://jira", "user", 1000L,
+				Arrays.asList(new Field("customfield_10008", "Epic Name ", null, null), new Field("summary", "Summary", null, null)),
+				Collections.singletonList(new IssueType(URI.create("http://jira/issuetype/5"), 5L, "Sub-task", true, null, null)),
+				Collections.singletonList(new Priority(URI.create("http://jira/priority/3"), 3L, "Major", "#009900", "Major loss", null)),
+				Collections.singletonList(new Status(URI.create("http://jira/status/1"), 1L, "Open", null, null)),
+				"TEST",
+				Collections.singletonList(new BasicComponent(URI.create("http://jira/component/1"), 1L, "Core", null)),
+				Collections.singletonList(new Version(URI.create("http://jira/version/2"), 2L, "V1", null, false, true, releaseDate)));
+
+		String json = new MetadataSnapshotJsonGenerator().generate(snapshot).toString();
+		MetadataSnapshot parsed = new MetadataSnapshotJsonParser().parse(new JSONObject(json));
+
+		assertEquals("http://jira", parsed.getUri());
+		assertEquals("user", parsed.getUsername());
+		assertEquals(1000L, parsed.getCreationTime());
+		assertEquals(2, parsed.getFields().size());
+		assertEquals("customfield_10008", parsed.getFields().get(0).getId());
+		assertEquals("Summary", parsed.getFields().get(1).getName());
+
+		IssueType issueType = parsed.getIssueTypes().get(0);
+		assertEquals(Long.valueOf(5), issueType.getId());
+		assertTrue(issueType.isSubtask());
+		assertNull(issueType.getDescription());
+		assertEquals("#009900", parsed.getPriorities().get(0).getStatusColor());
+		assertEquals(URI.create("http://jira/status/1"), parsed.getStatuses().get(0).getSelf());
+
+		assertEquals("TEST", parsed.getProjectName());
+		assertEquals("Core", parsed.getComponents().get(0).getName());
+		Version version = parsed.getVersions().get(0);
+		assertEquals("V1", version.getName());
+		assertTrue(version.isReleased());
+		assertFalse(version.isArchived());
+		assertEquals(releaseDate.getMillis(), version.getReleaseDate().getMillis());
+	}
+
+	@Test
+	public void parseWithoutProject() throws Exception {
+		MetadataSnapshot parsed = new MetadataSnapshotJsonParser().parse(new JSONObject(
+				"{\"uri\":\"http://jira\",\"username\":\"user\",\"creationTime\":1000,\"fields\":[],\"issueTypes\":[],\"priorities\":[],\"statuses\":[]}"));
+		assertNull(parsed.getProjectName());
+		assertTrue(parsed.getFields().isEmpty());
+		assertTrue(parsed.getVersions().isEmpty());
+	}
+}
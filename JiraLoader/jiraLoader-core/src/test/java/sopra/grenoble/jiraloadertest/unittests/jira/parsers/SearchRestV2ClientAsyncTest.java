@@ -0,0 +1,102 @@
+package sopra.grenoble.jiraloadertest.unittests.jira.parsers;
+
+import com.atlassian.jira.rest.client.RestClientException;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSearchIterator;
+import sopra.grenoble.jiraLoader.jira.parsers.IssueSummaryPage;
+import sopra.grenoble.jiraLoader.jira.parsers.SearchRestV2Client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class SearchRestV2ClientAsyncTest {
+
+	private HttpServer server;
+	private ApacheHttpClient client;
+	private SearchRestV2Client searchClient;
+
+	/**
+	 * JIRA search returning 3 issues, 2 by page. The JQL "error" is invalid.
+	 */
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/rest/api/latest/search", (exchange) -> {
+			String query = exchange.getRequestURI().getQuery();
+			int status = 200;
+			String body;
+			if (query.contains("jql=error")) {
+				status = 400;
+				body = "{\"errorMessages\":[\"invalid JQL\"]}";
+			} else {
+				int startAt = query.contains("startAt=2") ? 2 : 0;
+				StringBuilder issues = new StringBuilder();
+				for (int i = startAt; i < Math.min(3, startAt + 2); i++) {
+					issues.append(issues.length() > 0 ? "," : "").append("{\"id\":\"1000" + i + "\",\"key\":\"TEST-" + i
+							+ "\",\"self\":\"http://jira/rest/api/2/issue/1000" + i + "\",\"fields\":{\"issuetype\":{\"name\":\"Story\",\"subtask\":false}}}");
+				}
+				body = "{\"startAt\":" + startAt + ",\"maxResults\":2,\"total\":3,\"issues\":[" + issues + "]}";
+			}
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		});
+		server.setExecutor(Executors.newFixedThreadPool(2));
+		server.start();
+		client = ApacheHttpClient.create();
+		client.setExecutorService(Executors.newFixedThreadPool(2));
+		searchClient = new SearchRestV2Client(URI.create("http://localhost:" + server.getAddress().getPort() + "/rest/api/latest"), client);
+	}
+
+	@After
+	public void stopServer() {
+		client.getExecutorService().shutdownNow();
+		client.destroy();
+		server.stop(0);
+	}
+
+	@Test
+	public void searchAsync() throws Exception {
+		IssueSummaryPage page = searchClient.searchIssueSummariesAsync("project=TEST", 2, 2, null).get();
+		assertEquals(2, page.getStartAt());
+		assertEquals(3, page.getTotal());
+		assertEquals("TEST-2", page.getIssues().get(0).getKey());
+	}
+
+	@Test
+	public void searchAllPages() {
+		IssueSearchIterator iterator = searchClient.searchAllIssueSummaries("project=TEST", 2, null, null);
+		List<String> keys = new ArrayList<>();
+		iterator.forEachRemaining((issue) -> keys.add(issue.getKey()));
+		assertEquals(3, iterator.getTotal());
+		assertEquals(3, keys.size());
+		assertEquals("TEST-0", keys.get(0));
+		assertEquals("TEST-2", keys.get(2));
+	}
+
+	@Test
+	public void searchError() throws Exception {
+		try {
+			searchClient.searchIssueSummariesAsync("error", 0, 2, null).get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RestClientException);
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package sopra.grenoble.jiraloadertest.unittests.wrappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import sopra.grenoble.jiraLoader.excel.dto.Epic;
+import sopra.grenoble.jiraLoader.excel.dto.Story;
+import sopra.grenoble.jiraLoader.wrappers.EpicWrapper;
+import sopra.grenoble.jiraLoader.wrappers.RowContext;
+
+public class AbstractWrapperTest {
+
+	@Test
+	public void oneContextByRow() throws Exception {
+		EpicWrapper wrapper = new EpicWrapper();
+
+		Epic e1 = wrapper.newModel();
+		e1.rowNumber = 3;
+		Epic e2 = wrapper.newModel();
+		e2.key = "OPAL-2";
+
+		RowContext c1 = wrapper.loadModel(e1);
+		RowContext c2 = wrapper.loadModel(e2);
+
+		// loading a row does not change the context of the other rows
+		assertSame(e1, c1.getModel());
+		assertSame(e2, c2.getModel());
+		assertTrue(wrapper.isCreateAction(c1));
+		assertFalse(wrapper.isCreateAction(c2));
+		assertEquals("Line <3> : ", c1.getLogPrefixe());
+		assertEquals("", c2.getLogPrefixe());
+	}
+
+	@Test
+	public void validateWithoutComponent() throws Exception {
+		EpicWrapper wrapper = new EpicWrapper();
+		Epic e = wrapper.newModel();
+		e.resume = "RESUME";
+
+		// the component is mandatory : JIRA is not called
+		assertFalse(wrapper.validateRow(wrapper.loadModel(e)));
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void loadModelOfAnotherType() throws Exception {
+		new EpicWrapper().loadModel(new Story());
+	}
+}
@@ -1,54 +1,61 @@
-package sopra.grenoble.jiraloadertest.unittests.wrappers;
-
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertTrue;
-
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.springframework.boot.test.SpringApplicationConfiguration;
-import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
-
-import sopra.grenoble.jiraLoader.wrappers.AbstractWrapper;
-import sopra.grenoble.jiraLoader.wrappers.EpicWrapper;
-import sopra.grenoble.jiraLoader.wrappers.StoryWrapper;
-import sopra.grenoble.jiraLoader.wrappers.SubTasksWrapper;
-import sopra.grenoble.jiraLoader.wrappers.VersionWrapper;
-import sopra.grenoble.jiraLoader.wrappers.WrapperFactory;
-import sopra.grenoble.jiraLoaderconfiguration.ApplicationConfiguration;
-
-@RunWith(SpringJUnit4ClassRunner.class)
-@SpringApplicationConfiguration(ApplicationConfiguration.class)
-public class WrapperFactoryTest {
-	
-	private static WrapperFactory wrapperFact = new WrapperFactory();
-
-	@Test
-	public void loadEpicWrapper() {
-		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Epic");
-		assertNotNull(abstractWrap);
-		assertTrue(abstractWrap instanceof EpicWrapper);
-		assertFalse(abstractWrap instanceof StoryWrapper);
-	}
-	
-	@Test
-	public void loadVersionWrapper() {
-		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Version");
-		assertNotNull(abstractWrap);
-		assertTrue(abstractWrap instanceof VersionWrapper);
-	}
-	
-	@Test
-	public void loadStoryWrapper() {
-		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Story");
-		assertNotNull(abstractWrap);
-		assertTrue(abstractWrap instanceof StoryWrapper);
-	}
-	
-	@Test
-	public void loadSubTasksWrapper() {
-		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Sous-tâche");
-		assertNotNull(abstractWrap);
-		assertTrue(abstractWrap instanceof SubTasksWrapper);
-	}
-}
+package sopra.grenoble.jiraloadertest.unittests.wrappers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import sopra.grenoble.jiraLoader.wrappers.AbstractWrapper;
+import sopra.grenoble.jiraLoader.wrappers.EpicWrapper;
+import sopra.grenoble.jiraLoader.wrappers.StoryWrapper;
+import sopra.grenoble.jiraLoader.wrappers.SubTasksWrapper;
+import sopra.grenoble.jiraLoader.wrappers.VersionWrapper;
+import sopra.grenoble.jiraLoader.wrappers.WrapperFactory;
+import sopra.grenoble.jiraLoaderconfiguration.ApplicationConfiguration;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(ApplicationConfiguration.class)
+public class WrapperFactoryTest {
+	
+	private static WrapperFactory wrapperFact = new WrapperFactory();
+
+	@Test
+	public void loadEpicWrapper() {
+		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Epic");
+		assertNotNull(abstractWrap);
+		assertTrue(abstractWrap instanceof EpicWrapper);
+		assertFalse(abstractWrap instanceof StoryWrapper);
+	}
+	
+	@Test
+	public void loadVersionWrapper() {
+		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Version");
+		assertNotNull(abstractWrap);
+		assertTrue(abstractWrap instanceof VersionWrapper);
+	}
+	
+	@Test
+	public void loadStoryWrapper() {
+		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Story");
+		assertNotNull(abstractWrap);
+		assertTrue(abstractWrap instanceof StoryWrapper);
+	}
+	
+	@Test
+	public void loadSubTasksWrapper() {
+		AbstractWrapper<?> abstractWrap = (AbstractWrapper<?>) wrapperFact.getWrapper("Sous-tâche");
+		assertNotNull(abstractWrap);
+		assertTrue(abstractWrap instanceof SubTasksWrapper);
+	}
+
+	@Test
+	public void wrappersAreShared() {
+		// the wrappers are stateless : the same instance is used for all the rows
+		assertSame(wrapperFact.getWrapper("Story"), wrapperFact.getWrapper("Story"));
+	}
+}
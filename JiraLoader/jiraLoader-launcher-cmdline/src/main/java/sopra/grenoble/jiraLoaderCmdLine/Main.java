@@ -1,107 +1,129 @@
-package sopra.grenoble.jiraLoaderCmdLine;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.ConfigurableApplicationContext;
-import sopra.grenoble.jiraLoader.JiraLoader;
-import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
-import sopra.grenoble.jiraLoader.jira.connection.IJiraRestClientV2;
-import sopra.grenoble.jiraLoader.spring.ApplicationContextProvider;
-import sopra.grenoble.jiraLoaderconfiguration.ApplicationConfiguration;
-
-import java.io.IOException;
-
-@SpringBootApplication(scanBasePackageClasses={JiraLoader.class, ApplicationConfiguration.class}) // same as @Configuration @EnableAutoConfiguration @ComponentScan
-public class Main {
-	
-	public static final Logger LOG = LoggerFactory.getLogger(Main.class);
-	
-	
-	/**
-	 * Main function
-	 * @param args
-	 * @throws Exception 
-	 */
-	public static void main(String[] args) throws Exception {
-		LOG.info("Starting the application");
-		
-		ConfigurableApplicationContext appContextLoc = SpringApplication.run(Main.class, args);
-		appContextLoc.registerShutdownHook();
-		LOG.info("Application is successfully initialised");
-		
-			
-		//start command line
-		loadCmdLineApplication(args);
-	}
-	
-	/**
-	 * Start the application in commande line
-	 * @param appContext
-	 * @param args
-	 * @throws Exception 
-	 */
-	private static void loadCmdLineApplication(String[] args) throws Exception {
-		LOG.info("Starting application in command line MODE");
-
-		//set configuration bean
-		JiraUserDatas juc = ApplicationContextProvider.getApplicationContext().getBean(JiraUserDatas.class);
-		
-		LOG.info("Jira configuration : username=" + juc.getUsername());
-		LOG.info("Jira configuration : password=" + juc.getPassword());
-		LOG.info("Jira configuration : projectName=" + juc.getProjectName());
-		LOG.info("Jira configuration : uri=" + juc.getUri());
-		LOG.info("Jira excel file path : path=" + juc.getExcelJiraFilePath());
-		LOG.info("Export (true/false) : " + juc.getExport());
-		
-		
-		//test username and password
-		if (juc.getUsername() == null || juc.getPassword() == null) {
-			LOG.error("You have to specify the username or password");
-			System.exit(1);
-		}
-		
-		//test project name
-		if (juc.getProjectName() == null) {
-			LOG.error("You have to specify the projectName");
-			System.exit(1);
-		}
-		
-		//test jira url
-		if (juc.getUri() == null) {
-			LOG.error("You have to specify the jira uri");
-			System.exit(1);
-		}
-
-		if (!juc.getExport()) {
-			//test jiraExcel file
-			if (juc.getExcelJiraFilePath() == null) {
-				LOG.error("You have to specify the excel jira file path");
-				System.exit(1);
-			}
-		}
-		
-		//opening connection
-		IJiraRestClientV2 jiraConnection = ApplicationContextProvider.getApplicationContext().getBean(IJiraRestClientV2.class);
-		jiraConnection.openConnection();
-
-		//load metadata
-		JiraLoader jiraLoader = ApplicationContextProvider.getApplicationContext().getBean(JiraLoader.class);
-
-		//run application
-		if (!juc.getExport()) {
-			try {
-				jiraLoader.loadingFile(juc.getExcelJiraFilePath());
-			} catch (IOException e) {
-				LOG.error("Error while loading excel file in JIRA", e);
-				System.exit(1);
-			}
-			LOG.info("Excel file has been successfully loaded");
-		} else {
-			jiraLoader.exportDataFromWorkLog();
-		}
-
-	}
-	
-}
+package sopra.grenoble.jiraLoaderCmdLine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import sopra.grenoble.jiraLoader.JiraLoader;
+import sopra.grenoble.jiraLoader.configurationbeans.JiraUserDatas;
+import sopra.grenoble.jiraLoader.jira.connection.IJiraRestClientV2;
+import sopra.grenoble.jiraLoader.spring.ApplicationContextProvider;
+import sopra.grenoble.jiraLoaderconfiguration.ApplicationConfiguration;
+
+import java.io.IOException;
+
+@SpringBootApplication(scanBasePackageClasses={JiraLoader.class, ApplicationConfiguration.class}) // same as @Configuration @EnableAutoConfiguration @ComponentScan
+public class Main {
+	
+	public static final Logger LOG = LoggerFactory.getLogger(Main.class);
+
+	/**
+	 * Option to resume an interrupted injection
+	 */
+	private static final String RESUME_OPTION = "--resume";
+	
+	
+	/**
+	 * Main function
+	 * @param args
+	 * @throws Exception 
+	 */
+	public static void main(String[] args) throws Exception {
+		LOG.info("Starting the application");
+		args = normalizeArgs(args);
+		
+		ConfigurableApplicationContext appContextLoc = SpringApplication.run(Main.class, args);
+		appContextLoc.registerShutdownHook();
+		LOG.info("Application is successfully initialised");
+		
+			
+		//start command line
+		loadCmdLineApplication(args);
+	}
+	
+	/**
+	 * The option --resume can be passed without value : it is replaced by --resume=true
+	 * @param args
+	 * @return the arguments given to spring
+	 */
+	private static String[] normalizeArgs(String[] args) {
+		String[] normalizedArgs = args.clone();
+		for (int i = 0; i < normalizedArgs.length; i++) {
+			if (RESUME_OPTION.equals(normalizedArgs[i])) {
+				normalizedArgs[i] = RESUME_OPTION + "=true";
+			}
+		}
+		return normalizedArgs;
+	}
+
+	/**
+	 * Start the application in commande line
+	 * @param appContext
+	 * @param args
+	 * @throws Exception 
+	 */
+	private static void loadCmdLineApplication(String[] args) throws Exception {
+		LOG.info("Starting application in command line MODE");
+
+		//set configuration bean
+		JiraUserDatas juc = ApplicationContextProvider.getApplicationContext().getBean(JiraUserDatas.class);
+		
+		LOG.info("Jira configuration : username=" + juc.getUsername());
+		LOG.info("Jira configuration : password=" + juc.getPassword());
+		LOG.info("Jira configuration : projectName=" + juc.getProjectName());
+		LOG.info("Jira configuration : uri=" + juc.getUri());
+		LOG.info("Jira excel file path : path=" + juc.getExcelJiraFilePath());
+		LOG.info("Export (true/false) : " + juc.getExport());
+		LOG.info("Resume (true/false) : " + juc.getResume());
+		
+		
+		//test username and password
+		if (juc.getUsername() == null || juc.getPassword() == null) {
+			LOG.error("You have to specify the username or password");
+			System.exit(1);
+		}
+		
+		//test project name
+		if (juc.getProjectName() == null) {
+			LOG.error("You have to specify the projectName");
+			System.exit(1);
+		}
+		
+		//test jira url
+		if (juc.getUri() == null) {
+			LOG.error("You have to specify the jira uri");
+			System.exit(1);
+		}
+
+		if (!juc.getExport()) {
+			//test jiraExcel file
+			if (juc.getExcelJiraFilePath() == null) {
+				LOG.error("You have to specify the excel jira file path");
+				System.exit(1);
+			}
+		}
+		
+		//opening connection
+		IJiraRestClientV2 jiraConnection = ApplicationContextProvider.getApplicationContext().getBean(IJiraRestClientV2.class);
+		jiraConnection.openConnection();
+
+		//load metadata
+		JiraLoader jiraLoader = ApplicationContextProvider.getApplicationContext().getBean(JiraLoader.class);
+
+		//run application
+		if (!juc.getExport()) {
+			try {
+				jiraLoader.loadingFile(juc.getExcelJiraFilePath(), juc.getResume());
+			} catch (IOException e) {
+				LOG.error("Error while loading excel file in JIRA", e);
+				System.exit(1);
+			}
+			LOG.info("Excel file has been successfully loaded");
+		} else {
+			jiraLoader.exportDataFromWorkLog();
+		}
+
+	}
+	
+}